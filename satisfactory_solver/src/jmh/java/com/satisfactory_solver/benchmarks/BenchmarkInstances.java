@@ -0,0 +1,54 @@
+package com.satisfactory_solver.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helpers shared by the benchmarks: instance file lookup and chromosome generation.
+ *
+ * Instance names are resolved against the {@code instances.dir} system property, which defaults to
+ * {@code ../instances} (the repository's instances folder when running from {@code satisfactory_solver}).
+ */
+public final class BenchmarkInstances {
+    public static final String INSTANCES_DIR_PROPERTY = "instances.dir";
+
+    /**
+     * Probability of a zero gene in sparse chromosomes, same as GA_Satisfactory's biasToMutateToZero.
+     */
+    public static final double SPARSE_ZERO_PROBABILITY = 0.9;
+
+    private BenchmarkInstances() {
+    }
+
+    public static Path resolve(String instanceName) {
+        return Paths.get(System.getProperty(INSTANCES_DIR_PROPERTY, "../instances")).resolve(instanceName);
+    }
+
+    /**
+     * @param density
+     *            "sparse" for chromosomes like the ones GA_Satisfactory generates (mostly zeros), or
+     *            "dense" for uniformly random genes, like the LHS initial populations
+     */
+    public static List<Double> randomChromosome(int size, String density, Random rng) {
+        boolean sparse;
+        if (density.equals("sparse")) {
+            sparse = true;
+        } else if (density.equals("dense")) {
+            sparse = false;
+        } else {
+            throw new IllegalArgumentException("Unknown chromosome density: " + density);
+        }
+
+        List<Double> chromosome = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (sparse && rng.nextDouble() < SPARSE_ZERO_PROBABILITY)
+                chromosome.add(0.0);
+            else
+                chromosome.add(rng.nextDouble());
+        }
+        return chromosome;
+    }
+}
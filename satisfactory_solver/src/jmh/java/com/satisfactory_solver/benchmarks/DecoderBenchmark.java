@@ -0,0 +1,65 @@
+package com.satisfactory_solver.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.instance.InstanceJsonReader;
+
+/**
+ * Throughput of {@link Decoder#decode}, cycling over a fixed set of pre-generated chromosomes so
+ * that the branch predictor does not learn a single input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+    protected static final int CHROMOSOMES = 64;
+
+    @Param({"phase1.json", "phase3.json", "phase5.json", "phase5_half_alternates.json",
+            "random_instance_1000_recipes_1.json", "random_instance_1000_recipes_5.json"})
+    public String instance;
+
+    @Param({"sparse", "dense"})
+    public String density;
+
+    protected Decoder decoder;
+    protected List<List<Double>> chromosomes;
+    protected int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        decoder = new Decoder(new InstanceJsonReader().readInstance(BenchmarkInstances.resolve(instance)));
+        Random rng = new Random(0);
+        chromosomes = new ArrayList<>(CHROMOSOMES);
+        for (int i = 0; i < CHROMOSOMES; i++) {
+            chromosomes.add(BenchmarkInstances.randomChromosome(decoder.getChromosomeLength(), density, rng));
+        }
+    }
+
+    @Benchmark
+    public DecodedSolution decode() {
+        List<Double> chromosome = chromosomes.get(next);
+        next = (next + 1) % CHROMOSOMES;
+        return decoder.decode(chromosome);
+    }
+}
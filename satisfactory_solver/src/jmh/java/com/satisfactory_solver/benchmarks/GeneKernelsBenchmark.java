@@ -0,0 +1,105 @@
+package com.satisfactory_solver.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.satisfactory_solver.kernels.GeneKernels;
+import com.satisfactory_solver.kernels.ScalarGeneKernels;
+
+/**
+ * Scalar against SIMD {@link GeneKernels} on the population diversity, in one pass (per-locus sums
+ * and sums of squares, then their variance) and in two passes (deviations from the per-locus means),
+ * and on the sums of the gene groups of the decoder, for the chromosome length of the 1000-recipe
+ * instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class GeneKernelsBenchmark {
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    @Param({"1276"})
+    public int chromosomeLength;
+
+    @Param({"100"})
+    public int popSize;
+
+    /** genes per group of the decoder; groups are small, mostly below a vector length */
+    @Param({"3", "16"})
+    public int groupSize;
+
+    protected GeneKernels geneKernels;
+    protected double[][] population;
+    protected double[] sums;
+    protected double[] squares;
+    protected double[] means;
+
+    @Setup
+    public void setUp() {
+        geneKernels = kernels.equals("scalar") ? new ScalarGeneKernels() : GeneKernels.get();
+        if (!geneKernels.name().startsWith(kernels)) {
+            throw new IllegalStateException("Kernels " + kernels + " not available, got " + geneKernels.name());
+        }
+        Random rng = new Random(0);
+        population = new double[popSize][];
+        for (int i = 0; i < popSize; i++) {
+            population[i] = BenchmarkInstances.randomChromosome(chromosomeLength, "dense", rng).stream()
+                    .mapToDouble(Double::doubleValue).toArray();
+        }
+        sums = new double[chromosomeLength];
+        squares = new double[chromosomeLength];
+        means = new double[chromosomeLength];
+        for (double[] genes : population) {
+            geneKernels.add(genes, means);
+        }
+        for (int j = 0; j < chromosomeLength; j++) {
+            means[j] /= popSize;
+        }
+    }
+
+    @Benchmark
+    public double populationDiversity() {
+        Arrays.fill(sums, 0.0);
+        Arrays.fill(squares, 0.0);
+        for (double[] genes : population) {
+            geneKernels.addWithSquares(genes, sums, squares);
+        }
+        return geneKernels.varianceSum(sums, squares, popSize) / chromosomeLength;
+    }
+
+    @Benchmark
+    public double squaredDeviations() {
+        double total = 0.0;
+        for (double[] genes : population) {
+            total += geneKernels.squaredDeviation(genes, means);
+        }
+        return total / popSize / chromosomeLength;
+    }
+
+    @Benchmark
+    public double groupSums() {
+        double total = 0.0;
+        double[] genes = population[0];
+        for (int from = 0; from + groupSize <= chromosomeLength; from += groupSize) {
+            total += geneKernels.sum(genes, from, from + groupSize);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,62 @@
+package com.satisfactory_solver.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.decoder.RecipeGraph;
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.InstanceJsonReader;
+
+/**
+ * Cost of the start-up steps of a run: parsing the instance JSON, building the {@link RecipeGraph}
+ * and its topological order, and compiling the {@link Decoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceLoadingBenchmark {
+    @Param({"phase1.json", "phase3.json", "phase5.json", "phase5_half_alternates.json",
+            "random_instance_1000_recipes_1.json", "random_instance_1000_recipes_5.json"})
+    public String instance;
+
+    protected Path path;
+    protected Instance parsed;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = BenchmarkInstances.resolve(instance);
+        parsed = new InstanceJsonReader().readInstance(path);
+    }
+
+    @Benchmark
+    public Instance parseJson() throws IOException {
+        return new InstanceJsonReader().readInstance(path);
+    }
+
+    @Benchmark
+    public Object buildRecipeGraph() {
+        return new RecipeGraph(parsed).getTopologicalOrder();
+    }
+
+    @Benchmark
+    public Decoder buildDecoder() {
+        return new Decoder(parsed);
+    }
+}
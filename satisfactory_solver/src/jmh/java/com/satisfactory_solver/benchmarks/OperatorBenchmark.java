@@ -0,0 +1,140 @@
+package com.satisfactory_solver.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_HybridAdaptiveMutation;
+
+/**
+ * Cost of one application of each GA operator to a whole population, with the parameters used by
+ * the experiments (population of 100, mutation rate 0.01). Fitness values of the population are
+ * computed during setup, so {@code selectParents} measures the selection only.
+ *
+ * {@code mutate} works in place on the same offsprings at every invocation; its cost depends on the
+ * chromosome size and mutation rate, not on the gene values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+    @Param({"phase1.json", "phase3.json", "phase5.json", "phase5_half_alternates.json",
+            "random_instance_1000_recipes_1.json", "random_instance_1000_recipes_5.json"})
+    public String instance;
+
+    @Param({"sparse", "dense"})
+    public String density;
+
+    @Param({"100"})
+    public int popSize;
+
+    @Param({"0.01"})
+    public double mutationRate;
+
+    protected BenchmarkGA ga;
+    protected BenchmarkGA.Population population;
+    protected BenchmarkGA.Population parents;
+    protected BenchmarkGA.Population offsprings;
+
+    @Setup
+    public void setUp() throws IOException {
+        ga = new BenchmarkGA(popSize, mutationRate, BenchmarkInstances.resolve(instance).toString());
+        Random rng = new Random(0);
+        List<List<Double>> genes = new ArrayList<>(popSize);
+        for (int i = 0; i < popSize; i++) {
+            genes.add(BenchmarkInstances.randomChromosome(ga.getProblem().getDomainSize(), density, rng));
+        }
+        population = ga.populationOf(genes);
+        ga.evaluateAll(population);
+        parents = ga.selectParents(population);
+        offsprings = ga.crossover(parents);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ga.getProblem().close();
+    }
+
+    @Benchmark
+    public Object selectParents() {
+        return ga.selectParents(population);
+    }
+
+    @Benchmark
+    public Object crossover() {
+        return ga.crossover(parents);
+    }
+
+    @Benchmark
+    public Object mutate() {
+        return ga.mutate(offsprings);
+    }
+
+    @Benchmark
+    public double computePopulationDiversity() {
+        return ga.computePopulationDiversity(population);
+    }
+
+    /**
+     * Exposes the protected GA operators to the benchmarks.
+     */
+    public static class BenchmarkGA extends GA_Satisfactory_HybridAdaptiveMutation {
+        public BenchmarkGA(int popSize, double mutationRate, String filename) throws IOException {
+            super(1, popSize, mutationRate, filename, null);
+        }
+
+        public Population populationOf(List<List<Double>> genes) {
+            Population population = new Population();
+            for (List<Double> g : genes) {
+                Chromosome chromosome = new Chromosome();
+                chromosome.addAll(g);
+                population.add(chromosome);
+            }
+            return population;
+        }
+
+        public void evaluateAll(Population population) {
+            for (Chromosome chromosome : population) {
+                fitness(chromosome);
+            }
+        }
+
+        @Override
+        public Population selectParents(Population population) {
+            return super.selectParents(population);
+        }
+
+        @Override
+        public Population crossover(Population parents) {
+            return super.crossover(parents);
+        }
+
+        @Override
+        public Population mutate(Population offsprings) {
+            return super.mutate(offsprings);
+        }
+
+        @Override
+        public double computePopulationDiversity(Population population) {
+            return super.computePopulationDiversity(population);
+        }
+    }
+}
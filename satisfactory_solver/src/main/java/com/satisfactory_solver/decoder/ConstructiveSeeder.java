@@ -0,0 +1,200 @@
+package com.satisfactory_solver.decoder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.satisfactory_solver.instance.ItemUsage;
+
+/**
+ * Builds chromosomes of cheap production plans, used to seed the initial population of the GA.
+ *
+ * The cost of an item is estimated as the number of machines per unit per minute needed to make it,
+ * by dynamic programming over the items from the raw materials up (see
+ * {@link Decoder#valueRecipes}): a recipe costs one machine plus its inputs, per unit of the item
+ * it makes, and an item costs as much as its cheapest recipe. Raw materials cost
+ * nothing at first and items that can be neither made nor supplied cost infinitely. As the cheapest
+ * plan may use more of a raw material than is supplied, the plan is decoded and the price of every
+ * overused raw material raised, a few times, before the recipe costs are fixed.
+ *
+ * A seed then gives, in every gene group, all the weight to one recipe: the cheapest one (ties
+ * broken at random) or, for a positive temperature, one drawn with a probability that decreases
+ * exponentially with its cost relative to the cheapest one.
+ */
+public class ConstructiveSeeder {
+    /**
+     * maximum number of price adjustments of the raw materials
+     */
+    public static final int PRICE_ROUNDS = 8;
+
+    protected final Decoder decoder;
+
+    /**
+     * supply and price of a unit of every item, indexed as in the decoder (see
+     * {@link Decoder#buildIndices}); items that are not supplied cost infinitely
+     */
+    protected final double[] supplies;
+    protected final double[] prices;
+
+    /** cost of every item, by index */
+    protected final double[] itemCosts;
+
+    /** cost of the recipe of every gene, per unit of the item of its group */
+    protected final double[] geneCosts;
+
+    protected int priceRounds;
+
+    public ConstructiveSeeder(Decoder decoder) {
+        this.decoder = decoder;
+        int nItems = decoder.itemNames.length;
+        this.supplies = new double[nItems];
+        this.prices = new double[nItems];
+        this.itemCosts = new double[nItems];
+        this.geneCosts = new double[decoder.getChromosomeLength()];
+        Arrays.fill(prices, Double.POSITIVE_INFINITY);
+        for (ItemUsage item : decoder.getInstance().getRawMaterials()) {
+            int index = decoder.itemIndices.get(item.getItemName());
+            supplies[index] += item.getQuantityPerMinute();
+            prices[index] = 0.0;
+        }
+
+        double[] plan = new double[geneCosts.length];
+        for (priceRounds = 0; ; priceRounds++) {
+            computeCosts();
+            seed(plan, null, 0.0);
+            if (priceRounds == PRICE_ROUNDS || !raisePrices(decoder.decode(plan)))
+                break;
+        }
+    }
+
+    /**
+     * Updates {@link #itemCosts} and {@link #geneCosts} for the current raw material prices.
+     */
+    protected void computeCosts() {
+        // items outside the order (inputs of recipes chosen for a byproduct) are never made by the
+        // decoder, they can only be supplied
+        System.arraycopy(prices, 0, itemCosts, 0, prices.length);
+        decoder.valueRecipes(1.0, (position, item, cheapestRecipe) -> Math.min(prices[item], cheapestRecipe),
+                itemCosts, geneCosts);
+    }
+
+    /**
+     * Raises the price of the raw materials that the decoded plan uses more of than is supplied,
+     * in proportion to the excess.
+     *
+     * @return whether a price was raised
+     */
+    protected boolean raisePrices(DecodedSolution decoded) {
+        double scale = costScale();
+        boolean raised = false;
+        for (int item = 0; item < supplies.length; item++) {
+            if (supplies[item] == 0.0)
+                continue;
+            double excess = decoded.getItemLiquidDemand(item);
+            if (excess > 0.0) {
+                prices[item] += scale * (1.0 + excess / supplies[item]);
+                raised = true;
+            }
+        }
+        return raised;
+    }
+
+    /**
+     * @return the mean finite cost of the final products, the order of magnitude of a price that
+     *         changes the cheapest recipes
+     */
+    protected double costScale() {
+        double sum = 0.0;
+        int count = 0;
+        for (ItemUsage item : decoder.getInstance().getFinalProducts()) {
+            double cost = getItemCost(item.getItemName());
+            if (Double.isFinite(cost) && cost > 0.0) {
+                sum += cost;
+                count++;
+            }
+        }
+        return count == 0 ? 1.0 : sum / count;
+    }
+
+    /**
+     * Fills {@code genes} with a seed: in every gene group, the selected recipe gets 1.0 and the
+     * others 0.0.
+     *
+     * @param rng breaks the ties between equally cheap recipes and draws the recipes for a positive
+     *        temperature; if null, the first cheapest recipe is taken
+     * @param temperature 0.0 to always take a cheapest recipe; otherwise a recipe costing
+     *        {@code (1 + x)} times the cheapest one is {@code exp(x / temperature)} times less likely
+     */
+    public void seed(double[] genes, Random rng, double temperature) {
+        int[] offsets = decoder.geneGroupOffsets;
+        for (int group = 0; group + 1 < offsets.length; group++) {
+            int from = offsets[group];
+            int to = offsets[group + 1];
+            int selected = (rng == null || temperature <= 0.0) ? cheapest(from, to, rng) : draw(from, to, rng, temperature);
+            for (int i = from; i < to; i++) {
+                genes[i] = i == selected ? 1.0 : 0.0;
+            }
+        }
+    }
+
+    /**
+     * @return a cheapest gene of [from, to), uniformly among ties if {@code rng} is not null
+     */
+    protected int cheapest(int from, int to, Random rng) {
+        double minimum = minimumCost(from, to);
+        int selected = from;
+        int ties = 0;
+        for (int i = from; i < to; i++) {
+            if (Decoder.isTie(geneCosts[i], minimum) && (rng == null ? ties == 0 : rng.nextInt(ties + 1) == 0)) {
+                selected = i;
+            }
+            if (Decoder.isTie(geneCosts[i], minimum))
+                ties++;
+        }
+        return selected;
+    }
+
+    protected int draw(int from, int to, Random rng, double temperature) {
+        double minimum = minimumCost(from, to);
+        if (!Double.isFinite(minimum) || minimum <= 0.0)
+            return cheapest(from, to, rng);
+        double total = 0.0;
+        for (int i = from; i < to; i++) {
+            total += weight(geneCosts[i], minimum, temperature);
+        }
+        double target = rng.nextDouble() * total;
+        for (int i = from; i < to; i++) {
+            target -= weight(geneCosts[i], minimum, temperature);
+            if (target < 0.0)
+                return i;
+        }
+        return cheapest(from, to, rng);
+    }
+
+    protected static double weight(double cost, double minimum, double temperature) {
+        return Math.exp(-(cost / minimum - 1.0) / temperature);
+    }
+
+    protected double minimumCost(int from, int to) {
+        double minimum = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minimum = Math.min(minimum, geneCosts[i]);
+        }
+        return minimum;
+    }
+
+    /**
+     * @return the estimated machines per unit per minute of the item, infinite if it can not be
+     *         made nor supplied
+     */
+    public double getItemCost(String itemName) {
+        Integer item = decoder.itemIndices.get(itemName);
+        return item == null ? Double.POSITIVE_INFINITY : itemCosts[item];
+    }
+
+    /**
+     * @return the number of times the raw material prices were raised
+     */
+    public int getPriceRounds() {
+        return priceRounds;
+    }
+}
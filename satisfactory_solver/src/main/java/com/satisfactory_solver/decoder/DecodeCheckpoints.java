@@ -0,0 +1,112 @@
+package com.satisfactory_solver.decoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * States of the decoder saved during the first pass of the decoding of a chromosome, every
+ * {@link #getInterval} items, see {@link Decoder#decode(double[], DecodeCheckpoints)}.
+ *
+ * The state of the decoder when it reaches an item of the first pass only depends on the genes of
+ * the items before it, so a chromosome that differs from the checkpointed one only from some gene
+ * on can be decoded from the last checkpoint before that gene instead of from scratch
+ * ({@link Decoder#resume}), with the same result.
+ */
+public class DecodeCheckpoints {
+    /**
+     * State of the decoder before the item at {@link #position} of the first pass.
+     */
+    protected static class Checkpoint {
+        protected final int position;
+
+        /** first gene of the items at {@link #position} and after */
+        protected final int geneIndex;
+
+        /** indexed as in {@link Decoder#decode} */
+        protected final double[] recipeUsages;
+        protected final boolean[] touchedRecipes;
+        protected final double[] itemLiquidDemand;
+        protected final boolean[] touchedItems;
+        protected final double unsatisfiedDemand;
+        protected final int itemsVisited;
+
+        protected Checkpoint(int position, int geneIndex, double[] recipeUsages, boolean[] touchedRecipes,
+                double[] itemLiquidDemand, boolean[] touchedItems, double unsatisfiedDemand, int itemsVisited) {
+            this.position = position;
+            this.geneIndex = geneIndex;
+            this.recipeUsages = recipeUsages;
+            this.touchedRecipes = touchedRecipes;
+            this.itemLiquidDemand = itemLiquidDemand;
+            this.touchedItems = touchedItems;
+            this.unsatisfiedDemand = unsatisfiedDemand;
+            this.itemsVisited = itemsVisited;
+        }
+    }
+
+    protected final int interval;
+
+    /** mode of the checkpointed decodings */
+    protected final DecodeMode mode;
+
+    /** in increasing position order */
+    protected final List<Checkpoint> checkpoints = new ArrayList<>();
+
+    /**
+     * @param interval number of items between two checkpoints; smaller intervals make resuming
+     *        cheaper and checkpointing more expensive
+     */
+    public DecodeCheckpoints(int interval) {
+        this(interval, DecodeMode.CONTINUOUS);
+    }
+
+    /**
+     * @param interval number of items between two checkpoints
+     * @param mode mode of the decodings made with the checkpoints
+     */
+    public DecodeCheckpoints(int interval, DecodeMode mode) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        this.mode = mode;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public DecodeMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the number of saved states
+     */
+    public int size() {
+        return checkpoints.size();
+    }
+
+    /**
+     * @return the index of the last checkpoint taken before the given gene was read, -1 if none
+     */
+    protected int lastBefore(int gene) {
+        int low = 0, high = checkpoints.size() - 1, found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (checkpoints.get(middle).geneIndex <= gene) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes the checkpoints after the given index.
+     */
+    protected void truncate(int index) {
+        checkpoints.subList(index + 1, checkpoints.size()).clear();
+    }
+}
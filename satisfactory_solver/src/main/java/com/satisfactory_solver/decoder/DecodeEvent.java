@@ -0,0 +1,43 @@
+package com.satisfactory_solver.decoder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a sample of the {@link Decoder#decode} calls (one in {@link #SAMPLE_PERIOD} on
+ * average, chosen at random), recording how much work the decode did.
+ */
+@Name("com.satisfactory_solver.Decode")
+@Label("Decode")
+@Category({ "Satisfactory Solver", "Decoder" })
+@Description("A sampled chromosome decode")
+@StackTrace(false)
+public class DecodeEvent extends Event {
+    public static final int SAMPLE_PERIOD = 64;
+
+    static final EventType TYPE = EventType.getEventType(DecodeEvent.class);
+
+    @Label("Chromosome Length")
+    public int chromosomeLength;
+
+    @Label("Items Visited")
+    @Description("Items with demand processed, over all passes")
+    public int itemsVisited;
+
+    @Label("Passes")
+    public int passes;
+
+    @Label("Allocated")
+    @DataAmount
+    @Description("Bytes allocated by the decoding thread during the decode, -1 if unavailable")
+    public long allocatedBytes;
+
+    @Label("Unsatisfied Demand")
+    public double unsatisfiedDemand;
+}
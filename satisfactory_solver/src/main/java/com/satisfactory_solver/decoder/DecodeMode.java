@@ -0,0 +1,19 @@
+package com.satisfactory_solver.decoder;
+
+/**
+ * How the decoder splits the demand for an item among its recipes.
+ */
+public enum DecodeMode {
+    /**
+     * In the proportions of the genes.
+     */
+    CONTINUOUS,
+
+    /**
+     * In the proportions of the genes, then, as machines are counted whole, the last machine of a
+     * recipe is closed whenever its load fits in the spare capacity of the machines already opened
+     * for the other recipes of the item. The item never needs more machines than in
+     * {@link #CONTINUOUS} mode, but the demand for its inputs changes with the recipes.
+     */
+    FILL_MACHINES
+}
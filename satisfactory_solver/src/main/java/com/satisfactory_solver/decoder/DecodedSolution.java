@@ -1,18 +1,60 @@
 package com.satisfactory_solver.decoder;
 
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * The production plan a chromosome decodes to: the usage of every recipe and the liquid demand
+ * left for every item (negative for unused supply), with its number of machines and unsatisfied
+ * demand.
+ *
+ * A solution decoded by the {@link Decoder} keeps the decoder's arrays, indexed by its item and
+ * recipe indices, with the number of machines and unsatisfied demand computed during the
+ * decoding; the named maps are only built, once, when asked for, as the GA only reads the two
+ * numbers. {@link #getRecipeUsage} and {@link #getItemLiquidDemand(String)} read single entries
+ * without building them. A map is published only once it is complete, so a solution may be read
+ * from several threads; two threads asking at the same time may both build it.
+ */
 public class DecodedSolution {
-    private Map<String, Double> recipeUsages;
-    private Map<String, Double> itemLiquidDemand;
+    private volatile Map<String, Double> recipeUsages;
+    private volatile Map<String, Double> itemLiquidDemand;
     private double unsatisfiedDemandSum;
     private int numberOfUsedMachines;
 
+    /**
+     * the decoder and its arrays, null if the solution was built from maps; only the touched
+     * recipes and items are entries of the maps
+     */
+    private final Decoder decoder;
+    private final double[] recipeUsageArray;
+    private final boolean[] touchedRecipes;
+    private final double[] itemLiquidDemandArray;
+    private final boolean[] touchedItems;
+
     public DecodedSolution(Map<String, Double> recipeUsages, Map<String, Double> itemLiquidDemand) {
         this.recipeUsages = recipeUsages;
         this.itemLiquidDemand = itemLiquidDemand;
         this.unsatisfiedDemandSum = calculateUnsatisfiedDemandSum();
         this.numberOfUsedMachines = calculateNumberOfUsedMachines();
+        this.decoder = null;
+        this.recipeUsageArray = null;
+        this.touchedRecipes = null;
+        this.itemLiquidDemandArray = null;
+        this.touchedItems = null;
+    }
+
+    /**
+     * A solution backed by the arrays of a decoding, which it takes over.
+     */
+    protected DecodedSolution(Decoder decoder, double[] recipeUsages, boolean[] touchedRecipes,
+            double[] itemLiquidDemand, boolean[] touchedItems, int numberOfUsedMachines, double unsatisfiedDemandSum) {
+        this.decoder = decoder;
+        this.recipeUsageArray = recipeUsages;
+        this.touchedRecipes = touchedRecipes;
+        this.itemLiquidDemandArray = itemLiquidDemand;
+        this.touchedItems = touchedItems;
+        this.numberOfUsedMachines = numberOfUsedMachines;
+        this.unsatisfiedDemandSum = unsatisfiedDemandSum;
     }
 
     private double calculateUnsatisfiedDemandSum() {
@@ -30,21 +72,76 @@ public class DecodedSolution {
         for (String recipe : recipeUsages.keySet()) {
             Double usage = recipeUsages.get(recipe);
             count += Math.ceil(usage);
-            if (usage > 1000) {
-                count = count;
-            }
         }
         return count;
     }
 
+    private static Map<String, Double> toMap(String[] names, double[] values, boolean[] touched) {
+        Map<String, Double> map = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (touched[i]) {
+                map.put(names[i], values[i]);
+            }
+        }
+        return map;
+    }
+
     public Map<String, Double> getRecipeUsages() {
-        return recipeUsages;
+        Map<String, Double> map = recipeUsages;
+        if (map == null) {
+            map = toMap(decoder.recipeNames, recipeUsageArray, touchedRecipes);
+            recipeUsages = map;
+        }
+        return map;
     }
 
     public Map<String, Double> getItemLiquidDemand() {
-        return itemLiquidDemand;
+        Map<String, Double> map = itemLiquidDemand;
+        if (map == null) {
+            map = toMap(decoder.itemNames, itemLiquidDemandArray, touchedItems);
+            itemLiquidDemand = map;
+        }
+        return map;
     }
-    
+
+    /**
+     * @return the usage of the recipe, 0.0 if it is not used
+     */
+    public double getRecipeUsage(String recipeName) {
+        if (decoder == null) {
+            return recipeUsages.getOrDefault(recipeName, 0.0);
+        }
+        Integer index = decoder.recipeIndices.get(recipeName);
+        return index != null ? recipeUsageArray[index] : 0.0;
+    }
+
+    /**
+     * @return the liquid demand left for the item, 0.0 if it was never demanded nor supplied
+     */
+    public double getItemLiquidDemand(String itemName) {
+        if (decoder == null) {
+            return itemLiquidDemand.getOrDefault(itemName, 0.0);
+        }
+        Integer index = decoder.itemIndices.get(itemName);
+        return index != null ? itemLiquidDemandArray[index] : 0.0;
+    }
+
+    /**
+     * @return the usage of the recipe of the given index in the decoder, of a solution decoded by
+     *         the {@link Decoder}
+     */
+    public double getRecipeUsage(int recipe) {
+        return recipeUsageArray[recipe];
+    }
+
+    /**
+     * @return the liquid demand left for the item of the given index in the decoder, of a solution
+     *         decoded by the {@link Decoder}
+     */
+    public double getItemLiquidDemand(int item) {
+        return itemLiquidDemandArray[item];
+    }
+
     public double getUnsatisfiedDemandSum() {
         return unsatisfiedDemandSum;
     }
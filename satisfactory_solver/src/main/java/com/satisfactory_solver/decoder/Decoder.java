@@ -1,27 +1,95 @@
 package com.satisfactory_solver.decoder;
 
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.satisfactory_solver.instance.Instance;
 import com.satisfactory_solver.instance.ItemUsage;
 import com.satisfactory_solver.instance.Recipe;
+import com.satisfactory_solver.kernels.GeneKernels;
 
 public class Decoder {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    protected static final GeneKernels KERNELS = GeneKernels.get();
+
     protected Instance instance;
     protected List<String> reverseTopologicalOrder;
     protected Map<String, List<Recipe>> itemToRecipesMap;
     protected Map<Gene, Integer> genePositions;
     protected int chromosomeLength;
 
+    /**
+     * genes of the i-th item with alternatives are at [geneGroupOffsets[i], geneGroupOffsets[i + 1])
+     */
+    protected int[] geneGroupOffsets;
+
+    /**
+     * names of the items and recipes by their index in the arrays of a decoding (see
+     * {@link DecodedSolution}), and the reverse maps
+     */
+    protected String[] itemNames;
+    protected Map<String, Integer> itemIndices;
+    protected String[] recipeNames;
+    protected Map<String, Integer> recipeIndices;
+
+    /**
+     * item at every position of the order, the recipes making it, how much of it they make and
+     * their inputs
+     */
+    protected int[] positionItems;
+    protected int[][] positionRecipes;
+    protected double[][] positionOutputs;
+    protected int[][][] positionInputs;
+    protected double[][][] positionInputQuantities;
+
+    /**
+     * recipe of every gene
+     */
+    protected int[] geneRecipes;
+
+    /**
+     * state of the decoder before the first item, from the demand and supply of the instance
+     */
+    protected double[] initialItemLiquidDemand;
+    protected boolean[] initialTouchedItems;
+    protected double initialUnsatisfiedDemand;
+
+    /**
+     * zeroed gene array into which {@link #decodeSparse} scatters its genes
+     */
+    protected final ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[0]);
+
+    /**
+     * per-recipe arrays of {@link #fillMachines}, grown to the largest item it was called for
+     */
+    protected final ThreadLocal<double[]> fillUsages = ThreadLocal.withInitial(() -> new double[0]);
+    protected final ThreadLocal<double[]> fillTotals = ThreadLocal.withInitial(() -> new double[0]);
+    protected final ThreadLocal<boolean[]> fillTried = ThreadLocal.withInitial(() -> new boolean[0]);
+
     public Decoder(Instance instance) {
+        this(instance, new RecipeGraph(instance).getTopologicalOrder().reversed());
+    }
+
+    /**
+     * Builds a decoder from an already computed item order, skipping the recipe graph construction.
+     * Used when loading precompiled instances, where the order was computed (and validated) beforehand.
+     *
+     * @param instance the instance being decoded
+     * @param reverseTopologicalOrder items ordered from final products down to raw materials
+     */
+    public Decoder(Instance instance, List<String> reverseTopologicalOrder) {
         this.instance = instance;
-        this.reverseTopologicalOrder = new RecipeGraph(instance).getTopologicalOrder().reversed();
+        this.reverseTopologicalOrder = reverseTopologicalOrder;
         this.itemToRecipesMap = buildItemToRecipesMap();
         this.genePositions = buildGenePositions();
         this.chromosomeLength = genePositions.size();
+        this.geneGroupOffsets = buildGeneGroupOffsets();
+        buildIndices();
     }
 
     protected Map<String, List<Recipe>> buildItemToRecipesMap() {
@@ -56,6 +124,180 @@ public class Decoder {
         return genePositions;
     }
 
+    protected int[] buildGeneGroupOffsets() {
+        List<Integer> offsets = new ArrayList<>();
+        offsets.add(0);
+        int offset = 0;
+        for (String itemName : reverseTopologicalOrder) {
+            List<Recipe> recipes = itemToRecipesMap.get(itemName);
+            if (recipes != null && recipes.size() > 1) {
+                offset += recipes.size();
+                offsets.add(offset);
+            }
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Numbers the items and recipes and compiles the order, the recipes and the initial state into
+     * arrays, so that decoding does not look names up.
+     */
+    protected void buildIndices() {
+        itemIndices = new HashMap<>();
+        recipeIndices = new HashMap<>();
+        List<String> items = new ArrayList<>();
+        List<String> recipeList = new ArrayList<>();
+        int nPositions = reverseTopologicalOrder.size();
+        positionItems = new int[nPositions];
+        positionRecipes = new int[nPositions][];
+        positionOutputs = new double[nPositions][];
+        positionInputs = new int[nPositions][][];
+        positionInputQuantities = new double[nPositions][][];
+        for (int position = 0; position < nPositions; position++) {
+            String itemName = reverseTopologicalOrder.get(position);
+            positionItems[position] = index(itemName, itemIndices, items);
+            List<Recipe> recipes = itemToRecipesMap.get(itemName);
+            int nRecipesForItem = (recipes != null) ? recipes.size() : 0;
+            positionRecipes[position] = new int[nRecipesForItem];
+            positionOutputs[position] = new double[nRecipesForItem];
+            positionInputs[position] = new int[nRecipesForItem][];
+            positionInputQuantities[position] = new double[nRecipesForItem][];
+            for (int i = 0; i < nRecipesForItem; i++) {
+                Recipe recipe = recipes.get(i);
+                positionRecipes[position][i] = index(recipe.getRecipeName(), recipeIndices, recipeList);
+                positionOutputs[position][i] = recipe.getResultingQuantityForItem(itemName);
+                List<ItemUsage> inputs = recipe.getInputs();
+                positionInputs[position][i] = new int[inputs.size()];
+                positionInputQuantities[position][i] = new double[inputs.size()];
+                for (int k = 0; k < inputs.size(); k++) {
+                    positionInputs[position][i][k] = index(inputs.get(k).getItemName(), itemIndices, items);
+                    positionInputQuantities[position][i][k] = inputs.get(k).getQuantityPerMinute();
+                }
+            }
+        }
+        for (ItemUsage item : instance.getFinalProducts()) {
+            index(item.getItemName(), itemIndices, items);
+        }
+        for (ItemUsage item : instance.getRawMaterials()) {
+            index(item.getItemName(), itemIndices, items);
+        }
+        itemNames = items.toArray(new String[0]);
+        recipeNames = recipeList.toArray(new String[0]);
+
+        geneRecipes = new int[chromosomeLength];
+        int gene = 0;
+        for (int[] recipes : positionRecipes) {
+            if (recipes.length > 1) {
+                System.arraycopy(recipes, 0, geneRecipes, gene, recipes.length);
+                gene += recipes.length;
+            }
+        }
+
+        initialItemLiquidDemand = new double[itemNames.length];
+        initialTouchedItems = new boolean[itemNames.length];
+        initialUnsatisfiedDemand = 0.0;
+        // Initialize demand
+        for (ItemUsage item : instance.getFinalProducts()) {
+            int index = itemIndices.get(item.getItemName());
+            initialItemLiquidDemand[index] = item.getQuantityPerMinute();
+            initialTouchedItems[index] = true;
+            initialUnsatisfiedDemand += item.getQuantityPerMinute();
+        }
+        // Initialize supply
+        for (ItemUsage item : instance.getRawMaterials()) {
+            int index = itemIndices.get(item.getItemName());
+            initialItemLiquidDemand[index] -= item.getQuantityPerMinute();
+            initialTouchedItems[index] = true;
+        }
+    }
+
+    /**
+     * relative difference below which two recipe values (see {@link #valueRecipes}) are a tie
+     */
+    protected static final double TIE_TOLERANCE = 1e-9;
+
+    /**
+     * How {@link #valueRecipes} values an item of the order from its recipes.
+     */
+    protected interface ItemValuation {
+        /**
+         * @param position position of the item in the order
+         * @param item index of the item
+         * @param cheapestRecipe value of its cheapest recipe
+         * @return the value of the item
+         */
+        double value(int position, int item, double cheapestRecipe);
+    }
+
+    /**
+     * Values every recipe of the order per unit of the item it makes, by dynamic programming over
+     * the items from the raw materials up: a recipe is worth {@code recipeValue} plus the quantity of
+     * each of its inputs times the value of the input, divided by the quantity of the item it makes;
+     * then the item is valued by {@code valuation} from its cheapest recipe. An input that is also
+     * the output is already netted out of the resulting quantity and is skipped.
+     * {@link ConstructiveSeeder} values recipes by the machines they need, {@link FeasibilityRepair}
+     * by the overused items they consume.
+     *
+     * @param itemValues the value of every item, by index: on entry, that of the items not made
+     *        before they are needed (outside the order, or closing a cycle); on return, also that of
+     *        the items of the order made by a recipe
+     * @param geneValues receives the value of the recipe of every gene
+     */
+    protected void valueRecipes(double recipeValue, ItemValuation valuation, double[] itemValues, double[] geneValues) {
+        int index = chromosomeLength;
+        for (int position = positionItems.length - 1; position >= 0; position--) {
+            int item = positionItems[position];
+            int nRecipesForItem = positionRecipes[position].length;
+            if (nRecipesForItem > 1) {
+                index -= nRecipesForItem;
+            }
+            if (nRecipesForItem == 0)
+                continue;
+
+            double cheapest = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < nRecipesForItem; i++) {
+                int[] inputs = positionInputs[position][i];
+                double[] quantities = positionInputQuantities[position][i];
+                double value = recipeValue;
+                for (int k = 0; k < inputs.length; k++) {
+                    if (inputs[k] != item)
+                        value += quantities[k] * itemValues[inputs[k]];
+                }
+                value /= positionOutputs[position][i];
+                if (nRecipesForItem > 1) {
+                    geneValues[index + i] = value;
+                }
+                cheapest = Math.min(cheapest, value);
+            }
+            itemValues[item] = valuation.value(position, item, cheapest);
+        }
+    }
+
+    /**
+     * @return whether {@code value}, not below {@code minimum}, ties with it; all infinite values tie
+     */
+    protected static boolean isTie(double value, double minimum) {
+        return value == minimum || Math.abs(value - minimum) <= TIE_TOLERANCE * Math.abs(minimum);
+    }
+
+    protected static int index(String name, Map<String, Integer> indices, List<String> names) {
+        Integer index = indices.get(name);
+        if (index == null) {
+            index = names.size();
+            indices.put(name, index);
+            names.add(name);
+        }
+        return index;
+    }
+
+    public Instance getInstance() {
+        return this.instance;
+    }
+
+    public List<String> getReverseTopologicalOrder() {
+        return this.reverseTopologicalOrder;
+    }
+
     public int getChromosomeLength() {
         return this.chromosomeLength;
     }
@@ -64,41 +306,205 @@ public class Decoder {
         return this.genePositions;
     }
 
+    public int[] getGeneGroupOffsets() {
+        return this.geneGroupOffsets;
+    }
+
+    /**
+     * @return the index of the recipe of every gene, see {@link DecodedSolution#getRecipeUsage(int)}
+     */
+    public int[] getGeneRecipes() {
+        return this.geneRecipes;
+    }
+
+    /**
+     * Maps a chromosome to a canonical form that decodes to the same solution: only the proportions
+     * within each item's gene group matter, so every group is divided by its sum, and a group summing
+     * to zero becomes the even split the decoder makes of it. The proportions are computed exactly as
+     * the decoder computes them, so two chromosomes have the same form only if they decode alike
+     * (e.g. groups rescaled by a power of two); rescaled copies whose proportions differ in the last
+     * bits get different forms.
+     *
+     * @return the canonical genes, in a new array
+     */
+    public double[] canonicalize(List<Double> chromosome) {
+        double[] canonical = new double[chromosomeLength];
+        for (int i = 0; i < chromosomeLength; i++) {
+            canonical[i] = chromosome.get(i);
+        }
+        for (int group = 0; group + 1 < geneGroupOffsets.length; group++) {
+            int from = geneGroupOffsets[group];
+            int to = geneGroupOffsets[group + 1];
+            double denominator = KERNELS.sum(canonical, from, to);
+            for (int i = from; i < to; i++) {
+                double proportion = denominator == 0.0 ? 1.0 / (to - from) : canonical[i] / denominator;
+                // + 0.0 turns -0.0 into 0.0, which Arrays.equals would tell apart
+                canonical[i] = proportion + 0.0;
+            }
+        }
+        return canonical;
+    }
+
     public DecodedSolution decode(List<Double> chromosome) {
-        Map<String, Double> recipeUsages = new HashMap<>();
-        // Positive represents demand, negative represents supply
-        Map<String, Double> itemLiquidDemand = new HashMap<>();
-        double unsatisfiedDemand = 0.0;
+        return decode(chromosome, DecodeMode.CONTINUOUS);
+    }
 
-        // Initialize demand
-        for (ItemUsage item : instance.getFinalProducts()) {
-            itemLiquidDemand.put(item.getItemName(), item.getQuantityPerMinute());
-            unsatisfiedDemand += item.getQuantityPerMinute();
+    public DecodedSolution decode(List<Double> chromosome, DecodeMode mode) {
+        double[] genes = new double[chromosome.size()];
+        for (int i = 0; i < genes.length; i++) {
+            genes[i] = chromosome.get(i);
         }
-        // Initialize supply
-        for (ItemUsage item : instance.getRawMaterials()) {
-            itemLiquidDemand.put(
-                item.getItemName(),
-                itemLiquidDemand.getOrDefault(item.getItemName(), 0.0) - item.getQuantityPerMinute()
-            );
+        return decode(genes, mode);
+    }
+
+    /**
+     * Decodes a sparse chromosome, given by the loci of its non-zero genes (in any order) and their
+     * values. The genes are scattered into a per-thread scratch array that is cleared again
+     * afterwards, so apart from the decoding itself the work is proportional to {@code count}.
+     *
+     * @param count number of non-zero genes, the used prefix of {@code loci} and {@code values}
+     */
+    public DecodedSolution decodeSparse(int[] loci, double[] values, int count) {
+        return decodeSparse(loci, values, count, DecodeMode.CONTINUOUS);
+    }
+
+    public DecodedSolution decodeSparse(int[] loci, double[] values, int count, DecodeMode mode) {
+        double[] genes = scratch.get();
+        if (genes.length != chromosomeLength) {
+            genes = new double[chromosomeLength];
+            scratch.set(genes);
         }
+        for (int i = 0; i < count; i++) {
+            genes[loci[i]] = values[i];
+        }
+        try {
+            return decode(genes, mode);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                genes[loci[i]] = 0.0;
+            }
+        }
+    }
 
-        int index = 0;
+    public DecodedSolution decode(double[] chromosome) {
+        return decode(chromosome, DecodeMode.CONTINUOUS);
+    }
+
+    public DecodedSolution decode(double[] chromosome, DecodeMode mode) {
+        if (DecodeEvent.TYPE.isEnabled() && ThreadLocalRandom.current().nextInt(DecodeEvent.SAMPLE_PERIOD) == 0) {
+            DecodeEvent event = new DecodeEvent();
+            long allocatedBefore = allocatedBytes();
+            event.begin();
+            DecodedSolution decoded = decode(chromosome, null, -1, false, mode, event);
+            event.end();
+            long allocatedAfter = allocatedBytes();
+            event.allocatedBytes = (allocatedBefore < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocatedBefore;
+            event.chromosomeLength = chromosome.length;
+            event.unsatisfiedDemand = decoded.getUnsatisfiedDemandSum();
+            event.commit();
+            return decoded;
+        }
+        return decode(chromosome, null, -1, false, mode, null);
+    }
+
+    /**
+     * Decodes the chromosome like {@link #decode(double[], DecodeMode)}, in the mode of
+     * {@code checkpoints}, saving the state of the decoder in {@code checkpoints} (replacing what
+     * it held) so that variations of the chromosome can then be decoded with {@link #resume}.
+     */
+    public DecodedSolution decode(double[] chromosome, DecodeCheckpoints checkpoints) {
+        checkpoints.checkpoints.clear();
+        return decode(chromosome, checkpoints, -1, true, checkpoints.mode, null);
+    }
+
+    /**
+     * Decodes a chromosome that is equal to the one last decoded into {@code checkpoints} up to,
+     * excluding, gene {@code firstChangedGene}, starting from the last saved state before that
+     * gene. The result is the same as {@link #decode(double[])}, but only the items from the
+     * checkpoint on are visited in the first pass.
+     *
+     * @param record whether the chromosome becomes the checkpointed one: the states after the one
+     *        resumed from are replaced by those of this decoding. Otherwise {@code checkpoints} is
+     *        left unchanged, e.g. to evaluate a move that may be rejected.
+     */
+    public DecodedSolution resume(double[] chromosome, DecodeCheckpoints checkpoints, int firstChangedGene, boolean record) {
+        int resumed = checkpoints.lastBefore(firstChangedGene);
+        if (record) {
+            checkpoints.truncate(resumed);
+        }
+        return decode(chromosome, checkpoints, resumed, record, checkpoints.mode, null);
+    }
+
+    /**
+     * @param checkpoints saved states of the first pass, may be null if {@code resumed} is -1 and
+     *        {@code record} is false
+     * @param resumed index of the checkpoint to start from, -1 to start from the instance demand
+     *        and supply
+     * @param record whether to save the states of the first pass after the starting point into
+     *        {@code checkpoints}
+     * @param mode how the demand for an item is split among its recipes
+     * @param event if not null, receives the number of passes and items visited
+     */
+    protected DecodedSolution decode(double[] chromosome, DecodeCheckpoints checkpoints, int resumed,
+            boolean record, DecodeMode mode, DecodeEvent event) {
+        // indexed by recipeIndices and itemIndices; the touched flags tell the entries of the
+        // named maps (see DecodedSolution) from the recipes and items never reached
+        double[] recipeUsages;
+        boolean[] touchedRecipes;
+        // Positive represents demand, negative represents supply
+        double[] itemLiquidDemand;
+        boolean[] touchedItems;
+        double unsatisfiedDemand;
+        int startPosition = 0;
+        int startIndex = 0;
+        int itemsVisited = 0;
+
+        if (resumed >= 0) {
+            DecodeCheckpoints.Checkpoint checkpoint = checkpoints.checkpoints.get(resumed);
+            recipeUsages = checkpoint.recipeUsages.clone();
+            touchedRecipes = checkpoint.touchedRecipes.clone();
+            itemLiquidDemand = checkpoint.itemLiquidDemand.clone();
+            touchedItems = checkpoint.touchedItems.clone();
+            unsatisfiedDemand = checkpoint.unsatisfiedDemand;
+            startPosition = checkpoint.position;
+            startIndex = checkpoint.geneIndex;
+            itemsVisited = checkpoint.itemsVisited;
+        } else {
+            recipeUsages = new double[recipeNames.length];
+            touchedRecipes = new boolean[recipeNames.length];
+            // the instance demand and supply
+            itemLiquidDemand = initialItemLiquidDemand.clone();
+            touchedItems = initialTouchedItems.clone();
+            unsatisfiedDemand = initialUnsatisfiedDemand;
+        }
+
+        int index;
         double denominator;
+        int repeat;
+        int nItems = reverseTopologicalOrder.size();
 
         // Iterate multiple times to better satisfy demands in complex graphs
-        for (int repeat = 0; repeat < 5 && unsatisfiedDemand > 0; repeat++) {
-            index = 0;
-            for (String itemName : reverseTopologicalOrder) {
-                List<Recipe> recipes = itemToRecipesMap.get(itemName);
-                int nRecipesForItem = (recipes != null) ? recipes.size() : 0;
+        // (a resumed first pass was already entered when the checkpoint was taken)
+        for (repeat = 0; repeat < 5 && (unsatisfiedDemand > 0 || (repeat == 0 && resumed >= 0)); repeat++) {
+            int position = repeat == 0 ? startPosition : 0;
+            index = repeat == 0 ? startIndex : 0;
+            for (; position < nItems; position++) {
+                if (record && repeat == 0 && position % checkpoints.interval == 0 && (resumed < 0 || position > startPosition)) {
+                    checkpoints.checkpoints.add(new DecodeCheckpoints.Checkpoint(position, index,
+                            recipeUsages.clone(), touchedRecipes.clone(), itemLiquidDemand.clone(), touchedItems.clone(),
+                            unsatisfiedDemand, itemsVisited));
+                }
+                int item = positionItems[position];
+                int[] recipes = positionRecipes[position];
+                double[] outputs = positionOutputs[position];
+                int nRecipesForItem = recipes.length;
                 if (nRecipesForItem <= 1) {
                     denominator = 1.0; // no genes for this item
                 } else {
                     // genes from index to index + nRecipesForItem - 1 represent the proportions for each recipe producing this item
-                    denominator = chromosome.subList(index, index + nRecipesForItem).stream().mapToDouble(Double::doubleValue).sum();
+                    denominator = KERNELS.sum(chromosome, index, index + nRecipesForItem);
                 }
-                double itemDemand = itemLiquidDemand.getOrDefault(itemName, 0.0);
+                double itemDemand = itemLiquidDemand[item];
 
                 if (itemDemand <= 0.0) {
                     // No demand to satisfy for this item
@@ -108,32 +514,39 @@ public class Decoder {
                     }
                     continue;
                 }
+                itemsVisited++;
 
+                double[] filledUsages = (mode == DecodeMode.FILL_MACHINES && nRecipesForItem > 1)
+                    ? fillMachines(chromosome, index, denominator, position, itemDemand, recipeUsages)
+                    : null;
                 for (int i = 0; i < nRecipesForItem; i++) {
-                    Recipe recipe = recipes.get(i);
-                    // If there's only one recipe for this item, there is no corresponding gene; assume value 1.0
-                    double geneValue = nRecipesForItem > 1 ? chromosome.get(index + i) : 1.0;
+                    int recipe = recipes[i];
+                    double recipeUsage;
+                    if (filledUsages != null) {
+                        recipeUsage = filledUsages[i];
+                    } else {
+                        // If there's only one recipe for this item, there is no corresponding gene; assume value 1.0
+                        double geneValue = nRecipesForItem > 1 ? chromosome[index + i] : 1.0;
 
-                    // proportion of the demand for this item to be fulfilled by this recipe
-                    // if the denominator is 0, distribute evenly among all recipes
-                    double proportion = (denominator == 0.0) ? 1.0 / nRecipesForItem : geneValue / denominator;
-                    double demandSatisfiedByThisRecipe = proportion * itemDemand;
+                        // proportion of the demand for this item to be fulfilled by this recipe
+                        // if the denominator is 0, distribute evenly among all recipes
+                        double proportion = (denominator == 0.0) ? 1.0 / nRecipesForItem : geneValue / denominator;
+                        double demandSatisfiedByThisRecipe = proportion * itemDemand;
 
-                    double recipeUsage = demandSatisfiedByThisRecipe / recipe.getResultingQuantityForItem(itemName);
-                    recipeUsages.put(
-                        recipe.getRecipeName(),
-                        recipeUsage + recipeUsages.getOrDefault(recipe.getRecipeName(), 0.0)
-                    );
+                        recipeUsage = demandSatisfiedByThisRecipe / outputs[i];
+                    }
+                    recipeUsages[recipe] += recipeUsage;
+                    touchedRecipes[recipe] = true;
 
                     // Update demands for inputs
-                    for (ItemUsage input : recipe.getInputs()) {
-                        String inputItemName = input.getItemName();
-                        double inputQuantity = recipeUsage * input.getQuantityPerMinute();
-                        double previousDemand = itemLiquidDemand.getOrDefault(inputItemName, 0.0);
-                        itemLiquidDemand.put(
-                            inputItemName,
-                            previousDemand + inputQuantity
-                        );
+                    int[] inputs = positionInputs[position][i];
+                    double[] quantities = positionInputQuantities[position][i];
+                    for (int k = 0; k < inputs.length; k++) {
+                        int input = inputs[k];
+                        double inputQuantity = recipeUsage * quantities[k];
+                        double previousDemand = itemLiquidDemand[input];
+                        itemLiquidDemand[input] = previousDemand + inputQuantity;
+                        touchedItems[input] = true;
                         unsatisfiedDemand += Math.max(inputQuantity - previousDemand, 0.0);
                     }
                 }
@@ -144,11 +557,122 @@ public class Decoder {
                 }
                 if (nRecipesForItem > 0) {
                     unsatisfiedDemand -= itemDemand;
-                    itemLiquidDemand.put(itemName, 0.0); // demand for this item has been satisfied
+                    itemLiquidDemand[item] = 0.0; // demand for this item has been satisfied
+                }
+            }
+        }
+
+        if (event != null) {
+            event.passes = repeat;
+            event.itemsVisited = itemsVisited;
+        }
+
+        int numberOfUsedMachines = 0;
+        for (double usage : recipeUsages) {
+            numberOfUsedMachines += Math.ceil(usage);
+        }
+        double unsatisfiedDemandSum = 0.0;
+        for (double demand : itemLiquidDemand) {
+            if (demand > 0) {
+                unsatisfiedDemandSum += demand;
+            }
+        }
+        return new DecodedSolution(this, recipeUsages, touchedRecipes, itemLiquidDemand, touchedItems,
+                numberOfUsedMachines, unsatisfiedDemandSum);
+    }
+
+    /**
+     * Splits the demand for an item among its recipes as {@link DecodeMode#FILL_MACHINES} does:
+     * in the proportions of the genes first, then, from the recipe whose last machine makes the
+     * least of the item, every last machine that is only partly loaded is closed if its load fits
+     * in the spare capacity of the other recipes that already have machines (counting the usages
+     * of earlier passes and other items).
+     *
+     * @param index first gene of the item
+     * @param position position of the item in the order
+     * @return the usage of every recipe for the demand, in the first elements of a per-thread
+     *         scratch array that the next call overwrites
+     */
+    protected double[] fillMachines(double[] chromosome, int index, double denominator, int position,
+            double itemDemand, double[] recipeUsages) {
+        int[] recipes = positionRecipes[position];
+        double[] outputs = positionOutputs[position];
+        int n = recipes.length;
+        double[] usages = fillUsages.get();
+        double[] totals = fillTotals.get();
+        boolean[] tried = fillTried.get();
+        if (usages.length < n) {
+            usages = new double[n];
+            totals = new double[n];
+            tried = new boolean[n];
+            fillUsages.set(usages);
+            fillTotals.set(totals);
+            fillTried.set(tried);
+        }
+        for (int i = 0; i < n; i++) {
+            tried[i] = false;
+            double proportion = (denominator == 0.0) ? 1.0 / n : chromosome[index + i] / denominator;
+            usages[i] = proportion * itemDemand / outputs[i];
+            totals[i] = recipeUsages[recipes[i]] + usages[i];
+        }
+
+        while (true) {
+            // the last machine can only be closed if all its load comes from this item
+            int donor = -1;
+            for (int i = 0; i < n; i++) {
+                double load = totals[i] - Math.floor(totals[i]);
+                if (!tried[i] && load > 0.0 && load <= usages[i]
+                        && (donor < 0 || load * outputs[i] < (totals[donor] - Math.floor(totals[donor])) * outputs[donor])) {
+                    donor = i;
                 }
             }
+            if (donor < 0)
+                break;
+            tried[donor] = true;
+
+            double load = totals[donor] - Math.floor(totals[donor]);
+            double moved = load * outputs[donor];
+            double spare = 0.0;
+            for (int j = 0; j < n; j++) {
+                if (j != donor && totals[j] > 0.0)
+                    spare += (Math.ceil(totals[j]) - totals[j]) * outputs[j];
+            }
+            if (spare < moved)
+                continue;
+
+            for (int j = 0; j < n && moved > 0.0; j++) {
+                if (j == donor || totals[j] <= 0.0)
+                    continue;
+                double capacity = Math.ceil(totals[j]);
+                double taken = Math.min(moved, (capacity - totals[j]) * outputs[j]);
+                // a filled machine is set exactly full, so that rounding does not open another one
+                double total = taken == moved ? Math.min(totals[j] + taken / outputs[j], capacity) : capacity;
+                usages[j] += total - totals[j];
+                totals[j] = total;
+                moved -= taken;
+            }
+            usages[donor] -= load;
+            totals[donor] = Math.floor(totals[donor]);
+            // what was moved makes the donor's remaining machines full, it takes no more load
         }
+        return usages;
+    }
 
-        return new DecodedSolution(recipeUsages, itemLiquidDemand);
+    private static long allocatedBytes() {
+        if (THREAD_MX_BEAN == null) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean;
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,65 @@
+package com.satisfactory_solver.decoder;
+
+/**
+ * The evaluation of a solution, attached to it (see {@link Solution#setEvaluation}) so that its
+ * feasibility is read from it instead of decoding the solution again.
+ *
+ * Only the cost and infeasibility are kept, not the decoding, unless asked for: every chromosome of
+ * a population carries an evaluation, and its plan is as large as the instance. The GA keeps the
+ * plan of the cheapest feasible decodings, one of which becomes the best solution, so that
+ * {@link com.satisfactory_solver.problems.Satisfactory#decode(Solution)} returns it for the final
+ * report instead of decoding it again.
+ */
+public class Evaluation {
+    protected final double cost;
+    protected final double infeasibility;
+
+    /** the decoding the evaluation comes from, null if not kept */
+    protected final DecodedSolution plan;
+
+    public Evaluation(double cost, double infeasibility) {
+        this.cost = cost;
+        this.infeasibility = infeasibility;
+        this.plan = null;
+    }
+
+    /**
+     * The evaluation of a decoding, which is not kept.
+     */
+    public Evaluation(DecodedSolution decoded) {
+        this(decoded, false);
+    }
+
+    /**
+     * The evaluation of a decoding, which is kept as the plan if {@code keepPlan}.
+     */
+    public Evaluation(DecodedSolution decoded, boolean keepPlan) {
+        this.cost = decoded.getNumberOfUsedMachines();
+        this.infeasibility = decoded.getUnsatisfiedDemandSum();
+        this.plan = keepPlan ? decoded : null;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public double getInfeasibility() {
+        return infeasibility;
+    }
+
+    /**
+     * @return the decoding the evaluation comes from, null if it was not kept
+     */
+    public DecodedSolution getPlan() {
+        return plan;
+    }
+
+    public boolean isFeasible() {
+        return infeasibility == 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "Evaluation: cost=[" + cost + "], infeasibility=[" + infeasibility + "]";
+    }
+}
@@ -0,0 +1,164 @@
+package com.satisfactory_solver.decoder;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transposition table from canonical chromosomes (see {@link Decoder#canonicalize}) to their
+ * evaluated cost and infeasibility, so duplicated and rescaled individuals are not decoded again.
+ *
+ * The table is split into stripes selected by the key hash, each an access-ordered
+ * {@link LinkedHashMap} guarded by its own lock that evicts its least recently used entry once it
+ * holds {@code maxEntries / stripes} entries. Keys are compared exactly, never by hash alone.
+ */
+public class EvaluationCache {
+    public static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * memory budget used by {@link #forChromosomeLength} to size the table
+     */
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Cost and infeasibility of an evaluated chromosome.
+     */
+    public static final class Value {
+        public final double cost;
+        public final double infeasibility;
+
+        Value(double cost, double infeasibility) {
+            this.cost = cost;
+            this.infeasibility = infeasibility;
+        }
+    }
+
+    protected static final class Key {
+        final double[] genes;
+        final int hash;
+
+        Key(double[] genes) {
+            this.genes = genes;
+            this.hash = Arrays.hashCode(genes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash && Arrays.equals(genes, other.genes);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    protected static final class Stripe extends LinkedHashMap<Key, Value> {
+        final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    protected final Stripe[] stripes;
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+
+    public EvaluationCache(int maxEntries) {
+        this(maxEntries, DEFAULT_STRIPES);
+    }
+
+    public EvaluationCache(int maxEntries, int stripes) {
+        if (maxEntries < stripes) {
+            throw new IllegalArgumentException("The cache must hold at least one entry per stripe: " + maxEntries);
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(maxEntries / stripes);
+        }
+    }
+
+    /**
+     * Sizes a table to keep its keys within {@link #DEFAULT_BUDGET_BYTES}.
+     */
+    public static EvaluationCache forChromosomeLength(int chromosomeLength) {
+        long entryBytes = 8L * chromosomeLength + 128;
+        int maxEntries = (int) Math.max(DEFAULT_STRIPES, Math.min(1 << 16, DEFAULT_BUDGET_BYTES / entryBytes));
+        return new EvaluationCache(maxEntries);
+    }
+
+    protected Stripe stripeOf(Key key) {
+        int h = key.hash ^ (key.hash >>> 16);
+        return stripes[(h & 0x7fffffff) % stripes.length];
+    }
+
+    /**
+     * @return the evaluation of the canonical chromosome, or null if it is not in the table
+     */
+    public Value get(double[] canonical) {
+        Key key = new Key(canonical);
+        Stripe stripe = stripeOf(key);
+        Value value;
+        synchronized (stripe) {
+            value = stripe.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    public void put(double[] canonical, double cost, double infeasibility) {
+        Key key = new Key(canonical);
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.put(key, new Value(cost, infeasibility));
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long lookups = h + misses.sum();
+        return lookups == 0 ? 0.0 : (double) h / lookups;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.satisfactory_solver.decoder;
+
+import com.satisfactory_solver.instance.ItemUsage;
+
+/**
+ * Repairs infeasible chromosomes from the residual demand of their decoding.
+ *
+ * An item is left with demand when more of it is consumed than is supplied (a raw material), when
+ * it can not be made (no recipe, or only recipes needing such items), or when it is demanded after
+ * the decoder went past it. The repair prices the items left with demand (a raw material by the
+ * ratio of its excess, including what its own recipes made, to its supply, an item that can not be
+ * obtained infinitely) and estimates how much of the priced items every recipe needs per unit of
+ * its output (see {@link Decoder#valueRecipes}), as {@link ConstructiveSeeder} does with machines.
+ * In every gene group whose recipes, weighted by their genes, need more than its least demanding
+ * recipes, the weight is moved to those; groups where no recipe needs a priced item keep their
+ * genes.
+ *
+ * A repair is one pass over the recipes, without decoding, so its cost is a fraction of that of a
+ * decoding.
+ */
+public class FeasibilityRepair {
+    /**
+     * penalty per unit of an item of the order left with demand, far above the excess ratios of
+     * the raw materials: a cycle is worse than an overused raw material, as making more of the
+     * item only moves its demand around the cycle
+     */
+    protected static final double LATE_DEMAND_PENALTY = 1000.0;
+
+    protected final Decoder decoder;
+
+    /**
+     * supply and obtainability of every item, indexed as in the decoder (see
+     * {@link Decoder#buildIndices}), whose arrays give the order, the recipes and their inputs
+     */
+    protected final double[] supplies;
+    protected final boolean[] obtainable;
+
+    /** liquid demand left for every item by the decoding being repaired */
+    protected final double[] residuals;
+
+    /** units of priced items needed per unit of every item, and per unit of the item of every gene */
+    protected final double[] intensities;
+    protected final double[] geneIntensities;
+
+    public FeasibilityRepair(Decoder decoder) {
+        this.decoder = decoder;
+        int nItems = decoder.itemNames.length;
+        this.supplies = new double[nItems];
+        this.obtainable = new boolean[nItems];
+        this.intensities = new double[nItems];
+        this.residuals = new double[nItems];
+        this.geneIntensities = new double[decoder.getChromosomeLength()];
+        for (ItemUsage item : decoder.getInstance().getRawMaterials()) {
+            supplies[decoder.itemIndices.get(item.getItemName())] += item.getQuantityPerMinute();
+        }
+        markObtainableItems();
+    }
+
+    /**
+     * Marks the items that are supplied, or made by a recipe whose inputs are all obtainable; only
+     * the items of the decoder's order are ever made.
+     */
+    private void markObtainableItems() {
+        for (ItemUsage item : decoder.getInstance().getRawMaterials()) {
+            obtainable[decoder.itemIndices.get(item.getItemName())] = true;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int position = 0; position < decoder.positionItems.length; position++) {
+                int item = decoder.positionItems[position];
+                if (obtainable[item])
+                    continue;
+                for (int[] inputs : decoder.positionInputs[position]) {
+                    boolean makeable = true;
+                    for (int input : inputs) {
+                        if (input != item && !obtainable[input]) {
+                            makeable = false;
+                            break;
+                        }
+                    }
+                    if (makeable) {
+                        obtainable[item] = true;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves, in place, the weight of every gene group to its recipes needing the least of the
+     * items left with demand in {@code decoded}.
+     *
+     * @param decoded the decoding of {@code genes}
+     * @return whether a gene was changed
+     */
+    public boolean repair(double[] genes, DecodedSolution decoded) {
+        computeIntensities(decoded);
+
+        boolean changed = false;
+        int[] offsets = decoder.geneGroupOffsets;
+        for (int group = 0; group + 1 < offsets.length; group++) {
+            changed |= repairGroup(genes, offsets[group], offsets[group + 1]);
+        }
+        return changed;
+    }
+
+    /**
+     * Updates {@link #intensities} and {@link #geneIntensities} for the given residual demand.
+     */
+    protected void computeIntensities(DecodedSolution decoded) {
+        for (int item = 0; item < intensities.length; item++) {
+            double residual = decoded.getItemLiquidDemand(item);
+            residuals[item] = residual;
+            if (!obtainable[item]) {
+                intensities[item] = Double.POSITIVE_INFINITY;
+            } else if (supplies[item] > 0.0) {
+                intensities[item] = residual > 0.0 ? residual / supplies[item] : 0.0;
+            } else {
+                // recipes consuming an item of the order before it is priced close a cycle, and
+                // demand for it then comes too late
+                intensities[item] = residual > 0.0 ? LATE_DEMAND_PENALTY : 0.0;
+            }
+        }
+
+        decoder.valueRecipes(0.0, (position, item, cheapestRecipe) -> {
+            double intensity = Double.POSITIVE_INFINITY;
+            if (supplies[item] > 0.0) {
+                // the decoder makes what is demanded beyond the supply with the recipes of the item
+                int[] recipes = decoder.positionRecipes[position];
+                double[] outputs = decoder.positionOutputs[position];
+                double excess = residuals[item];
+                for (int i = 0; i < recipes.length; i++) {
+                    excess += decoded.getRecipeUsage(recipes[i]) * outputs[i];
+                }
+                intensity = excess > 0.0 ? excess / supplies[item] : 0.0;
+            }
+            intensity = Math.min(intensity, cheapestRecipe);
+            if (supplies[item] == 0.0 && residuals[item] > 0.0) {
+                intensity += LATE_DEMAND_PENALTY;
+            }
+            return intensity;
+        }, intensities, geneIntensities);
+    }
+
+    /**
+     * Moves the weight of the group to its least demanding recipes if, as weighted by the genes,
+     * its recipes need more; the least demanding recipes share it evenly if they had none.
+     */
+    protected boolean repairGroup(double[] genes, int from, int to) {
+        double minimum = Double.POSITIVE_INFINITY;
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            minimum = Math.min(minimum, geneIntensities[i]);
+            sum += genes[i];
+        }
+        if (minimum == Double.POSITIVE_INFINITY)
+            return false;
+
+        // the decoder splits a group summing to zero evenly
+        double weighted = 0.0;
+        for (int i = from; i < to; i++) {
+            double weight = sum == 0.0 ? 1.0 : genes[i];
+            if (weight > 0.0)
+                weighted += weight * geneIntensities[i];
+        }
+        weighted /= sum == 0.0 ? to - from : sum;
+        if (!(weighted >= minimum) || Decoder.isTie(weighted, minimum))
+            return false;
+
+        double kept = 0.0;
+        for (int i = from; i < to; i++) {
+            if (Decoder.isTie(geneIntensities[i], minimum)) {
+                kept += genes[i];
+            } else {
+                genes[i] = 0.0;
+            }
+        }
+        if (kept == 0.0) {
+            for (int i = from; i < to; i++) {
+                if (Decoder.isTie(geneIntensities[i], minimum))
+                    genes[i] = 1.0;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.satisfactory_solver.decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.InstanceJsonReader;
+
+/**
+ * Thread-safe registry of compiled instances ({@link Instance} + {@link Decoder}), keyed by file
+ * path and content hash. Concurrent solvers on the same file share one read-only copy instead of
+ * each parsing and compiling it: the first {@link #acquire} compiles it, the others wait for and
+ * reuse that result.
+ *
+ * Entries are reference counted through {@link Lease}s. When the last lease of an entry is closed
+ * the entry is kept as idle, so that sequential runs still reuse it, and the least recently used
+ * idle entries are evicted once there are more than {@code maxIdleEntries} of them.
+ */
+public class InstanceRegistry {
+    private static final InstanceRegistry DEFAULT = new InstanceRegistry(8);
+
+    protected final int maxIdleEntries;
+    protected final Map<Key, Entry> entries = new HashMap<>();
+    protected final Set<Key> idle = new LinkedHashSet<>(); // in release order, least recent first
+
+    public InstanceRegistry(int maxIdleEntries) {
+        this.maxIdleEntries = maxIdleEntries;
+    }
+
+    public static InstanceRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the compiled instance for the given JSON (or {@code .snapshot}) file, compiling it
+     * only if no entry for the same path and content is registered. The caller must close the
+     * returned lease once it no longer uses the instance.
+     */
+    public Lease acquire(Path path) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        Key key = new Key(path.toAbsolutePath().normalize().toString(), InstanceSnapshot.hashSource(content));
+
+        Entry entry;
+        boolean mustCompile = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key);
+                entries.put(key, entry);
+                mustCompile = true;
+            }
+            entry.refCount++;
+            idle.remove(key);
+        }
+
+        if (mustCompile) {
+            try {
+                entry.decoder.complete(compile(path, content));
+            } catch (IOException | RuntimeException e) {
+                entry.decoder.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return new Lease(entry, entry.decoder.get());
+        } catch (ExecutionException e) {
+            synchronized (this) {
+                entry.refCount--;
+                entries.remove(key, entry); // failed compilations are not cached
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException("Failed to compile instance " + path, e.getCause());
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                entry.refCount--;
+            }
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for instance " + path, e);
+        }
+    }
+
+    protected Decoder compile(Path path, byte[] content) throws IOException {
+        if (path.toString().endsWith(InstanceSnapshot.FILE_EXTENSION)) {
+            return InstanceSnapshot.read(path).getDecoder();
+        }
+        Instance instance = new InstanceJsonReader().readInstance(new ByteArrayInputStream(content));
+        return new Decoder(instance);
+    }
+
+    protected synchronized void release(Entry entry) {
+        entry.refCount--;
+        if (entry.refCount > 0 || entries.get(entry.key) != entry) {
+            return;
+        }
+        idle.add(entry.key);
+        Iterator<Key> leastRecent = idle.iterator();
+        while (idle.size() > maxIdleEntries) {
+            Key evicted = leastRecent.next();
+            leastRecent.remove();
+            entries.remove(evicted);
+        }
+    }
+
+    /**
+     * @return the number of registered entries, in use or idle
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int idleSize() {
+        return idle.size();
+    }
+
+    /**
+     * A reference to a shared compiled instance. The instance and decoder must be treated as read-only.
+     */
+    public class Lease implements AutoCloseable {
+        private final Entry entry;
+        private final Decoder decoder;
+        private boolean closed = false;
+
+        private Lease(Entry entry, Decoder decoder) {
+            this.entry = entry;
+            this.decoder = decoder;
+        }
+
+        public Instance getInstance() {
+            return decoder.getInstance();
+        }
+
+        public Decoder getDecoder() {
+            return decoder;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+
+    protected static class Entry {
+        final Key key;
+        final CompletableFuture<Decoder> decoder = new CompletableFuture<>();
+        int refCount = 0;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+    }
+
+    protected static class Key {
+        final String path;
+        final byte[] contentHash;
+
+        Key(String path, byte[] contentHash) {
+            this.path = path;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Key other = (Key) obj;
+            return path.equals(other.path) && Arrays.equals(contentHash, other.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, Arrays.hashCode(contentHash));
+        }
+    }
+}
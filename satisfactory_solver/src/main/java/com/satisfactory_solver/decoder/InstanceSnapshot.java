@@ -0,0 +1,297 @@
+package com.satisfactory_solver.decoder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.InstanceJsonReader;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+/**
+ * Versioned binary snapshot of a compiled instance: the instance itself (with interned names),
+ * the reverse topological order computed by the {@link RecipeGraph} and the gene layout of the
+ * {@link Decoder}. Loading a snapshot skips the JSON parsing and the graph construction entirely.
+ *
+ * Every snapshot records the SHA-256 of the JSON file it was compiled from, so stale snapshots
+ * are detected by {@link #loadOrCompile(Path)} and recompiled.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, byte[32] sourceHash
+ * int nNames, { int length, byte[length] utf8 }
+ * int nRecipes, { int name, itemUsages inputs, itemUsages outputs }
+ * itemUsages rawMaterials, itemUsages finalProducts
+ * int nOrder, { int item }
+ * int nGenes, { int item, int recipe }
+ * where itemUsages = int n, { int item, double quantityPerMinute, byte isPrimary }
+ * </pre>
+ */
+public class InstanceSnapshot {
+    public static final int MAGIC = 0x53464953; // "SFIS"
+    public static final int VERSION = 1;
+    public static final String FILE_EXTENSION = ".snapshot";
+
+    protected final Instance instance;
+    protected final Decoder decoder;
+    protected final byte[] sourceHash;
+
+    protected InstanceSnapshot(Decoder decoder, byte[] sourceHash) {
+        this.instance = decoder.getInstance();
+        this.decoder = decoder;
+        this.sourceHash = sourceHash;
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    public Decoder getDecoder() {
+        return decoder;
+    }
+
+    public byte[] getSourceHash() {
+        return sourceHash.clone();
+    }
+
+    /**
+     * Computes the SHA-256 of a source file, which identifies the snapshots compiled from it.
+     */
+    public static byte[] hashSource(Path sourcePath) throws IOException {
+        return hashSource(Files.readAllBytes(sourcePath));
+    }
+
+    public static byte[] hashSource(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the snapshot for a JSON instance, compiling and writing it next to the JSON file
+     * ({@code <file>.snapshot}) when it is missing or was compiled from a different content.
+     */
+    public static InstanceSnapshot loadOrCompile(Path jsonPath) throws IOException {
+        byte[] hash = hashSource(jsonPath);
+        Path snapshotPath = jsonPath.resolveSibling(jsonPath.getFileName() + FILE_EXTENSION);
+        if (Files.exists(snapshotPath)) {
+            try {
+                InstanceSnapshot snapshot = read(snapshotPath);
+                if (Arrays.equals(snapshot.sourceHash, hash)) {
+                    return snapshot;
+                }
+            } catch (IllegalStateException e) {
+                // Unreadable or outdated snapshot; fall through and recompile it
+            }
+        }
+        InstanceSnapshot snapshot = compile(jsonPath, hash);
+        write(snapshot.decoder, hash, snapshotPath);
+        return snapshot;
+    }
+
+    protected static InstanceSnapshot compile(Path jsonPath, byte[] hash) throws IOException {
+        Instance instance = new InstanceJsonReader().readInstance(jsonPath);
+        return new InstanceSnapshot(new Decoder(instance), hash);
+    }
+
+    public static void write(Decoder decoder, byte[] sourceHash, Path target) throws IOException {
+        if (sourceHash.length != 32) {
+            throw new IllegalArgumentException("Source hash must be a SHA-256 digest (32 bytes)");
+        }
+        Instance instance = decoder.getInstance();
+
+        // Intern every name once; the rest of the file refers to names by index
+        Map<String, Integer> nameIndex = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Recipe recipe : instance.getRecipes()) {
+            intern(recipe.getRecipeName(), nameIndex, names);
+            recipe.getInputs().forEach(item -> intern(item.getItemName(), nameIndex, names));
+            recipe.getOutputs().forEach(item -> intern(item.getItemName(), nameIndex, names));
+        }
+        instance.getRawMaterials().forEach(item -> intern(item.getItemName(), nameIndex, names));
+        instance.getFinalProducts().forEach(item -> intern(item.getItemName(), nameIndex, names));
+
+        // Write to a temporary file first so concurrent readers never map a partially written snapshot
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(sourceHash);
+
+            out.writeInt(names.size());
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(instance.getRecipes().size());
+            for (Recipe recipe : instance.getRecipes()) {
+                out.writeInt(nameIndex.get(recipe.getRecipeName()));
+                writeItemUsages(out, recipe.getInputs(), nameIndex);
+                writeItemUsages(out, recipe.getOutputs(), nameIndex);
+            }
+            writeItemUsages(out, instance.getRawMaterials(), nameIndex);
+            writeItemUsages(out, instance.getFinalProducts(), nameIndex);
+
+            List<String> order = decoder.getReverseTopologicalOrder();
+            out.writeInt(order.size());
+            for (String item : order) {
+                out.writeInt(nameIndex.get(item));
+            }
+
+            Gene[] genes = genesByPosition(decoder.getGenePositions());
+            out.writeInt(genes.length);
+            for (Gene gene : genes) {
+                out.writeInt(nameIndex.get(gene.getItemName()));
+                out.writeInt(nameIndex.get(gene.getRecipeName()));
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static InstanceSnapshot read(Path snapshotPath) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not an instance snapshot: " + snapshotPath);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version + " in " + snapshotPath);
+            }
+            byte[] hash = new byte[32];
+            buffer.get(hash);
+
+            String[] names = new String[buffer.getInt()];
+            for (int i = 0; i < names.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int nRecipes = buffer.getInt();
+            List<Recipe> recipes = new ArrayList<>(nRecipes);
+            for (int i = 0; i < nRecipes; i++) {
+                String recipeName = names[buffer.getInt()];
+                List<ItemUsage> inputs = readItemUsages(buffer, names);
+                List<ItemUsage> outputs = readItemUsages(buffer, names);
+                recipes.add(new Recipe(recipeName, inputs, outputs));
+            }
+            List<ItemUsage> rawMaterials = readItemUsages(buffer, names);
+            List<ItemUsage> finalProducts = readItemUsages(buffer, names);
+            Instance instance = new Instance(recipes, rawMaterials, finalProducts);
+
+            int nOrder = buffer.getInt();
+            List<String> order = new ArrayList<>(nOrder);
+            for (int i = 0; i < nOrder; i++) {
+                order.add(names[buffer.getInt()]);
+            }
+            Decoder decoder = new Decoder(instance, order);
+
+            // The gene layout is recomputed by the decoder; the stored one only guards against
+            // snapshots written by a decoder that laid out genes differently
+            int nGenes = buffer.getInt();
+            Gene[] genes = genesByPosition(decoder.getGenePositions());
+            if (nGenes != genes.length) {
+                throw new IllegalStateException("Snapshot gene layout does not match the decoder: " + snapshotPath);
+            }
+            for (int i = 0; i < nGenes; i++) {
+                Gene stored = new Gene(names[buffer.getInt()], names[buffer.getInt()]);
+                if (!stored.equals(genes[i])) {
+                    throw new IllegalStateException("Snapshot gene layout does not match the decoder: " + snapshotPath);
+                }
+            }
+
+            return new InstanceSnapshot(decoder, hash);
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Truncated or corrupted snapshot: " + snapshotPath, e);
+        }
+    }
+
+    private static void intern(String name, Map<String, Integer> nameIndex, List<String> names) {
+        if (!nameIndex.containsKey(name)) {
+            nameIndex.put(name, names.size());
+            names.add(name);
+        }
+    }
+
+    private static Gene[] genesByPosition(Map<Gene, Integer> genePositions) {
+        Gene[] genes = new Gene[genePositions.size()];
+        for (Map.Entry<Gene, Integer> entry : genePositions.entrySet()) {
+            genes[entry.getValue()] = entry.getKey();
+        }
+        return genes;
+    }
+
+    private static void writeItemUsages(DataOutputStream out, List<ItemUsage> items, Map<String, Integer> nameIndex) throws IOException {
+        out.writeInt(items.size());
+        for (ItemUsage item : items) {
+            out.writeInt(nameIndex.get(item.getItemName()));
+            out.writeDouble(item.getQuantityPerMinute());
+            out.writeByte(item.isPrimary() ? 1 : 0);
+        }
+    }
+
+    private static List<ItemUsage> readItemUsages(ByteBuffer buffer, String[] names) {
+        int n = buffer.getInt();
+        List<ItemUsage> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String name = names[buffer.getInt()];
+            double quantity = buffer.getDouble();
+            boolean isPrimary = buffer.get() != 0;
+            items.add(new ItemUsage(name, quantity, isPrimary));
+        }
+        return items;
+    }
+
+    /**
+     * Compiles JSON instances into snapshots.
+     * Usage: {@code InstanceSnapshot <instance.json> [output.snapshot]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: InstanceSnapshot <instance.json> [output" + FILE_EXTENSION + "]");
+            System.exit(1);
+        }
+        Path jsonPath = Paths.get(args[0]);
+        Path target = args.length == 2 ? Paths.get(args[1]) : jsonPath.resolveSibling(jsonPath.getFileName() + FILE_EXTENSION);
+
+        long start = System.nanoTime();
+        byte[] hash = hashSource(jsonPath);
+        InstanceSnapshot snapshot = compile(jsonPath, hash);
+        write(snapshot.decoder, hash, target);
+        long compiled = System.nanoTime();
+        read(target);
+        long loaded = System.nanoTime();
+
+        System.out.println("Wrote " + target + " (" + Files.size(target) + " bytes, "
+                + snapshot.decoder.getChromosomeLength() + " genes)");
+        System.out.println("Compile from JSON: " + (compiled - start) / 1_000_000 + " ms, load from snapshot: "
+                + (loaded - compiled) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,243 @@
+package com.satisfactory_solver.decoder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+/**
+ * A set of recipes compiled once into integer adjacency arrays. Sub-instances are described by a
+ * {@link BitSet} of enabled recipes (bit i = i-th catalog recipe) plus their raw materials and
+ * final products, so switching between phases or alternate sets does not re-read nor re-compile
+ * anything: the dependency graph of the enabled recipes is traversed directly on the arrays.
+ *
+ * The item order follows the same rules as {@link RecipeGraph} (edges from inputs to primary
+ * outputs, restricted to items needed by the final products), but ties are broken differently,
+ * so gene positions may differ from a {@link Decoder} built from the equivalent JSON file.
+ */
+public class RecipeCatalog {
+    protected List<Recipe> recipes;
+    protected Map<String, Integer> recipeIndex;
+    protected List<String> items;
+    protected Map<String, Integer> itemIndex;
+
+    // Per recipe: item ids of every input and output, and of the primary outputs only
+    protected int[][] recipeInputs;
+    protected int[][] recipeOutputs;
+    protected int[][] recipePrimaryOutputs;
+
+    // Per item: recipes having it as primary output, and recipes consuming it (once per input occurrence)
+    protected int[][] primaryProducers;
+    protected int[][] consumers;
+
+    public RecipeCatalog(List<Recipe> recipes) {
+        this.recipes = new ArrayList<>(recipes);
+        this.recipeIndex = new HashMap<>();
+        this.items = new ArrayList<>();
+        this.itemIndex = new HashMap<>();
+
+        int nRecipes = this.recipes.size();
+        this.recipeInputs = new int[nRecipes][];
+        this.recipeOutputs = new int[nRecipes][];
+        this.recipePrimaryOutputs = new int[nRecipes][];
+
+        for (int r = 0; r < nRecipes; r++) {
+            Recipe recipe = this.recipes.get(r);
+            recipeIndex.putIfAbsent(recipe.getRecipeName(), r);
+            recipeInputs[r] = internAll(recipe.getInputs());
+            recipeOutputs[r] = internAll(recipe.getOutputs());
+            recipePrimaryOutputs[r] = recipe.getOutputs().stream()
+                    .filter(ItemUsage::isPrimary)
+                    .mapToInt(output -> itemIndex.get(output.getItemName()))
+                    .toArray();
+        }
+
+        this.primaryProducers = invert(recipePrimaryOutputs, items.size());
+        this.consumers = invert(recipeInputs, items.size());
+    }
+
+    /**
+     * Builds a catalog holding the union of the recipes of several instances (recipes are matched by name).
+     */
+    public static RecipeCatalog fromInstances(List<Instance> instances) {
+        Map<String, Recipe> union = new LinkedHashMap<>();
+        for (Instance instance : instances) {
+            for (Recipe recipe : instance.getRecipes()) {
+                union.putIfAbsent(recipe.getRecipeName(), recipe);
+            }
+        }
+        return new RecipeCatalog(new ArrayList<>(union.values()));
+    }
+
+    public List<Recipe> getRecipes() {
+        return recipes;
+    }
+
+    public BitSet allRecipes() {
+        BitSet mask = new BitSet(recipes.size());
+        mask.set(0, recipes.size());
+        return mask;
+    }
+
+    /**
+     * @return the mask enabling exactly the catalog recipes named in the given instance
+     * @throws IllegalArgumentException if the instance has a recipe that is not in the catalog
+     */
+    public BitSet maskOf(Instance instance) {
+        BitSet mask = new BitSet(recipes.size());
+        for (Recipe recipe : instance.getRecipes()) {
+            Integer r = recipeIndex.get(recipe.getRecipeName());
+            if (r == null) {
+                throw new IllegalArgumentException("Recipe not in catalog: " + recipe.getRecipeName());
+            }
+            mask.set(r);
+        }
+        return mask;
+    }
+
+    public BitSet maskOf(List<String> recipeNames) {
+        BitSet mask = new BitSet(recipes.size());
+        for (String name : recipeNames) {
+            Integer r = recipeIndex.get(name);
+            if (r == null) {
+                throw new IllegalArgumentException("Recipe not in catalog: " + name);
+            }
+            mask.set(r);
+        }
+        return mask;
+    }
+
+    public Instance createInstance(BitSet enabled, List<ItemUsage> rawMaterials, List<ItemUsage> finalProducts) {
+        List<Recipe> enabledRecipes = new ArrayList<>(enabled.cardinality());
+        for (int r = enabled.nextSetBit(0); r >= 0 && r < recipes.size(); r = enabled.nextSetBit(r + 1)) {
+            enabledRecipes.add(recipes.get(r));
+        }
+        return new Instance(enabledRecipes, rawMaterials, finalProducts);
+    }
+
+    /**
+     * Compiles the decoder for the sub-instance given by the mask, without building a {@link RecipeGraph}.
+     */
+    public Decoder createDecoder(BitSet enabled, List<ItemUsage> rawMaterials, List<ItemUsage> finalProducts) {
+        Instance instance = createInstance(enabled, rawMaterials, finalProducts);
+        List<String> reverseTopologicalOrder = new ArrayList<>(getTopologicalOrder(enabled, finalProducts));
+        Collections.reverse(reverseTopologicalOrder);
+        return new Decoder(instance, reverseTopologicalOrder);
+    }
+
+    /**
+     * Topological order (raw materials first) of the items needed by the final products, considering
+     * only the enabled recipes.
+     */
+    public List<String> getTopologicalOrder(BitSet enabled, List<ItemUsage> finalProducts) {
+        int nItems = items.size();
+
+        // Items are vertices only if some enabled recipe mentions them
+        boolean[] isVertex = new boolean[nItems];
+        for (int r = enabled.nextSetBit(0); r >= 0 && r < recipes.size(); r = enabled.nextSetBit(r + 1)) {
+            for (int item : recipeInputs[r]) isVertex[item] = true;
+            for (int item : recipeOutputs[r]) isVertex[item] = true;
+        }
+
+        // Reverse traversal from the targets, following the enabled producers of each item
+        boolean[] reachable = new boolean[nItems];
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (ItemUsage target : finalProducts) {
+            Integer item = itemIndex.get(target.getItemName());
+            if (item != null && isVertex[item] && !reachable[item]) {
+                reachable[item] = true;
+                stack.push(item);
+            }
+        }
+        int nReachable = stack.size();
+        int[] inDegree = new int[nItems];
+        while (!stack.isEmpty()) {
+            int item = stack.pop();
+            for (int r : primaryProducers[item]) {
+                if (!enabled.get(r)) continue;
+                for (int input : recipeInputs[r]) {
+                    inDegree[item]++;
+                    if (!reachable[input]) {
+                        reachable[input] = true;
+                        nReachable++;
+                        stack.push(input);
+                    }
+                }
+            }
+        }
+
+        // Kahn's algorithm on the reachable subgraph
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int item = 0; item < nItems; item++) {
+            if (reachable[item] && inDegree[item] == 0) {
+                ready.add(item);
+            }
+        }
+        List<String> order = new ArrayList<>(nReachable);
+        while (!ready.isEmpty()) {
+            int item = ready.poll();
+            order.add(items.get(item));
+            for (int r : consumers[item]) {
+                if (!enabled.get(r)) continue;
+                for (int output : recipePrimaryOutputs[r]) {
+                    if (reachable[output] && --inDegree[output] == 0) {
+                        ready.add(output);
+                    }
+                }
+            }
+        }
+
+        if (order.size() < nReachable) {
+            throw new IllegalStateException(
+                "There is a cycle in the recipe dependency graph. " +
+                "Either remove the recipes causing cycles, or mark their outputs as \"primary\": false so they can be ignored."
+            );
+        }
+        return order;
+    }
+
+    private int[] internAll(List<ItemUsage> itemUsages) {
+        int[] ids = new int[itemUsages.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String name = itemUsages.get(i).getItemName();
+            Integer id = itemIndex.get(name);
+            if (id == null) {
+                id = items.size();
+                itemIndex.put(name, id);
+                items.add(name);
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Turns a recipe -> items adjacency into item -> recipes, keeping repeated entries.
+     */
+    private static int[][] invert(int[][] recipeToItems, int nItems) {
+        int[] counts = new int[nItems];
+        for (int[] itemIds : recipeToItems) {
+            for (int item : itemIds) counts[item]++;
+        }
+        int[][] itemToRecipes = new int[nItems][];
+        for (int item = 0; item < nItems; item++) {
+            itemToRecipes[item] = new int[counts[item]];
+            counts[item] = 0;
+        }
+        for (int r = 0; r < recipeToItems.length; r++) {
+            for (int item : recipeToItems[r]) {
+                itemToRecipes[item][counts[item]++] = r;
+            }
+        }
+        return itemToRecipes;
+    }
+}
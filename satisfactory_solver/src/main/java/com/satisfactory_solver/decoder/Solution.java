@@ -1,11 +1,19 @@
 package com.satisfactory_solver.decoder;
 import java.util.ArrayList;
+import java.util.Collection;
 
 @SuppressWarnings("serial")
 public class Solution<E> extends ArrayList<E> {
 	
 	public Double cost = Double.POSITIVE_INFINITY;
     public Double infeasibility = Double.POSITIVE_INFINITY;
+
+    /**
+     * The evaluation the cost and infeasibility come from, null if not evaluated. It holds as long
+     * as the elements are not changed: {@link #clear}, {@link #set}, {@link #add}, {@link #addAll}
+     * and {@link #remove} drop it.
+     */
+    public Evaluation evaluation = null;
 	
 	public Solution() {
 		super();
@@ -15,6 +23,64 @@ public class Solution<E> extends ArrayList<E> {
 		super(sol);
 		cost = sol.cost;
 		infeasibility = sol.infeasibility;  
+		evaluation = sol.evaluation;
+	}
+
+	/**
+	 * Attaches the evaluation and takes the cost and infeasibility from it.
+	 */
+	public void setEvaluation(Evaluation evaluation) {
+		this.evaluation = evaluation;
+		cost = evaluation.getCost();
+		infeasibility = evaluation.getInfeasibility();
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		evaluation = null;
+	}
+
+	@Override
+	public E set(int index, E element) {
+		evaluation = null;
+		return super.set(index, element);
+	}
+
+	@Override
+	public boolean add(E element) {
+		evaluation = null;
+		return super.add(element);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		evaluation = null;
+		super.add(index, element);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> elements) {
+		evaluation = null;
+		return super.addAll(elements);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> elements) {
+		evaluation = null;
+		return super.addAll(index, elements);
+	}
+
+	@Override
+	public E remove(int index) {
+		evaluation = null;
+		return super.remove(index);
+	}
+
+	@Override
+	public boolean remove(Object element) {
+		evaluation = null;
+		return super.remove(element);
 	}
 
 	@Override
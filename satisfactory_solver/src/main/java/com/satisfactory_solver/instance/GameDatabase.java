@@ -0,0 +1,179 @@
+package com.satisfactory_solver.instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-memory catalog of the game database (data1.0.json): items, machine recipes and machines.
+ * Instances are built directly from a {@link GameDatabaseQuery}, producing the same recipes as
+ * satisfactory_instance_generator.py without writing them to JSON first.
+ */
+public class GameDatabase {
+    /**
+     * Extraction limits of the raw resources in the world, by item class name.
+     * Same values as DEFAULT_INPUTS in satisfactory_instance_generator.py.
+     */
+    public static final Map<String, Double> DEFAULT_RAW_INPUTS = rawInputs();
+
+    /**
+     * Recipes whose outputs are all marked as non primary, because they would otherwise close a
+     * cycle in the recipe graph (e.g. Limestone -> Sulfur and Sulfur -> Limestone converters).
+     */
+    protected static final Set<String> CYCLE_BREAKING_RECIPES = Set.of(
+        "Recipe_Limestone_Sulfur_C",
+        "Recipe_Quartz_Bauxite_C",
+        "Recipe_Alternate_Plastic_1_C"
+    );
+
+    /**
+     * Recipes for which every product is primary, instead of only the first one.
+     */
+    protected static final Set<String> MULTI_PRIMARY_RECIPES = Set.of(
+        "Recipe_Alternate_Quartz_Purified_C"
+    );
+
+    protected Map<String, GameItem> items;
+    protected Map<String, GameItem> itemsByName;
+    protected List<GameRecipe> recipes;
+    protected Map<String, GameMachine> machines;
+
+    public GameDatabase(Map<String, GameItem> items, List<GameRecipe> recipes, Map<String, GameMachine> machines) {
+        this.items = items;
+        this.recipes = recipes;
+        this.machines = machines;
+        this.itemsByName = new HashMap<>();
+        for (GameItem item : items.values()) {
+            itemsByName.putIfAbsent(item.getName(), item);
+        }
+    }
+
+    public Map<String, GameItem> getItems() {
+        return items;
+    }
+
+    public List<GameRecipe> getRecipes() {
+        return recipes;
+    }
+
+    public Map<String, GameMachine> getMachines() {
+        return machines;
+    }
+
+    public GameItem getItemByName(String name) {
+        return itemsByName.get(name);
+    }
+
+    public Instance createInstance(GameDatabaseQuery query) {
+        Set<String> enabledAlternates = selectAlternates(query);
+
+        List<Recipe> instanceRecipes = new ArrayList<>();
+        for (GameRecipe recipe : recipes) {
+            if (recipe.isAlternate() && !enabledAlternates.contains(recipe.getClassName())) {
+                continue;
+            }
+            instanceRecipes.add(toRecipe(recipe));
+        }
+
+        List<ItemUsage> rawMaterials = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : DEFAULT_RAW_INPUTS.entrySet()) {
+            double quantity = query.isIncludeRawInputQuantities() ? entry.getValue() : 0.0;
+            rawMaterials.add(new ItemUsage(getItem(entry.getKey()).getName(), quantity));
+        }
+
+        List<ItemUsage> finalProducts = new ArrayList<>();
+        for (ItemUsage target : query.getTargets()) {
+            GameItem item = itemsByName.get(target.getItemName());
+            if (item == null) {
+                throw new IllegalArgumentException("Unknown target item: " + target.getItemName());
+            }
+            finalProducts.add(new ItemUsage(item.getName(), target.getQuantityPerMinute()));
+        }
+
+        return new Instance(instanceRecipes, rawMaterials, finalProducts);
+    }
+
+    protected Set<String> selectAlternates(GameDatabaseQuery query) {
+        Set<String> selected = new HashSet<>();
+        if (!query.isIncludeAlternates()) {
+            return selected;
+        }
+
+        List<String> alternates = new ArrayList<>();
+        for (GameRecipe recipe : recipes) {
+            if (recipe.isAlternate()) {
+                alternates.add(recipe.getClassName());
+            }
+        }
+        if (query.getAlternateFraction() < 1.0) {
+            Collections.shuffle(alternates, new Random(query.getAlternateSeed()));
+            int kept = (int) Math.round(query.getAlternateFraction() * alternates.size());
+            alternates = alternates.subList(0, kept);
+        }
+        selected.addAll(alternates);
+        return selected;
+    }
+
+    protected Recipe toRecipe(GameRecipe recipe) {
+        List<ItemUsage> inputs = new ArrayList<>();
+        for (ItemAmount ingredient : recipe.getIngredients()) {
+            inputs.add(new ItemUsage(getItem(ingredient.getItemClassName()).getName(),
+                    recipe.toQuantityPerMinute(ingredient.getAmount())));
+        }
+        List<ItemUsage> outputs = new ArrayList<>();
+        List<ItemAmount> products = recipe.getProducts();
+        for (int i = 0; i < products.size(); i++) {
+            ItemAmount product = products.get(i);
+            outputs.add(new ItemUsage(getItem(product.getItemClassName()).getName(),
+                    recipe.toQuantityPerMinute(product.getAmount()), isPrimaryProduct(recipe, i)));
+        }
+        return new Recipe(recipe.getName(), inputs, outputs);
+    }
+
+    /**
+     * The first product of a recipe is its primary output and the remaining ones are byproducts.
+     * Unpackaging recipes and a few converters produce no primary output, so that the recipe graph
+     * stays acyclic.
+     */
+    protected boolean isPrimaryProduct(GameRecipe recipe, int productIndex) {
+        if (recipe.getClassName().startsWith("Recipe_Unpackage") || CYCLE_BREAKING_RECIPES.contains(recipe.getClassName())) {
+            return false;
+        }
+        if (MULTI_PRIMARY_RECIPES.contains(recipe.getClassName())) {
+            return true;
+        }
+        return productIndex == 0;
+    }
+
+    protected GameItem getItem(String className) {
+        GameItem item = items.get(className);
+        if (item == null) {
+            throw new IllegalStateException("Item " + className + " not found in the game database items.");
+        }
+        return item;
+    }
+
+    private static Map<String, Double> rawInputs() {
+        Map<String, Double> inputs = new LinkedHashMap<>();
+        inputs.put("Desc_OreIron_C", 92100.0);
+        inputs.put("Desc_Coal_C", 42300.0);
+        inputs.put("Desc_Sulfur_C", 10800.0);
+        inputs.put("Desc_SAM_C", 10200.0);
+        inputs.put("Desc_OreBauxite_C", 12300.0);
+        inputs.put("Desc_OreGold_C", 15000.0);
+        inputs.put("Desc_OreCopper_C", 36900.0);
+        inputs.put("Desc_RawQuartz_C", 13500.0);
+        inputs.put("Desc_Stone_C", 69900.0);
+        inputs.put("Desc_OreUranium_C", 2100.0);
+        inputs.put("Desc_LiquidOil_C", 12600.0);
+        inputs.put("Desc_Water_C", 9007199254740991.0); // Infinite water
+        inputs.put("Desc_NitrogenGas_C", 12000.0);
+        return Collections.unmodifiableMap(inputs);
+    }
+}
@@ -0,0 +1,77 @@
+package com.satisfactory_solver.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes which instance should be built from a {@link GameDatabase}: the desired outputs and
+ * which alternate recipes are enabled.
+ */
+public class GameDatabaseQuery {
+    protected List<ItemUsage> targets = new ArrayList<>();
+    protected boolean includeAlternates = true;
+    protected double alternateFraction = 1.0;
+    protected long alternateSeed = 0;
+    protected boolean includeRawInputQuantities = true;
+
+    public static GameDatabaseQuery forPhase(SpaceElevatorPhase phase) {
+        return new GameDatabaseQuery().withTargets(phase.getTargets());
+    }
+
+    /**
+     * @param targets desired outputs, by item display name (e.g. "Smart Plating")
+     */
+    public GameDatabaseQuery withTargets(List<ItemUsage> targets) {
+        this.targets = new ArrayList<>(targets);
+        return this;
+    }
+
+    public GameDatabaseQuery withAlternates(boolean includeAlternates) {
+        this.includeAlternates = includeAlternates;
+        return this;
+    }
+
+    /**
+     * Keeps only a random subset of the alternate recipes, like the *_half_alternates instances.
+     *
+     * @param fraction fraction of alternate recipes to keep, between 0 and 1
+     * @param seed seed used to pick the alternates, so the same query always gives the same instance
+     */
+    public GameDatabaseQuery withAlternateFraction(double fraction, long seed) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            throw new IllegalArgumentException("Alternate fraction must be between 0 and 1: " + fraction);
+        }
+        this.alternateFraction = fraction;
+        this.alternateSeed = seed;
+        return this;
+    }
+
+    /**
+     * Whether raw inputs are available at the world's extraction limits, or with zero quantity
+     * (mirrors the --include-all-raw-inputs flag of satisfactory_instance_generator.py).
+     */
+    public GameDatabaseQuery withRawInputQuantities(boolean includeRawInputQuantities) {
+        this.includeRawInputQuantities = includeRawInputQuantities;
+        return this;
+    }
+
+    public List<ItemUsage> getTargets() {
+        return targets;
+    }
+
+    public boolean isIncludeAlternates() {
+        return includeAlternates;
+    }
+
+    public double getAlternateFraction() {
+        return alternateFraction;
+    }
+
+    public long getAlternateSeed() {
+        return alternateSeed;
+    }
+
+    public boolean isIncludeRawInputQuantities() {
+        return includeRawInputQuantities;
+    }
+}
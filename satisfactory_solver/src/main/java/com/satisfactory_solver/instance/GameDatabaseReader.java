@@ -0,0 +1,259 @@
+package com.satisfactory_solver.instance;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stream-parses the raw game database (data1.0.json) into a {@link GameDatabase}. Only machine
+ * recipes, items and the machines they are produced in are kept; schematics, generators and the
+ * other sections are skipped without being materialized.
+ */
+public class GameDatabaseReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public GameDatabase read(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    public GameDatabase read(InputStream in) {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return read(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse the game database", e);
+        }
+    }
+
+    protected GameDatabase read(JsonParser parser) throws IOException {
+        Map<String, GameItem> items = new LinkedHashMap<>();
+        List<GameRecipe> recipes = new ArrayList<>();
+        Map<String, GameMachine> buildings = new LinkedHashMap<>();
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the root of the game database");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String section = parser.getCurrentName();
+            parser.nextToken();
+            switch (section) {
+                case "items":
+                    forEachEntry(parser, () -> {
+                        GameItem item = parseItem(parser);
+                        items.put(item.getClassName(), item);
+                    });
+                    break;
+                case "recipes":
+                    forEachEntry(parser, () -> {
+                        GameRecipe recipe = parseRecipe(parser);
+                        if (recipe != null) {
+                            recipes.add(recipe);
+                        }
+                    });
+                    break;
+                case "buildings":
+                    forEachEntry(parser, () -> {
+                        GameMachine machine = parseBuilding(parser);
+                        buildings.put(machine.getClassName(), machine);
+                    });
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        // Keep only the buildings that actually run recipes
+        Set<String> usedMachines = new HashSet<>();
+        for (GameRecipe recipe : recipes) {
+            usedMachines.addAll(recipe.getProducedIn());
+        }
+        Map<String, GameMachine> machines = new LinkedHashMap<>();
+        for (GameMachine machine : buildings.values()) {
+            if (usedMachines.contains(machine.getClassName())) {
+                machines.put(machine.getClassName(), machine);
+            }
+        }
+
+        return new GameDatabase(items, recipes, machines);
+    }
+
+    private interface EntryHandler {
+        void handle() throws IOException;
+    }
+
+    /**
+     * Calls the handler for every value of a JSON object keyed by class name, with the parser
+     * positioned at the START_OBJECT of the value.
+     */
+    private void forEachEntry(JsonParser parser, EntryHandler handler) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                handler.handle();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private GameItem parseItem(JsonParser parser) throws IOException {
+        String className = null;
+        String name = null;
+        boolean liquid = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "className":
+                    className = parser.getValueAsString();
+                    break;
+                case "name":
+                    name = parser.getValueAsString();
+                    break;
+                case "liquid":
+                    liquid = parser.getValueAsBoolean(false);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new GameItem(className, name, liquid);
+    }
+
+    /**
+     * @return the recipe, or null if it is not crafted in a machine (buildings, hand-crafting, etc.)
+     */
+    private GameRecipe parseRecipe(JsonParser parser) throws IOException {
+        String className = null;
+        String name = null;
+        boolean alternate = false;
+        boolean inMachine = false;
+        double time = 0.0;
+        List<ItemAmount> ingredients = new ArrayList<>();
+        List<ItemAmount> products = new ArrayList<>();
+        List<String> producedIn = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "className":
+                    className = parser.getValueAsString();
+                    break;
+                case "name":
+                    name = parser.getValueAsString();
+                    break;
+                case "alternate":
+                    alternate = parser.getValueAsBoolean(false);
+                    break;
+                case "inMachine":
+                    inMachine = parser.getValueAsBoolean(false);
+                    break;
+                case "time":
+                    time = parser.getValueAsDouble(0.0);
+                    break;
+                case "ingredients":
+                    ingredients = parseAmounts(parser);
+                    break;
+                case "products":
+                    products = parseAmounts(parser);
+                    break;
+                case "producedIn":
+                    if (parser.currentToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            producedIn.add(parser.getValueAsString());
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (!inMachine) {
+            return null;
+        }
+        return new GameRecipe(className, name, alternate, time, ingredients, products, producedIn);
+    }
+
+    private List<ItemAmount> parseAmounts(JsonParser parser) throws IOException {
+        List<ItemAmount> amounts = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return amounts;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String item = null;
+            double amount = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals("item")) {
+                    item = parser.getValueAsString();
+                } else if (field.equals("amount")) {
+                    amount = parser.getValueAsDouble(0.0);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (item != null) {
+                amounts.add(new ItemAmount(item, amount));
+            }
+        }
+        return amounts;
+    }
+
+    private GameMachine parseBuilding(JsonParser parser) throws IOException {
+        String className = null;
+        String name = null;
+        double powerConsumption = 0.0;
+        double manufacturingSpeed = 0.0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "className":
+                    className = parser.getValueAsString();
+                    break;
+                case "name":
+                    name = parser.getValueAsString();
+                    break;
+                case "metadata":
+                    if (parser.currentToken() != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String metadataField = parser.getCurrentName();
+                        parser.nextToken();
+                        if (metadataField.equals("powerConsumption")) {
+                            powerConsumption = parser.getValueAsDouble(0.0);
+                        } else if (metadataField.equals("manufacturingSpeed")) {
+                            manufacturingSpeed = parser.getValueAsDouble(0.0);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new GameMachine(className, name, powerConsumption, manufacturingSpeed);
+    }
+}
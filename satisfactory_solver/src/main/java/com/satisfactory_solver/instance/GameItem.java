@@ -0,0 +1,34 @@
+package com.satisfactory_solver.instance;
+
+public class GameItem {
+    protected String className;
+    protected String name;
+    protected boolean liquid;
+
+    public GameItem(String className, String name, boolean liquid) {
+        this.className = className;
+        this.name = name;
+        this.liquid = liquid;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isLiquid() {
+        return liquid;
+    }
+
+    @Override
+    public String toString() {
+        return "GameItem{" +
+                "className='" + className + '\'' +
+                ", name='" + name + '\'' +
+                ", liquid=" + liquid +
+                '}';
+    }
+}
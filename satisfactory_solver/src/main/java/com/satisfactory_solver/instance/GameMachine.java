@@ -0,0 +1,41 @@
+package com.satisfactory_solver.instance;
+
+public class GameMachine {
+    protected String className;
+    protected String name;
+    protected double powerConsumption;
+    protected double manufacturingSpeed;
+
+    public GameMachine(String className, String name, double powerConsumption, double manufacturingSpeed) {
+        this.className = className;
+        this.name = name;
+        this.powerConsumption = powerConsumption;
+        this.manufacturingSpeed = manufacturingSpeed;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPowerConsumption() {
+        return powerConsumption;
+    }
+
+    public double getManufacturingSpeed() {
+        return manufacturingSpeed;
+    }
+
+    @Override
+    public String toString() {
+        return "GameMachine{" +
+                "className='" + className + '\'' +
+                ", name='" + name + '\'' +
+                ", powerConsumption=" + powerConsumption +
+                ", manufacturingSpeed=" + manufacturingSpeed +
+                '}';
+    }
+}
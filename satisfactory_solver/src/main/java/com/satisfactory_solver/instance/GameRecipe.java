@@ -0,0 +1,75 @@
+package com.satisfactory_solver.instance;
+
+import java.util.List;
+
+/**
+ * A machine recipe from the game database, with quantities per crafting cycle.
+ */
+public class GameRecipe {
+    protected String className;
+    protected String name;
+    protected boolean alternate;
+    protected double timeInSeconds;
+    protected List<ItemAmount> ingredients;
+    protected List<ItemAmount> products;
+    protected List<String> producedIn;
+
+    public GameRecipe(String className, String name, boolean alternate, double timeInSeconds,
+                      List<ItemAmount> ingredients, List<ItemAmount> products, List<String> producedIn) {
+        this.className = className;
+        this.name = name;
+        this.alternate = alternate;
+        this.timeInSeconds = timeInSeconds;
+        this.ingredients = ingredients;
+        this.products = products;
+        this.producedIn = producedIn;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAlternate() {
+        return alternate;
+    }
+
+    public double getTimeInSeconds() {
+        return timeInSeconds;
+    }
+
+    public List<ItemAmount> getIngredients() {
+        return ingredients;
+    }
+
+    public List<ItemAmount> getProducts() {
+        return products;
+    }
+
+    public List<String> getProducedIn() {
+        return producedIn;
+    }
+
+    /**
+     * Converts an amount per crafting cycle into a quantity per minute for one machine.
+     */
+    public double toQuantityPerMinute(double amountPerCycle) {
+        return amountPerCycle * 60.0 / timeInSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecipe{" +
+                "className='" + className + '\'' +
+                ", name='" + name + '\'' +
+                ", alternate=" + alternate +
+                ", timeInSeconds=" + timeInSeconds +
+                ", ingredients=" + ingredients +
+                ", products=" + products +
+                ", producedIn=" + producedIn +
+                '}';
+    }
+}
@@ -1,60 +1,154 @@
 package com.satisfactory_solver.instance;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Reads instances token by token, building recipes as they are parsed instead of materializing
+ * the whole JSON tree first. Item names are interned per read, so every recipe mentioning an item
+ * shares the same String.
+ */
 public class InstanceJsonReader {
-    public Instance readInstanceFromJson(String json) {
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            JsonNode root = mapper.readTree(json);
-
-            List<Recipe> recipes = new ArrayList<>();
-            JsonNode recipesNode = root.path("recipes");
-            if (recipesNode.isArray()) {
-                for (JsonNode rNode : recipesNode) {
-                    String name = rNode.path("name").asText(null);
-                    List<ItemUsage> inputs = parseItemUsageList(rNode.path("inputs"));
-                    List<ItemUsage> outputs = parseItemUsageList(rNode.path("outputs"));
-                    recipes.add(new Recipe(name, inputs, outputs));
-                }
-            }
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
-            List<ItemUsage> availableInputs = parseItemUsageList(root.path("available_inputs"));
-            List<ItemUsage> desiredOutputs = parseItemUsageList(root.path("desired_outputs"));
+    public Instance readInstanceFromJson(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return readInstance(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse Instance JSON", e);
+        }
+    }
 
-            return new Instance(recipes, availableInputs, desiredOutputs);
+    public Instance readInstance(InputStream in) {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return readInstance(parser);
         } catch (IOException e) {
             throw new RuntimeException("Failed to parse Instance JSON", e);
         }
     }
 
-    private List<ItemUsage> parseItemUsageList(JsonNode node) {
+    public Instance readInstance(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return readInstance(in);
+        }
+    }
+
+    protected Instance readInstance(JsonParser parser) throws IOException {
+        Map<String, String> names = new HashMap<>();
+        List<Recipe> recipes = new ArrayList<>();
+        List<ItemUsage> availableInputs = new ArrayList<>();
+        List<ItemUsage> desiredOutputs = new ArrayList<>();
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the root of the instance");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "recipes":
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            Recipe recipe = parseRecipe(parser, names);
+                            if (recipe != null) {
+                                recipes.add(recipe);
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "available_inputs":
+                    availableInputs = parseItemUsageList(parser, names);
+                    break;
+                case "desired_outputs":
+                    desiredOutputs = parseItemUsageList(parser, names);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return new Instance(recipes, availableInputs, desiredOutputs);
+    }
+
+    private Recipe parseRecipe(JsonParser parser, Map<String, String> names) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String name = null;
+        List<ItemUsage> inputs = new ArrayList<>();
+        List<ItemUsage> outputs = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = parser.currentToken().isScalarValue() ? parser.getValueAsString(null) : null;
+                    parser.skipChildren();
+                    break;
+                case "inputs":
+                    inputs = parseItemUsageList(parser, names);
+                    break;
+                case "outputs":
+                    outputs = parseItemUsageList(parser, names);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new Recipe(name, inputs, outputs);
+    }
+
+    private List<ItemUsage> parseItemUsageList(JsonParser parser, Map<String, String> names) throws IOException {
         List<ItemUsage> list = new ArrayList<>();
-        if (node == null || node.isMissingNode()) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
             return list;
         }
 
-        if (node.isArray()) {
-            for (JsonNode iNode : node) {
-                String name = iNode.path("name").asText(null);
-                double qty = 0.0;
-                boolean isPrimary = true;
-                if (iNode.has("quantity_per_min")) {
-                    qty = iNode.path("quantity_per_min").asDouble(0.0);
-                }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
 
-                if (iNode.has("primary")) {
-                    isPrimary = iNode.path("primary").asBoolean(true);
+            String name = null;
+            double qty = 0.0;
+            boolean isPrimary = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        name = value.isScalarValue() ? parser.getValueAsString(null) : null;
+                        break;
+                    case "quantity_per_min":
+                        qty = parser.getValueAsDouble(0.0);
+                        break;
+                    case "primary":
+                        isPrimary = parser.getValueAsBoolean(true);
+                        break;
+                    default:
+                        break;
                 }
+                parser.skipChildren();
+            }
 
-                if (name != null) {
-                    list.add(new ItemUsage(name, qty, isPrimary));
-                }
+            if (name != null) {
+                list.add(new ItemUsage(names.computeIfAbsent(name, n -> n), qty, isPrimary));
             }
         }
 
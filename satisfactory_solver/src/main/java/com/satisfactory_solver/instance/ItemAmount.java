@@ -0,0 +1,31 @@
+package com.satisfactory_solver.instance;
+
+/**
+ * An item quantity as it appears in the game database: the item class name (e.g. Desc_IronIngot_C)
+ * and the amount consumed or produced per crafting cycle.
+ */
+public class ItemAmount {
+    protected String itemClassName;
+    protected double amount;
+
+    public ItemAmount(String itemClassName, double amount) {
+        this.itemClassName = itemClassName;
+        this.amount = amount;
+    }
+
+    public String getItemClassName() {
+        return itemClassName;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemAmount{" +
+                "itemClassName='" + itemClassName + '\'' +
+                ", amount=" + amount +
+                '}';
+    }
+}
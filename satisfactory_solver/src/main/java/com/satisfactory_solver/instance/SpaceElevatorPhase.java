@@ -0,0 +1,44 @@
+package com.satisfactory_solver.instance;
+
+import java.util.List;
+
+/**
+ * Space Elevator phases and the production rates targeted by the phase instances in instances/.
+ */
+public enum SpaceElevatorPhase {
+    PHASE_1(List.of(
+        new ItemUsage("Smart Plating", 0.83333333)
+    )),
+    PHASE_2(List.of(
+        new ItemUsage("Smart Plating", 16.666666),
+        new ItemUsage("Versatile Framework", 16.666666),
+        new ItemUsage("Automated Wiring", 1.6666666)
+    )),
+    PHASE_3(List.of(
+        new ItemUsage("Versatile Framework", 41.666666),
+        new ItemUsage("Modular Engine", 8.3333333),
+        new ItemUsage("Adaptive Control Unit", 1.666666)
+    )),
+    PHASE_4(List.of(
+        new ItemUsage("Assembly Director System", 8.3333333),
+        new ItemUsage("Magnetic Field Generator", 8.3333333),
+        new ItemUsage("Thermal Propulsion Rocket", 4.1666666),
+        new ItemUsage("Nuclear Pasta", 1.6666666)
+    )),
+    PHASE_5(List.of(
+        new ItemUsage("Nuclear Pasta", 16.666666),
+        new ItemUsage("Biochemical Sculptor", 16.666666),
+        new ItemUsage("AI Expansion Server", 4.2666666),
+        new ItemUsage("Ballistic Warp Drive", 3.3333333)
+    ));
+
+    private final List<ItemUsage> targets;
+
+    SpaceElevatorPhase(List<ItemUsage> targets) {
+        this.targets = targets;
+    }
+
+    public List<ItemUsage> getTargets() {
+        return targets;
+    }
+}
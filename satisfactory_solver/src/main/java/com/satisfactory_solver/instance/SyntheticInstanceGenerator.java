@@ -0,0 +1,301 @@
+package com.satisfactory_solver.instance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Generates layered, acyclic instances of arbitrary size for stress benchmarks (the Java
+ * counterpart of random_instance_generator.py, which does not scale past a few thousand recipes).
+ *
+ * Items are split into {@code depth + 1} layers: layer 0 holds the raw materials and every other
+ * item is the primary output of exactly one base recipe whose inputs come from earlier layers (at
+ * least one from the previous layer, so the dependency graph really has the requested depth).
+ * The final products are taken from the last layer. On top of the base recipes:
+ * <ul>
+ * <li>alternate recipes produce an already produced item from other inputs (a fraction
+ * {@code alternateDensity} of all recipes), which is what creates genes in the decoder;</li>
+ * <li>with probability {@code byproductProbability} a recipe also has a non-primary output taken
+ * from its own or a later layer.</li>
+ * </ul>
+ * The same parameters and seed always give the same instance. Recipes are produced one at a time,
+ * so {@link #write} streams the JSON without holding the recipes in memory.
+ */
+public class SyntheticInstanceGenerator {
+    protected int recipes = 10_000;
+    protected int depth = 10;
+    protected int rawMaterials = 20;
+    protected int finalProducts = 5;
+    protected int maxFanIn = 4;
+    protected double alternateDensity = 0.3;
+    protected double byproductProbability = 0.1;
+    protected long seed = 0;
+
+    public SyntheticInstanceGenerator withRecipes(int recipes) {
+        this.recipes = recipes;
+        return this;
+    }
+
+    /**
+     * @param depth number of item layers above the raw materials
+     */
+    public SyntheticInstanceGenerator withDepth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public SyntheticInstanceGenerator withRawMaterials(int rawMaterials) {
+        this.rawMaterials = rawMaterials;
+        return this;
+    }
+
+    public SyntheticInstanceGenerator withFinalProducts(int finalProducts) {
+        this.finalProducts = finalProducts;
+        return this;
+    }
+
+    /**
+     * @param maxFanIn maximum number of inputs of a recipe (each recipe has between 1 and maxFanIn)
+     */
+    public SyntheticInstanceGenerator withMaxFanIn(int maxFanIn) {
+        this.maxFanIn = maxFanIn;
+        return this;
+    }
+
+    /**
+     * @param alternateDensity fraction of the recipes that are alternates for an already produced item
+     */
+    public SyntheticInstanceGenerator withAlternateDensity(double alternateDensity) {
+        if (alternateDensity < 0.0 || alternateDensity >= 1.0) {
+            throw new IllegalArgumentException("Alternate density must be in [0, 1): " + alternateDensity);
+        }
+        this.alternateDensity = alternateDensity;
+        return this;
+    }
+
+    public SyntheticInstanceGenerator withByproductProbability(double byproductProbability) {
+        if (byproductProbability < 0.0 || byproductProbability > 1.0) {
+            throw new IllegalArgumentException("Byproduct probability must be between 0 and 1: " + byproductProbability);
+        }
+        this.byproductProbability = byproductProbability;
+        return this;
+    }
+
+    public SyntheticInstanceGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Builds the instance in memory, without going through JSON.
+     */
+    public Instance generate() {
+        List<Recipe> recipeList = new ArrayList<>(recipes);
+        Layout layout = generate(recipeList::add);
+        return new Instance(recipeList, layout.rawMaterials, layout.finalProducts);
+    }
+
+    /**
+     * Writes the instance as JSON, in the format read by {@link InstanceJsonReader}.
+     */
+    public void write(OutputStream out) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("recipes");
+            Layout layout;
+            try {
+                layout = generate(recipe -> {
+                    try {
+                        writeRecipe(json, recipe);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+            json.writeEndArray();
+            writeItemUsages(json, "available_inputs", layout.rawMaterials);
+            writeItemUsages(json, "desired_outputs", layout.finalProducts);
+            json.writeEndObject();
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Generates every recipe, in order, into the given consumer.
+     *
+     * @return the raw materials and final products of the instance
+     */
+    protected Layout generate(Consumer<Recipe> sink) {
+        int alternates = (int) Math.round(recipes * alternateDensity);
+        int producedItems = recipes - alternates;
+        if (depth < 1 || rawMaterials < 1 || maxFanIn < 1) {
+            throw new IllegalArgumentException("Depth, raw materials and fan-in must be at least 1");
+        }
+        if (producedItems < depth) {
+            throw new IllegalArgumentException("Not enough base recipes (" + producedItems + ") for depth " + depth);
+        }
+
+        // layerStart[l] is the id of the first item of layer l; layer 0 holds the raw materials
+        int[] layerStart = new int[depth + 2];
+        layerStart[1] = rawMaterials;
+        for (int l = 1; l <= depth; l++) {
+            int size = producedItems / depth + (l <= producedItems % depth ? 1 : 0);
+            layerStart[l + 1] = layerStart[l] + size;
+        }
+        int nItems = layerStart[depth + 1];
+        if (finalProducts < 1 || finalProducts > layerStart[depth + 1] - layerStart[depth]) {
+            throw new IllegalArgumentException("Final products must be between 1 and the size of the last layer ("
+                    + (layerStart[depth + 1] - layerStart[depth]) + "): " + finalProducts);
+        }
+
+        String[] itemNames = new String[nItems];
+        int[] itemLayer = new int[nItems];
+        for (int l = 0; l <= depth; l++) {
+            for (int item = layerStart[l]; item < layerStart[l + 1]; item++) {
+                itemNames[item] = "Item_" + item;
+                itemLayer[item] = l;
+            }
+        }
+
+        Random rng = new Random(seed);
+        int recipeIdx = 1;
+        for (int item = rawMaterials; item < nItems; item++) {
+            sink.accept(createRecipe("Recipe_" + recipeIdx++, item, itemNames, itemLayer, layerStart, rng));
+        }
+        for (int i = 0; i < alternates; i++) {
+            int item = rawMaterials + rng.nextInt(producedItems);
+            sink.accept(createRecipe("Recipe_" + recipeIdx++, item, itemNames, itemLayer, layerStart, rng));
+        }
+
+        // Same quantity ranges as random_instance_generator.py
+        List<ItemUsage> rawUsages = new ArrayList<>(rawMaterials);
+        for (int item = 0; item < rawMaterials; item++) {
+            rawUsages.add(new ItemUsage(itemNames[item], randomQuantity(rng) * 20.0 + 200.0));
+        }
+        List<ItemUsage> finalUsages = new ArrayList<>(finalProducts);
+        for (int item = nItems - finalProducts; item < nItems; item++) {
+            finalUsages.add(new ItemUsage(itemNames[item], randomQuantity(rng) * 2.0));
+        }
+        return new Layout(rawUsages, finalUsages);
+    }
+
+    protected Recipe createRecipe(String name, int output, String[] itemNames, int[] itemLayer, int[] layerStart, Random rng) {
+        int layer = itemLayer[output];
+        int nInputs = 1 + rng.nextInt(maxFanIn);
+        int[] inputs = new int[nInputs];
+        int chosen = 0;
+
+        // one input from the previous layer, the others from any earlier layer
+        inputs[chosen++] = layerStart[layer - 1] + rng.nextInt(layerStart[layer] - layerStart[layer - 1]);
+        for (int attempt = 0; chosen < nInputs && attempt < 2 * maxFanIn; attempt++) {
+            int candidate = rng.nextInt(layerStart[layer]);
+            if (!contains(inputs, chosen, candidate)) {
+                inputs[chosen++] = candidate;
+            }
+        }
+
+        List<ItemUsage> inputUsages = new ArrayList<>(chosen);
+        for (int i = 0; i < chosen; i++) {
+            inputUsages.add(new ItemUsage(itemNames[inputs[i]], randomQuantity(rng)));
+        }
+
+        List<ItemUsage> outputUsages = new ArrayList<>(2);
+        outputUsages.add(new ItemUsage(itemNames[output], randomQuantity(rng)));
+        if (rng.nextDouble() < byproductProbability) {
+            int first = layerStart[layer];
+            int byproduct = first + rng.nextInt(itemNames.length - first);
+            if (byproduct != output) {
+                outputUsages.add(new ItemUsage(itemNames[byproduct], randomQuantity(rng), false));
+            }
+        }
+        return new Recipe(name, inputUsages, outputUsages);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static double randomQuantity(Random rng) {
+        return 0.5 + rng.nextDouble() * 9.5;
+    }
+
+    private static void writeRecipe(JsonGenerator json, Recipe recipe) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", recipe.getRecipeName());
+        writeItemUsages(json, "inputs", recipe.getInputs());
+        writeItemUsages(json, "outputs", recipe.getOutputs());
+        json.writeEndObject();
+    }
+
+    private static void writeItemUsages(JsonGenerator json, String field, List<ItemUsage> itemUsages) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (ItemUsage usage : itemUsages) {
+            json.writeStartObject();
+            json.writeStringField("name", usage.getItemName());
+            json.writeNumberField("quantity_per_min", usage.getQuantityPerMinute());
+            if (!usage.isPrimary()) {
+                json.writeBooleanField("primary", false);
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    protected static class Layout {
+        final List<ItemUsage> rawMaterials;
+        final List<ItemUsage> finalProducts;
+
+        Layout(List<ItemUsage> rawMaterials, List<ItemUsage> finalProducts) {
+            this.rawMaterials = rawMaterials;
+            this.finalProducts = finalProducts;
+        }
+    }
+
+    /**
+     * Writes a generated instance to a JSON file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 9) {
+            System.err.println("Usage: SyntheticInstanceGenerator <output.json> <recipes> [depth] [raw materials] "
+                    + "[final products] [max fan-in] [alternate density] [byproduct probability] [seed]");
+            System.exit(1);
+        }
+        SyntheticInstanceGenerator generator = new SyntheticInstanceGenerator().withRecipes(Integer.parseInt(args[1]));
+        if (args.length > 2) generator.withDepth(Integer.parseInt(args[2]));
+        if (args.length > 3) generator.withRawMaterials(Integer.parseInt(args[3]));
+        if (args.length > 4) generator.withFinalProducts(Integer.parseInt(args[4]));
+        if (args.length > 5) generator.withMaxFanIn(Integer.parseInt(args[5]));
+        if (args.length > 6) generator.withAlternateDensity(Double.parseDouble(args[6]));
+        if (args.length > 7) generator.withByproductProbability(Double.parseDouble(args[7]));
+        if (args.length > 8) generator.withSeed(Long.parseLong(args[8]));
+
+        Path target = Paths.get(args[0]);
+        long start = System.nanoTime();
+        generator.write(target);
+        System.out.println("Wrote " + target + " (" + Files.size(target) + " bytes) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
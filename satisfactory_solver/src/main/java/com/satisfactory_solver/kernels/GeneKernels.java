@@ -0,0 +1,85 @@
+package com.satisfactory_solver.kernels;
+
+/**
+ * Loops over primitive gene arrays that the decoder and the diversity measures run for every
+ * chromosome, with a SIMD implementation on the incubating Vector API ({@link VectorGeneKernels})
+ * and a scalar one ({@link ScalarGeneKernels}) for when the API is not available.
+ *
+ * The vector kernels are only built by the {@code vector} Maven profile (sources in
+ * {@code src/vector/java}), so that the default build does not depend on an incubating module.
+ * The implementation is chosen once, by {@link #get}: the vector one if it was built, the
+ * {@code jdk.incubator.vector} module was added to the JVM ({@code --add-modules
+ * jdk.incubator.vector}), the platform has vectors of at least two doubles and the system property
+ * {@value #VECTOR_PROPERTY} is not {@code false}. Both implementations return the same results up to
+ * the rounding of sums computed in a different order.
+ */
+public abstract class GeneKernels {
+    public static final String VECTOR_PROPERTY = "ga.vector";
+
+    protected static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final GeneKernels INSTANCE = select();
+
+    /**
+     * @return the kernels selected at startup
+     */
+    public static GeneKernels get() {
+        return INSTANCE;
+    }
+
+    protected static GeneKernels select() {
+        GeneKernels vector = null;
+        if (Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            vector = createVectorKernels();
+        }
+        return vector != null ? vector : new ScalarGeneKernels();
+    }
+
+    /**
+     * @return new vector kernels, or null if they were not built, the incubator module was not added
+     *         or the platform has no SIMD support for doubles
+     */
+    protected static GeneKernels createVectorKernels() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            // loaded by name so that this class links without the incubator module
+            return (GeneKernels) Class.forName(GeneKernels.class.getPackageName() + ".VectorGeneKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a short name of the implementation, e.g. for logs
+     */
+    public abstract String name();
+
+    /**
+     * @return the sum of {@code values[from, to)}
+     */
+    public abstract double sum(double[] values, int from, int to);
+
+    /**
+     * Adds {@code values} to {@code sums}, element-wise.
+     */
+    public abstract void add(double[] values, double[] sums);
+
+    /**
+     * Adds {@code values} to {@code sums} and their squares to {@code squares}, element-wise.
+     */
+    public abstract void addWithSquares(double[] values, double[] sums, double[] squares);
+
+    /**
+     * @return the sum over j of (values[j] - means[j])^2
+     */
+    public abstract double squaredDeviation(double[] values, double[] means);
+
+    /**
+     * Sums the variances of n samples given their per-element sums and sums of squares, i.e. the sum
+     * over j of max(squares[j] / n - (sums[j] / n)^2, 0).
+     */
+    public abstract double varianceSum(double[] sums, double[] squares, int n);
+}
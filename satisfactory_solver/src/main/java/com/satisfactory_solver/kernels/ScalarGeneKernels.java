@@ -0,0 +1,55 @@
+package com.satisfactory_solver.kernels;
+
+/**
+ * Plain loop implementation of the {@link GeneKernels}.
+ */
+public class ScalarGeneKernels extends GeneKernels {
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void add(double[] values, double[] sums) {
+        for (int j = 0; j < values.length; j++) {
+            sums[j] += values[j];
+        }
+    }
+
+    @Override
+    public void addWithSquares(double[] values, double[] sums, double[] squares) {
+        for (int j = 0; j < values.length; j++) {
+            sums[j] += values[j];
+            squares[j] += values[j] * values[j];
+        }
+    }
+
+    @Override
+    public double squaredDeviation(double[] values, double[] means) {
+        double total = 0.0;
+        for (int j = 0; j < values.length; j++) {
+            double diff = values[j] - means[j];
+            total += diff * diff;
+        }
+        return total;
+    }
+
+    @Override
+    public double varianceSum(double[] sums, double[] squares, int n) {
+        double total = 0.0;
+        for (int j = 0; j < sums.length; j++) {
+            double mean = sums[j] / n;
+            total += Math.max(squares[j] / n - mean * mean, 0.0);
+        }
+        return total;
+    }
+}
@@ -1,9 +1,28 @@
 package com.satisfactory_solver.metaheuristics.ga;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
+import com.satisfactory_solver.metaheuristics.ga.events.ImprovementEvent;
+import com.satisfactory_solver.metaheuristics.ga.events.LoggingSubscriber;
+import com.satisfactory_solver.metaheuristics.ga.events.MutationRateChangeEvent;
+import com.satisfactory_solver.metaheuristics.ga.events.SolverEvent;
+import com.satisfactory_solver.metaheuristics.ga.events.SolverEventPublisher;
+import com.satisfactory_solver.metaheuristics.ga.events.TargetReachedEvent;
+import com.satisfactory_solver.metaheuristics.ga.events.TimeoutEvent;
+import com.satisfactory_solver.metaheuristics.ga.metrics.GenerationEvent;
+import com.satisfactory_solver.metaheuristics.ga.metrics.SolverMetrics;
+import com.satisfactory_solver.metaheuristics.ga.trace.ConvergenceTraceWriter;
+import com.satisfactory_solver.kernels.GeneKernels;
 import com.satisfactory_solver.problems.Evaluator;
 import com.satisfactory_solver.decoder.Solution;
 
@@ -23,12 +42,32 @@ public abstract class AbstractGA<G extends Number, F> {
 	public class Chromosome extends ArrayList<G> {
         protected Solution<G> cachedSolution = null;
 
+        /**
+         * loci whose value was changed by the last {@link AbstractGA#mutate} pass,
+         * allocated on the first change
+         */
+        protected BitSet changedLoci = null;
+
         public Solution<G> getCachedSolution() {
             return cachedSolution;
         }
         public void setCachedSolution(Solution<G> solution) {
             this.cachedSolution = solution;
         }
+
+        /**
+         * @return the loci whose value was changed by the last mutation pass
+         *         over this chromosome (empty if none)
+         */
+        public BitSet getChangedLoci() {
+            if (changedLoci == null)
+                changedLoci = new BitSet();
+            return changedLoci;
+        }
+
+        public boolean hasChangedLoci() {
+            return changedLoci != null && !changedLoci.isEmpty();
+        }
 	}
 
 	@SuppressWarnings("serial")
@@ -41,6 +80,19 @@ public abstract class AbstractGA<G extends Number, F> {
 	 */
 	public static boolean verbose = true;
 
+	/**
+	 * flag that indicates whether the solver metrics should be registered as a
+	 * JMX MBean while {@link #solve} runs; the population diversity is only
+	 * sampled for the metrics while they are registered
+	 */
+	public static boolean jmxEnabled = false;
+
+	/**
+	 * the population diversity reported in the metrics and in the convergence
+	 * trace is recomputed every this many generations
+	 */
+	protected static final int DIVERSITY_SAMPLE_INTERVAL = 10;
+
 	/**
 	 * a random number generator
 	 */
@@ -75,6 +127,13 @@ public abstract class AbstractGA<G extends Number, F> {
 	 */
 	protected double mutationRate;
 
+	/**
+	 * the mutation rate for which {@link #logOneMinusMutationRate} was computed
+	 */
+	private double gapMutationRate = Double.NaN;
+
+	private double logOneMinusMutationRate;
+
 	/**
 	 * the best solution cost
 	 */
@@ -96,6 +155,94 @@ public abstract class AbstractGA<G extends Number, F> {
 
     protected String logPrefix = "";
 
+    /**
+     * format of the timeout log line, given the timeout in seconds
+     */
+    protected String timeoutLogFormat = LoggingSubscriber.DEFAULT_TIMEOUT_FORMAT;
+
+    /**
+     * publisher of the progress events of the current solve, see {@link #solve}
+     */
+    protected SolverEventPublisher events;
+
+    /**
+     * subscribers added to the publisher of every solve, besides the logging one
+     */
+    protected final List<Flow.Subscriber<? super SolverEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * file the per-generation statistics are traced to, null to disable tracing
+     */
+    protected Path traceFile;
+
+    /**
+     * writer of the convergence trace of the current solve, see {@link #setTraceFile}
+     */
+    protected ConvergenceTraceWriter trace;
+
+    protected long solveStartNanos;
+
+    /**
+     * live metrics of the solver, see {@link SolverMetrics}
+     */
+    protected SolverMetrics metrics;
+
+    /**
+     * JFR event of the current generation, null when the event is disabled
+     */
+    protected GenerationEvent generationEvent;
+
+    protected long phaseStartNanos;
+
+    protected final long[] phaseNanos = new long[GenerationEvent.Phase.values().length];
+
+    /**
+     * chromosomes and solutions released by past generations, reused by
+     * {@link #obtainChromosome} and {@link #obtainSolution}
+     */
+    protected final ArrayDeque<Chromosome> chromosomePool = new ArrayDeque<>();
+
+    protected final ArrayDeque<Solution<G>> solutionPool = new ArrayDeque<>();
+
+    /**
+     * populations reused by every generation: the parents returned by
+     * {@link #selectParents}, the offsprings returned by {@link #crossover}
+     * (the list of the generation before the current one, see
+     * {@link #recyclePopulation}) and the pair of parents crossed by the
+     * steady-state variants
+     */
+    protected Population parentsBuffer = new Population();
+
+    protected Population offspringsBuffer = new Population();
+
+    protected final Population pairBuffer = new Population();
+
+    /**
+     * unboxed genes of the population whose diversity is computed
+     */
+    protected double[][] diversityGenes;
+
+    /**
+     * diversity of the population kept up to date by the variants that
+     * replace individuals one at a time (see {@link #trackDiversity}), null
+     * if the diversity is recomputed from scratch
+     */
+    protected DiversityTracker diversityTracker;
+
+    /**
+     * besides after every improvement of the best solution, the local search
+     * (see {@link #applyLocalSearch}) runs on the best chromosome every this
+     * many generations; 0 to run it on improvements only
+     */
+    protected int localSearchInterval = 0;
+
+    /**
+     * the steps of the current solve (see {@link #runGenerations(GenerationSteps)});
+     * the variants with their own generational loop keep the
+     * {@link PopulationSteps}, whose best member is {@link #bestChromosome}
+     */
+    protected GenerationSteps steps;
+
 	/**
 	 * Creates a new solution which is empty, i.e., does not contain any
 	 * candidate solution element.
@@ -166,24 +313,92 @@ public abstract class AbstractGA<G extends Number, F> {
         this.timeoutInSeconds = timeoutInSeconds;
         this.logger = Logger.getLogger(AbstractGA.class.getName());
         this.logPrefix = "";
+        this.metrics = new SolverMetrics(getClass().getSimpleName());
+        this.steps = new PopulationSteps();
+	}
+
+	/**
+	 * Runs the GA (see {@link #runGenerations}) while its {@link SolverMetrics}
+	 * are registered as a JMX MBean, if {@link #jmxEnabled}. Progress events
+	 * are published to a {@link LoggingSubscriber} and to the subscribers added
+	 * with {@link #addSubscriber}; they are all drained before returning. If a
+	 * trace file is set, the statistics of every generation are written to it.
+	 * 
+	 * @return The best feasible solution obtained throughout all iterations.
+	 */
+	public Solution<F> solve() {
+		events = new SolverEventPublisher();
+		events.subscribe(new LoggingSubscriber(logger, logPrefix, timeoutLogFormat));
+		for (Flow.Subscriber<? super SolverEvent> subscriber : subscribers)
+			events.subscribe(subscriber);
+		solveStartNanos = System.nanoTime();
+		trace = openTrace();
+		metrics.start();
+		if (jmxEnabled)
+			metrics.register();
+		try {
+			return runGenerations();
+		} finally {
+			metrics.unregister();
+			closeTrace();
+			events.close();
+		}
+	}
+
+    protected ConvergenceTraceWriter openTrace() {
+        if (traceFile == null)
+            return null;
+        try {
+            return new ConvergenceTraceWriter(traceFile, getClass().getSimpleName());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create trace file " + traceFile, e);
+        }
+    }
+
+    protected void closeTrace() {
+        if (trace == null)
+            return;
+        try {
+            trace.close();
+        } catch (IOException e) {
+            logger.warning(logPrefix + "Could not write trace file " + traceFile + ": " + e.getMessage());
+        } finally {
+            trace = null;
+        }
+    }
+
+	/**
+	 * The GA mainframe, run on a {@link Population} (see {@link PopulationSteps}).
+	 * 
+	 * @return The best feasible solution obtained throughout all iterations.
+	 */
+	protected Solution<F> runGenerations() {
+		return runGenerations(new PopulationSteps());
 	}
 
 	/**
 	 * The GA mainframe. It starts by initializing a population of chromosomes.
 	 * It then enters a generational loop, in which each generation goes the
 	 * following steps: parent selection, crossover, mutation, population update
-	 * and best solution update.
+	 * and best solution update. How each step is done on the population is left
+	 * to the given steps, so that the variants that represent their population
+	 * differently share the loop and its hooks (seeding, repair, local search,
+	 * metrics and trace).
 	 * 
+	 * @param steps
+	 *            The steps of the generation, on the population they keep.
 	 * @return The best feasible solution obtained throughout all iterations.
 	 */
-	public Solution<F> solve() {
+	protected Solution<F> runGenerations(GenerationSteps steps) {
+		this.steps = steps;
 
 		/* starts the initial population */
-		Population population = initializePopulation();
+		steps.initialize();
 
-		bestChromosome = getBestChromosome(population);
-		bestSol = decode(bestChromosome);
-		logger.info(logPrefix + "(Gen. " + 0 + ") BestSol = " + bestSol);
+		steps.findBest();
+		bestSol = new Solution<>(steps.decodeBest());
+		publishImprovement(0);
+		applyLocalSearch(true);
 
         long startTime = System.currentTimeMillis();
 
@@ -192,32 +407,38 @@ public abstract class AbstractGA<G extends Number, F> {
 		 */
 		for (currentGeneration = 1; currentGeneration <= generations; currentGeneration++) {
 
-			Population parents = selectParents(population);
-
-			Population offsprings = crossover(parents);
+			onGenerationStart();
 
-			Population mutants = mutate(offsprings);
+			steps.selection();
+			endPhase(GenerationEvent.Phase.SELECT);
 
-			Population newpopulation = selectPopulation(mutants);
+			steps.recombination();
+			endPhase(GenerationEvent.Phase.CROSSOVER);
 
-			population = newpopulation;
+			steps.mutation();
+			endPhase(GenerationEvent.Phase.MUTATE);
 
-			bestChromosome = getBestChromosome(population);
-            Solution<F> bestSolCurrentGen = decode(bestChromosome);
+			steps.replacement();
 
-			if (bestSolCurrentGen.cost < bestSol.cost && ObjFunction.isFeasible(bestSolCurrentGen)) {
-				bestSol = bestSolCurrentGen;
-				if (verbose)
-					logger.info(logPrefix + "(Gen. " + currentGeneration + ") BestSol = " + bestSol);
+			steps.findBest();
+			boolean improved = false;
+			if (steps.getBestCost() < bestSol.cost && steps.isBestFeasible()) {
+				// the decoded solution may belong to a chromosome that will be recycled
+				bestSol = new Solution<>(steps.decodeBest());
+				publishImprovement(currentGeneration);
+				improved = true;
 			}
+			applyLocalSearch(improved);
+
+            steps.endGeneration();
             
             long currentTime = System.currentTimeMillis();
             if (timeoutInSeconds != null && (currentTime - startTime) >= timeoutInSeconds * 1000) {
-                logger.warning(logPrefix + "Timeout reached after " + timeoutInSeconds + " seconds.");
+                publishTimeout();
                 break;
             }
             if (targetCostToStop != null && bestSol.cost <= targetCostToStop) {
-                logger.info(logPrefix + "Target cost to stop reached: " + bestSol.cost + " <= " + targetCostToStop);
+                publishTargetReached();
                 break;  
             }
 		}
@@ -229,6 +450,351 @@ public abstract class AbstractGA<G extends Number, F> {
 		return bestSol;
 	}
 
+	/**
+	 * The steps of {@link #runGenerations(GenerationSteps)} that depend on how
+	 * the population is represented. The steps keep the population, and the
+	 * parents and offsprings of the current generation, themselves.
+	 */
+	protected abstract class GenerationSteps {
+		/**
+		 * Creates the initial population, seeded.
+		 */
+		protected abstract void initialize();
+
+		/**
+		 * Selects the parents of the generation from the population.
+		 */
+		protected abstract void selection();
+
+		/**
+		 * Crosses the parents into offsprings.
+		 */
+		protected abstract void recombination();
+
+		/**
+		 * Mutates the offsprings, then repairs them.
+		 */
+		protected abstract void mutation();
+
+		/**
+		 * Makes the offsprings the population, keeping the best member of the
+		 * previous one (elitism).
+		 */
+		protected abstract void replacement();
+
+		/**
+		 * Finds the best member of the population according to its fitness.
+		 */
+		protected abstract void findBest();
+
+		protected abstract double getBestCost();
+
+		protected abstract boolean isBestFeasible();
+
+		/**
+		 * @return The solution of the best member, which the caller copies.
+		 */
+		protected abstract Solution<F> decodeBest();
+
+		/**
+		 * Improves the best member in place with a local search (see
+		 * {@link AbstractGA#localSearch}).
+		 * 
+		 * @return Whether the best member was changed.
+		 */
+		protected abstract boolean improveBest();
+
+		/**
+		 * Ends the generation, see {@link AbstractGA#onGenerationEnd}.
+		 */
+		protected abstract void endGeneration();
+	}
+
+	/**
+	 * The steps of the GA on a {@link Population}, with the operators of this
+	 * class; the best member is {@link #bestChromosome}.
+	 */
+	protected class PopulationSteps extends GenerationSteps {
+		protected Population population;
+		protected Population parents;
+		protected Population offsprings;
+
+		@Override
+		protected void initialize() {
+			population = initializePopulation();
+			seedPopulation(population);
+		}
+
+		@Override
+		protected void selection() {
+			parents = selectParents(population);
+		}
+
+		@Override
+		protected void recombination() {
+			offsprings = crossover(parents);
+		}
+
+		@Override
+		protected void mutation() {
+			offsprings = mutate(offsprings);
+		}
+
+		@Override
+		protected void replacement() {
+			Population next = selectPopulation(offsprings);
+			recyclePopulation(population);
+			population = next;
+		}
+
+		@Override
+		protected void findBest() {
+			bestChromosome = getBestChromosome(population);
+		}
+
+		@Override
+		protected double getBestCost() {
+			return decode(bestChromosome).cost;
+		}
+
+		@Override
+		protected boolean isBestFeasible() {
+			return ObjFunction.isFeasible(decode(bestChromosome));
+		}
+
+		@Override
+		protected Solution<F> decodeBest() {
+			return decode(bestChromosome);
+		}
+
+		@Override
+		protected boolean improveBest() {
+			return localSearch(bestChromosome);
+		}
+
+		@Override
+		protected void endGeneration() {
+			onGenerationEnd(population);
+		}
+	}
+
+    /**
+     * Improves the best chromosome in place with a local search. The base GA
+     * has none; subclasses that do should change the genes through
+     * {@link #setGene}.
+     * 
+     * @param chromosome
+     *            The chromosome to improve, a member of the population.
+     * @return Whether the chromosome was changed.
+     */
+    protected boolean localSearch(Chromosome chromosome) {
+        return false;
+    }
+
+    /**
+     * Called by every GA variant once the best solution of the generation is
+     * updated: runs the local search on the best member of the population
+     * (see {@link GenerationSteps#improveBest}) if the best solution just
+     * improved or every {@link #localSearchInterval} generations, and makes the
+     * result the best solution if it is better.
+     * 
+     * @param improved
+     *            Whether the best solution improved in this generation.
+     * @return Whether the local search improved the best solution.
+     */
+    protected boolean applyLocalSearch(boolean improved) {
+        if (!improved && (localSearchInterval <= 0 || currentGeneration % localSearchInterval != 0))
+            return false;
+        if (!steps.improveBest())
+            return false;
+        if (steps.getBestCost() < bestSol.cost && steps.isBestFeasible()) {
+            bestSol = new Solution<>(steps.decodeBest());
+            publishImprovement(currentGeneration);
+            return true;
+        }
+        return false;
+    }
+
+    public void setLocalSearchInterval(int localSearchInterval) {
+        this.localSearchInterval = localSearchInterval;
+    }
+
+    /**
+     * Called by every GA variant at the start of each generation.
+     */
+    protected void onGenerationStart() {
+        if (GenerationEvent.isTypeEnabled()) {
+            generationEvent = new GenerationEvent();
+            generationEvent.begin();
+            Arrays.fill(phaseNanos, 0L);
+            phaseStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of a phase of the current generation; a phase may be ended
+     * several times per generation (e.g. once per steady-state replacement), its
+     * durations are summed.
+     * 
+     * @param phase
+     *            The phase that just ended.
+     */
+    protected void endPhase(GenerationEvent.Phase phase) {
+        if (generationEvent != null) {
+            long now = System.nanoTime();
+            phaseNanos[phase.ordinal()] += now - phaseStartNanos;
+            phaseStartNanos = now;
+        }
+    }
+
+    /**
+     * Called by every GA variant at the end of each generation, once the best
+     * solution is updated. Whatever ran since the last {@link #endPhase} counts
+     * as evaluation.
+     * 
+     * @param population
+     *            The population of the generation that just ended.
+     */
+    protected void onGenerationEnd(Population population) {
+        commitGeneration();
+        double diversity = Double.NaN;
+        if (isDiversitySampled()) {
+            diversity = computePopulationDiversity(population);
+            metrics.recordPopulationDiversity(diversity);
+        }
+        if (trace != null)
+            recordTrace(population, diversity);
+    }
+
+    /**
+     * Commits the JFR event of the current generation and updates the
+     * metrics; the part of {@link #onGenerationEnd} that does not depend on
+     * the population representation.
+     */
+    protected void commitGeneration() {
+        if (generationEvent != null) {
+            endPhase(GenerationEvent.Phase.EVALUATE);
+            generationEvent.end();
+            generationEvent.solver = getClass().getSimpleName();
+            generationEvent.generation = currentGeneration;
+            generationEvent.selectNanos = phaseNanos[GenerationEvent.Phase.SELECT.ordinal()];
+            generationEvent.crossoverNanos = phaseNanos[GenerationEvent.Phase.CROSSOVER.ordinal()];
+            generationEvent.mutateNanos = phaseNanos[GenerationEvent.Phase.MUTATE.ordinal()];
+            generationEvent.evaluateNanos = phaseNanos[GenerationEvent.Phase.EVALUATE.ordinal()];
+            generationEvent.bestCost = bestSol.cost;
+            generationEvent.mutationRate = mutationRate;
+            generationEvent.commit();
+            generationEvent = null;
+        }
+        metrics.recordGeneration(currentGeneration, mutationRate, bestSol.cost, bestSol.infeasibility);
+    }
+
+    /**
+     * @return whether the population diversity should be computed at the
+     *         end of the current generation
+     */
+    protected boolean isDiversitySampled() {
+        return (metrics.isRegistered() || trace != null) && currentGeneration % DIVERSITY_SAMPLE_INTERVAL == 0;
+    }
+
+    /**
+     * Writes the statistics of the current generation to the convergence
+     * trace. Only the chromosomes already decoded are looked at, so tracing
+     * never triggers an evaluation; the costs are the decoded costs, without
+     * the generation dependent infeasibility penalty of the fitness.
+     */
+    protected void recordTrace(Population population, double diversity) {
+        double best = Double.POSITIVE_INFINITY;
+        double worst = Double.NEGATIVE_INFINITY;
+        double sum = 0.0;
+        int evaluated = 0;
+        int feasible = 0;
+        for (Chromosome chromosome : population) {
+            Solution<G> solution = chromosome.getCachedSolution();
+            if (solution == null)
+                continue;
+            double cost = solution.cost;
+            best = Math.min(best, cost);
+            worst = Math.max(worst, cost);
+            sum += cost;
+            evaluated++;
+            if (solution.infeasibility == 0.0)
+                feasible++;
+        }
+        if (evaluated == 0) {
+            recordTrace(population.size(), Double.NaN, Double.NaN, Double.NaN, Double.NaN, diversity);
+        } else {
+            recordTrace(population.size(), best, sum / evaluated, worst, (double) feasible / evaluated, diversity);
+        }
+    }
+
+    protected void recordTrace(int populationSize, double bestCost, double meanCost, double worstCost,
+            double feasibleFraction, double diversity) {
+        trace.record(currentGeneration, populationSize, System.nanoTime() - solveStartNanos, metrics.getEvaluations(),
+                bestCost, meanCost, worstCost, feasibleFraction, diversity, mutationRate);
+    }
+
+    /**
+     * Publishes the current best solution as an improvement found in the
+     * given generation.
+     */
+    protected void publishImprovement(int generation) {
+        if (events != null && events.hasSubscribers())
+            events.publish(new ImprovementEvent(getClass().getSimpleName(), generation, new Solution<>(bestSol)));
+    }
+
+    /**
+     * Publishes a change of the mutation rate in the current generation.
+     */
+    protected void publishMutationRateChange(double previousMutationRate, MutationRateChangeEvent.Reason reason) {
+        if (events != null && events.hasSubscribers())
+            events.publish(new MutationRateChangeEvent(getClass().getSimpleName(), currentGeneration, previousMutationRate, mutationRate, reason));
+    }
+
+    protected void publishTimeout() {
+        if (events != null && events.hasSubscribers())
+            events.publish(new TimeoutEvent(getClass().getSimpleName(), currentGeneration, timeoutInSeconds));
+    }
+
+    protected void publishTargetReached() {
+        if (events != null && events.hasSubscribers())
+            events.publish(new TargetReachedEvent(getClass().getSimpleName(), currentGeneration, bestSol.cost, targetCostToStop));
+    }
+
+    /**
+     * Adds a subscriber to the progress events of the next solves.
+     */
+    public void addSubscriber(Flow.Subscriber<? super SolverEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void removeSubscriber(Flow.Subscriber<? super SolverEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * @return the number of events dropped by the last (or current) solve
+     *         because a subscriber could not keep up
+     */
+    public long getDroppedEvents() {
+        return events == null ? 0 : events.getDroppedEvents();
+    }
+
+    /**
+     * Traces the statistics of every generation of the next solves to the
+     * given file (overwritten by each solve), see {@link ConvergenceTraceWriter}.
+     * 
+     * @param traceFile
+     *            The trace file, or null to disable tracing.
+     */
+    public void setTraceFile(Path traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
     public void setLogger(Logger logger) {
         this.logger = logger;
     }
@@ -255,6 +821,17 @@ public abstract class AbstractGA<G extends Number, F> {
 
 	}
 
+	/**
+	 * Replaces some chromosomes of the initial population, right after
+	 * {@link #initializePopulation}, e.g. with constructed solutions. The base
+	 * GA seeds none.
+	 * 
+	 * @param population
+	 *            The initial population.
+	 */
+	protected void seedPopulation(Population population) {
+	}
+
 	/**
 	 * Given a population of chromosome, takes the best chromosome according to
 	 * the fitness evaluation.
@@ -309,11 +886,13 @@ public abstract class AbstractGA<G extends Number, F> {
 	 * 
 	 * @param population
 	 *            The current population.
-	 * @return The selected parents for performing crossover.
+	 * @return The selected parents for performing crossover, in
+	 *         {@link #parentsBuffer}.
 	 */
 	protected Population selectParents(Population population) {
 
-		Population parents = new Population();
+		Population parents = parentsBuffer;
+		parents.clear();
 
 		while (parents.size() < popSize) {
 			int index1 = rng.nextInt(popSize);
@@ -346,11 +925,12 @@ public abstract class AbstractGA<G extends Number, F> {
 	 * 
 	 * @param parents
 	 *            The selected parents for crossover.
-	 * @return The resulting offsprings.
+	 * @return The resulting offsprings, in {@link #offspringsBuffer}.
 	 */
 	protected Population crossover(Population parents) {
 
-		Population offsprings = new Population();
+		Population offsprings = offspringsBuffer;
+		offsprings.clear();
 
 		for (int i = 0; i < popSize; i = i + 2) {
 
@@ -360,8 +940,8 @@ public abstract class AbstractGA<G extends Number, F> {
 			int crosspoint1 = rng.nextInt(chromosomeSize + 1);
 			int crosspoint2 = crosspoint1 + rng.nextInt((chromosomeSize + 1) - crosspoint1);
 
-			Chromosome offspring1 = new Chromosome();
-			Chromosome offspring2 = new Chromosome();
+			Chromosome offspring1 = obtainChromosome();
+			Chromosome offspring2 = obtainChromosome();
 
 			for (int j = 0; j < chromosomeSize; j++) {
 				if (j >= crosspoint1 && j < crosspoint2) {
@@ -387,6 +967,14 @@ public abstract class AbstractGA<G extends Number, F> {
 	 * and to each possible locus, perform a mutation with the expected
 	 * frequency given by {@link #mutationRate}.
 	 * 
+	 * Instead of drawing a random number per locus, the loci of the whole
+	 * population are seen as one sequence and the gaps between mutated loci
+	 * are drawn from the geometric distribution (see {@link #nextMutationGap}),
+	 * so only the loci that mutate are visited. The loci whose value actually
+	 * changed are recorded in {@link Chromosome#getChangedLoci}, and only the
+	 * chromosomes with a changed locus lose their cached solution. The
+	 * offsprings are then given to {@link #repair}.
+	 * 
 	 * @param offsprings
 	 *            The offsprings chromosomes generated by the
 	 *            {@link #crossover}.
@@ -395,27 +983,69 @@ public abstract class AbstractGA<G extends Number, F> {
 	protected Population mutate(Population offsprings) {
 
 		for (Chromosome c : offsprings) {
-            boolean mutated = false;
-			for (int locus = 0; locus < chromosomeSize; locus++) {
-				if (rng.nextDouble() < mutationRate) {
-					mutateGene(c, locus);
-					mutated = true;
-				}
+			if (c.changedLoci != null)
+				c.changedLoci.clear();
+		}
 
+		long loci = (long) offsprings.size() * chromosomeSize;
+		long index = -1;
+		while (true) {
+			long gap = nextMutationGap();
+			if (gap >= loci - index - 1)
+				break;
+			index += gap + 1;
+
+			Chromosome c = offsprings.get((int) (index / chromosomeSize));
+			int locus = (int) (index % chromosomeSize);
+			G previous = c.get(locus);
+			mutateGene(c, locus);
+			if (!previous.equals(c.get(locus))) {
+				c.getChangedLoci().set(locus);
+				discardCachedSolution(c);
 			}
-            if (mutated) {
-                c.setCachedSolution(null);
-            }
 		}
 
+		repair(offsprings);
 		return offsprings;
 	}
 
+	/**
+	 * Called at the end of {@link #mutate} to make the mutated offsprings
+	 * feasible, e.g. from the residual demand of their decoding. The base GA
+	 * repairs nothing.
+	 * 
+	 * @param offsprings
+	 *            The mutated offsprings, repaired in place.
+	 */
+	protected void repair(Population offsprings) {
+	}
+
+	/**
+	 * Draws the number of loci skipped before the next mutated one, i.e. the
+	 * number of failures before the first success of Bernoulli trials with
+	 * probability {@link #mutationRate}: floor(ln(U) / ln(1 - p)) for U
+	 * uniform in (0, 1].
+	 * 
+	 * @return The gap, {@link Long#MAX_VALUE} if nothing mutates.
+	 */
+	protected long nextMutationGap() {
+		if (mutationRate >= 1.0)
+			return 0;
+		if (mutationRate <= 0.0)
+			return Long.MAX_VALUE;
+		if (mutationRate != gapMutationRate) {
+			gapMutationRate = mutationRate;
+			logOneMinusMutationRate = Math.log1p(-mutationRate);
+		}
+		return (long) (Math.log(1.0 - rng.nextDouble()) / logOneMinusMutationRate);
+	}
+
 	/**
 	 * Updates the population that will be considered for the next GA
 	 * generation. The method used for updating the population is the elitist,
 	 * which simply takes the worse chromosome from the offsprings and replace
-	 * it with the best chromosome from the previous generation.
+	 * it with the best chromosome from the previous generation. The best
+	 * chromosome is copied, as the previous generation is recycled.
 	 * 
 	 * @param offsprings
 	 *            The offsprings generated by {@link #crossover}.
@@ -425,14 +1055,171 @@ public abstract class AbstractGA<G extends Number, F> {
 
 		Chromosome worse = getWorseChromosome(offsprings);
 		if (fitness(worse) < fitness(bestChromosome)) {
-			offsprings.remove(worse);
-			offsprings.add(bestChromosome);
+			Chromosome elite = offsprings.remove(offsprings.indexOf(worse));
+			copyChromosome(bestChromosome, elite);
+			offsprings.add(elite);
 		}
 
 		return offsprings;
 	}
 
+	/**
+	 * @return An empty chromosome, recycled if possible.
+	 */
+	protected Chromosome obtainChromosome() {
+		Chromosome chromosome = chromosomePool.poll();
+		return chromosome != null ? chromosome : new Chromosome();
+	}
+
+	/**
+	 * Gives a chromosome that is no longer referenced back to the pool, along
+	 * with its cached solution.
+	 */
+	protected void releaseChromosome(Chromosome chromosome) {
+		discardCachedSolution(chromosome);
+		if (chromosome.changedLoci != null)
+			chromosome.changedLoci.clear();
+		chromosome.clear();
+		chromosomePool.push(chromosome);
+	}
+
+	/**
+	 * @return A solution to be filled and evaluated, recycled if possible;
+	 *         its cost is stale until it is evaluated.
+	 */
+	protected Solution<G> obtainSolution() {
+		Solution<G> solution = solutionPool.poll();
+		return solution != null ? solution : new Solution<>();
+	}
+
+	protected void discardCachedSolution(Chromosome chromosome) {
+		if (chromosome.cachedSolution != null) {
+			chromosome.cachedSolution.clear();
+			solutionPool.push(chromosome.cachedSolution);
+			chromosome.cachedSolution = null;
+		}
+	}
+
+	/**
+	 * Overwrites a chromosome with the genes and cached solution of another.
+	 */
+	protected void copyChromosome(Chromosome source, Chromosome target) {
+		target.clear();
+		for (int locus = 0; locus < source.size(); locus++)
+			target.add(source.get(locus));
+		discardCachedSolution(target);
+		if (source.cachedSolution != null) {
+			Solution<G> solution = obtainSolution();
+			for (int i = 0; i < source.cachedSolution.size(); i++)
+				solution.add(source.cachedSolution.get(i));
+			solution.cost = source.cachedSolution.cost;
+			solution.infeasibility = source.cachedSolution.infeasibility;
+			solution.evaluation = source.cachedSolution.evaluation;
+			target.cachedSolution = solution;
+		}
+	}
+
+	/**
+	 * Starts tracking the diversity of the population; it must then be
+	 * modified through {@link #replaceInPopulation} only, and
+	 * {@link #computePopulationDiversity} reads the tracker.
+	 */
+	protected void trackDiversity(Population population) {
+		diversityTracker = new DiversityTracker(chromosomeSize);
+		diversityTracker.rebuild(population);
+	}
+
+	/**
+	 * Replaces a chromosome of the population with another, updating the
+	 * diversity tracker if any.
+	 * 
+	 * @return The chromosome removed from the population, i.e. the first one
+	 *         equal to {@code replaced}.
+	 */
+	protected Chromosome replaceInPopulation(Population population, Chromosome replaced, Chromosome chromosome) {
+		Chromosome removed = population.remove(population.indexOf(replaced));
+		population.add(chromosome);
+		if (diversityTracker != null) {
+			diversityTracker.replace(removed, chromosome);
+			if (diversityTracker.isStale())
+				diversityTracker.rebuild(population);
+		}
+		return removed;
+	}
+
+	/**
+	 * Changes a gene of a chromosome of the population outside of the
+	 * mutation, updating the diversity tracker if any and discarding the
+	 * cached solution.
+	 */
+	protected void setGene(Chromosome chromosome, int locus, G value) {
+		G previous = chromosome.set(locus, value);
+		if (!previous.equals(value)) {
+			if (diversityTracker != null)
+				diversityTracker.update(locus, previous.doubleValue(), value.doubleValue());
+			discardCachedSolution(chromosome);
+		}
+	}
+
+	/**
+	 * Releases the chromosomes of a population replaced by a new generation,
+	 * which must not share any of them, and keeps its list as the next
+	 * {@link #offspringsBuffer}.
+	 */
+	protected void recyclePopulation(Population population) {
+		parentsBuffer.clear();
+		for (Chromosome chromosome : population)
+			releaseChromosome(chromosome);
+		population.clear();
+		offspringsBuffer = population;
+	}
+
     public void setTargetCostToStop(Double targetCost) {
         this.targetCostToStop = targetCost;
     }
+
+    /**
+     * Compute a simple measure of population diversity:
+     * average variance across loci (genes).
+     *
+     * population: list of chromosomes (each is a list of genes)
+     * returns: avgVariance (double >= 0). Lower => more homogeneous.
+     *
+     * If the population is tracked (see {@link #trackDiversity}), the
+     * tracked diversity is returned in O(1).
+     */
+    protected double computePopulationDiversity(Population population)
+    {
+        if (population == null || population.isEmpty())
+            return 0.0;
+        if (diversityTracker != null)
+            return diversityTracker.getDiversity();
+
+        int n = population.size();
+        int m = chromosomeSize;     // number of genes per chromosome
+        GeneKernels kernels = GeneKernels.get();
+
+        // Step 0: Unbox the genes, so the steps below run on primitive arrays
+        if (diversityGenes == null || diversityGenes.length < n || diversityGenes[0].length != m)
+            diversityGenes = new double[n][m];
+        for (int i = 0; i < n; i++)
+        {
+            Chromosome chromosome = population.get(i);
+            for (int j = 0; j < m; j++) diversityGenes[i][j] = chromosome.get(j).doubleValue();
+        }
+
+        // Step 1: Calculate mean for each gene
+        double[] means = new double[m];
+        for (int i = 0; i < n; i++) kernels.add(diversityGenes[i], means);
+        for (int j = 0; j < m; j++) means[j] /= n;
+
+        // Step 2: Calculate variance for each gene, summed over all genes
+        double totalVar = 0.0;
+        for (int i = 0; i < n; i++) totalVar += kernels.squaredDeviation(diversityGenes[i], means);
+        totalVar = totalVar / n; // population variance
+
+        // Step 3: calculate average variance across all genes
+        double avgVar = totalVar / m;
+        return avgVar;
+    }
 }
@@ -0,0 +1,153 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the per-locus sums and sums of squares of the genes of a population up to date as
+ * individuals are added, removed or changed, so that the population diversity (the average
+ * variance across loci, as in {@link AbstractGA#computePopulationDiversity}) and the mean and
+ * variance of every locus are available at any time in O(1).
+ *
+ * Besides the per-locus sums, the tracker keeps the total of the sums of squares and the total of
+ * the squared sums, so changing a gene costs O(1) and replacing an individual costs O(1) per locus
+ * whose value differs. Running sums accumulate rounding errors; the owner should
+ * {@link #rebuild} the tracker from the population once {@link #isStale} (every
+ * {@link #REBUILD_INTERVAL} individual updates).
+ */
+public class DiversityTracker {
+    public static final int REBUILD_INTERVAL = 1024;
+
+    protected final int length;
+    protected final double[] sums;
+    protected final double[] squares;
+    protected int count;
+
+    /** sum over loci of {@link #squares} */
+    protected double totalSquares;
+
+    /** sum over loci of the squares of {@link #sums} */
+    protected double totalSquaredSums;
+
+    protected int updatesSinceRebuild;
+
+    /**
+     * @param length number of loci of the tracked chromosomes
+     */
+    public DiversityTracker(int length) {
+        this.length = length;
+        this.sums = new double[length];
+        this.squares = new double[length];
+    }
+
+    /**
+     * @return the number of tracked individuals
+     */
+    public int size() {
+        return count;
+    }
+
+    public void add(List<? extends Number> chromosome) {
+        for (int j = 0; j < length; j++) {
+            double value = chromosome.get(j).doubleValue();
+            addToLocus(j, value, value * value);
+        }
+        count++;
+        updatesSinceRebuild++;
+    }
+
+    public void remove(List<? extends Number> chromosome) {
+        for (int j = 0; j < length; j++) {
+            double value = chromosome.get(j).doubleValue();
+            addToLocus(j, -value, -value * value);
+        }
+        count--;
+        updatesSinceRebuild++;
+    }
+
+    /**
+     * Replaces a tracked individual with another; only the loci where they differ are updated.
+     */
+    public void replace(List<? extends Number> removed, List<? extends Number> added) {
+        for (int j = 0; j < length; j++) {
+            double previous = removed.get(j).doubleValue();
+            double value = added.get(j).doubleValue();
+            if (previous != value) {
+                update(j, previous, value);
+            }
+        }
+        updatesSinceRebuild++;
+    }
+
+    /**
+     * Records that a gene of a tracked individual changed, e.g. by an in-place mutation.
+     */
+    public void update(int locus, double previous, double value) {
+        addToLocus(locus, value - previous, value * value - previous * previous);
+    }
+
+    protected void addToLocus(int locus, double delta, double squareDelta) {
+        double sum = sums[locus];
+        double newSum = sum + delta;
+        sums[locus] = newSum;
+        totalSquaredSums += newSum * newSum - sum * sum;
+        squares[locus] += squareDelta;
+        totalSquares += squareDelta;
+    }
+
+    /**
+     * Recomputes all the sums from the given population, which becomes the tracked one.
+     */
+    public void rebuild(Collection<? extends List<? extends Number>> population) {
+        Arrays.fill(sums, 0.0);
+        Arrays.fill(squares, 0.0);
+        for (List<? extends Number> chromosome : population) {
+            for (int j = 0; j < length; j++) {
+                double value = chromosome.get(j).doubleValue();
+                sums[j] += value;
+                squares[j] += value * value;
+            }
+        }
+        count = population.size();
+        totalSquares = 0.0;
+        totalSquaredSums = 0.0;
+        for (int j = 0; j < length; j++) {
+            totalSquares += squares[j];
+            totalSquaredSums += sums[j] * sums[j];
+        }
+        updatesSinceRebuild = 0;
+    }
+
+    /**
+     * @return whether enough updates were made since the last {@link #rebuild} for the rounding
+     *         errors of the running sums to matter
+     */
+    public boolean isStale() {
+        return updatesSinceRebuild >= REBUILD_INTERVAL;
+    }
+
+    public double getMean(int locus) {
+        return count == 0 ? 0.0 : sums[locus] / count;
+    }
+
+    /**
+     * @return the population variance of the genes at the locus
+     */
+    public double getVariance(int locus) {
+        if (count == 0)
+            return 0.0;
+        double mean = sums[locus] / count;
+        return Math.max(squares[locus] / count - mean * mean, 0.0);
+    }
+
+    /**
+     * @return the average variance across loci, 0 for an empty population
+     */
+    public double getDiversity() {
+        if (count == 0 || length == 0)
+            return 0.0;
+        double totalVariance = totalSquares / count - totalSquaredSums / ((double) count * count);
+        return Math.max(totalVariance, 0.0) / length;
+    }
+}
@@ -0,0 +1,159 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Population of real-valued chromosomes stored as one row of genes per individual in off-heap
+ * (direct) memory, with the evaluation of each row (cost and infeasibility) in parallel primitive
+ * arrays. Unlike a list of boxed genes, the whole population is a handful of objects whatever its
+ * size, so populations of 10^5 to 10^6 individuals put no pressure on the garbage collector, and
+ * operators move genes with bulk copies between rows.
+ *
+ * A direct buffer holds at most 2 GiB, so the rows are split in chunks of at most
+ * {@link #MAX_CHUNK_BYTES}; a row never spans two chunks. The memory is reserved against
+ * {@code -XX:MaxDirectMemorySize} and freed when the matrix is garbage collected.
+ *
+ * Writing genes discards the evaluation of the row, copying a whole row copies its evaluation.
+ */
+public class PopulationMatrix {
+    public static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    protected final int rows;
+    protected final int columns;
+    protected final int rowsPerChunk;
+    protected final DoubleBuffer[] chunks;
+
+    protected final double[] costs;
+    protected final double[] infeasibilities;
+    protected final boolean[] evaluated;
+
+    public PopulationMatrix(int rows, int columns) {
+        this(rows, columns, MAX_CHUNK_BYTES);
+    }
+
+    /**
+     * Allocates a matrix with all genes zero and no row evaluated.
+     *
+     * @param rows number of individuals
+     * @param columns number of genes per individual
+     * @param maxChunkBytes size of the largest buffer allocated, at most {@link #MAX_CHUNK_BYTES}
+     */
+    public PopulationMatrix(int rows, int columns, int maxChunkBytes) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Negative matrix size " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowsPerChunk = Math.max(1, columns == 0 ? rows : Math.min(maxChunkBytes, MAX_CHUNK_BYTES) / Double.BYTES / columns);
+        int chunkCount = rows == 0 ? 0 : (rows - 1) / rowsPerChunk + 1;
+        this.chunks = new DoubleBuffer[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            int chunkRows = Math.min(rowsPerChunk, rows - c * rowsPerChunk);
+            chunks[c] = ByteBuffer.allocateDirect(chunkRows * columns * Double.BYTES).order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer();
+        }
+        this.costs = new double[rows];
+        this.infeasibilities = new double[rows];
+        this.evaluated = new boolean[rows];
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    protected DoubleBuffer chunk(int row) {
+        return chunks[row / rowsPerChunk];
+    }
+
+    /**
+     * @return the index of the first gene of the row in its chunk
+     */
+    protected int offset(int row) {
+        return (row % rowsPerChunk) * columns;
+    }
+
+    public double get(int row, int column) {
+        return chunk(row).get(offset(row) + column);
+    }
+
+    public void set(int row, int column, double value) {
+        chunk(row).put(offset(row) + column, value);
+        evaluated[row] = false;
+    }
+
+    /**
+     * Copies the genes of the row into {@code destination}, which must hold {@link #columns}
+     * values.
+     */
+    public void readRow(int row, double[] destination) {
+        chunk(row).get(offset(row), destination, 0, columns);
+    }
+
+    /**
+     * Replaces the genes of the row with the first {@link #columns} values of {@code source}.
+     */
+    public void writeRow(int row, double[] source) {
+        chunk(row).put(offset(row), source, 0, columns);
+        evaluated[row] = false;
+    }
+
+    /**
+     * Sets all the genes of the row to zero.
+     */
+    public void clearRow(int row) {
+        DoubleBuffer chunk = chunk(row);
+        int offset = offset(row);
+        for (int j = 0; j < columns; j++) {
+            chunk.put(offset + j, 0.0);
+        }
+        evaluated[row] = false;
+    }
+
+    /**
+     * Copies a whole row of {@code source}, evaluation included, over a row of this matrix.
+     */
+    public void copyRow(PopulationMatrix source, int sourceRow, int row) {
+        copyRange(source, sourceRow, row, 0, columns);
+        evaluated[row] = source.evaluated[sourceRow];
+        costs[row] = source.costs[sourceRow];
+        infeasibilities[row] = source.infeasibilities[sourceRow];
+    }
+
+    /**
+     * Copies the genes in columns [from, to) of a row of {@code source} to the same columns of a
+     * row of this matrix.
+     */
+    public void copyRange(PopulationMatrix source, int sourceRow, int row, int from, int to) {
+        if (source.columns != columns) {
+            throw new IllegalArgumentException("Cannot copy a row of " + source.columns + " genes into " + columns);
+        }
+        if (to > from) {
+            chunk(row).put(offset(row) + from, source.chunk(sourceRow), source.offset(sourceRow) + from, to - from);
+        }
+        evaluated[row] = false;
+    }
+
+    public boolean isEvaluated(int row) {
+        return evaluated[row];
+    }
+
+    public void setEvaluation(int row, double cost, double infeasibility) {
+        costs[row] = cost;
+        infeasibilities[row] = infeasibility;
+        evaluated[row] = true;
+    }
+
+    public double getCost(int row) {
+        return costs[row];
+    }
+
+    public double getInfeasibility(int row) {
+        return infeasibilities[row];
+    }
+}
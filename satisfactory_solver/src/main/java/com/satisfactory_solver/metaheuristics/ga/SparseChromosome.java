@@ -0,0 +1,229 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import java.util.Arrays;
+
+/**
+ * Chromosome of real-valued genes that stores only its non-zero genes, as parallel arrays of loci
+ * (sorted in increasing order) and values. Meant for populations biased towards zero genes, where
+ * it keeps both the memory and the work of the genetic operators proportional to the number of
+ * non-zero genes instead of the chromosome length.
+ *
+ * The chromosome also caches its evaluation (cost and infeasibility), which every modification
+ * discards.
+ */
+public class SparseChromosome {
+    protected final int length;
+    protected int[] loci;
+    protected double[] values;
+    protected int count;
+
+    protected boolean evaluated;
+    protected double cost;
+    protected double infeasibility;
+
+    /**
+     * Creates a chromosome of the given length with all genes zero.
+     *
+     * @param capacity expected number of non-zero genes
+     */
+    public SparseChromosome(int length, int capacity) {
+        this.length = length;
+        this.loci = new int[Math.max(capacity, 1)];
+        this.values = new double[Math.max(capacity, 1)];
+    }
+
+    public SparseChromosome(SparseChromosome other) {
+        this.length = other.length;
+        this.loci = Arrays.copyOf(other.loci, Math.max(other.count, 1));
+        this.values = Arrays.copyOf(other.values, Math.max(other.count, 1));
+        this.count = other.count;
+        this.evaluated = other.evaluated;
+        this.cost = other.cost;
+        this.infeasibility = other.infeasibility;
+    }
+
+    /**
+     * @return the number of genes, zero or not
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the number of non-zero genes
+     */
+    public int nonZeroCount() {
+        return count;
+    }
+
+    /**
+     * @return the loci of the non-zero genes, in increasing order; only the first
+     *         {@link #nonZeroCount} entries are used
+     */
+    public int[] loci() {
+        return loci;
+    }
+
+    /**
+     * @return the values of the non-zero genes, matching {@link #loci}
+     */
+    public double[] values() {
+        return values;
+    }
+
+    public double get(int locus) {
+        int i = Arrays.binarySearch(loci, 0, count, locus);
+        return i >= 0 ? values[i] : 0.0;
+    }
+
+    public void set(int locus, double value) {
+        int i = Arrays.binarySearch(loci, 0, count, locus);
+        if (i >= 0) {
+            if (value == 0.0) {
+                System.arraycopy(loci, i + 1, loci, i, count - i - 1);
+                System.arraycopy(values, i + 1, values, i, count - i - 1);
+                count--;
+            } else {
+                values[i] = value;
+            }
+        } else if (value != 0.0) {
+            int insertion = -i - 1;
+            ensureCapacity(count + 1);
+            System.arraycopy(loci, insertion, loci, insertion + 1, count - insertion);
+            System.arraycopy(values, insertion, values, insertion + 1, count - insertion);
+            loci[insertion] = locus;
+            values[insertion] = value;
+            count++;
+        }
+        evaluated = false;
+    }
+
+    /**
+     * Appends a gene after all the current non-zero genes; zero values are skipped.
+     *
+     * @throws IllegalArgumentException if the locus is not after the last non-zero gene
+     */
+    public void append(int locus, double value) {
+        if (count > 0 && locus <= loci[count - 1]) {
+            throw new IllegalArgumentException("Locus " + locus + " is not after " + loci[count - 1]);
+        }
+        if (value == 0.0) {
+            return;
+        }
+        ensureCapacity(count + 1);
+        loci[count] = locus;
+        values[count] = value;
+        count++;
+        evaluated = false;
+    }
+
+    protected void ensureCapacity(int capacity) {
+        if (capacity > loci.length) {
+            int newCapacity = Math.max(capacity, loci.length * 2);
+            loci = Arrays.copyOf(loci, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    /**
+     * @return the index of the first non-zero gene whose locus is at least {@code locus}
+     */
+    protected int lowerBound(int locus) {
+        int i = Arrays.binarySearch(loci, 0, count, locus);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Appends the non-zero genes of {@code source} with loci in [from, to).
+     */
+    protected void appendRange(SparseChromosome source, int from, int to) {
+        int start = source.lowerBound(from);
+        int end = source.lowerBound(to);
+        int n = end - start;
+        if (n > 0) {
+            ensureCapacity(count + n);
+            System.arraycopy(source.loci, start, loci, count, n);
+            System.arraycopy(source.values, start, values, count, n);
+            count += n;
+            evaluated = false;
+        }
+    }
+
+    /**
+     * 2-point crossover: the offsprings take the genes of their own parent outside [crosspoint1,
+     * crosspoint2) and the genes of the other parent inside it, as in
+     * {@link AbstractGA#crossover}.
+     *
+     * @return the two offsprings
+     */
+    public static SparseChromosome[] crossover(SparseChromosome parent1, SparseChromosome parent2, int crosspoint1,
+            int crosspoint2) {
+        int capacity = Math.max(parent1.count, parent2.count);
+        SparseChromosome offspring1 = new SparseChromosome(parent1.length, capacity);
+        SparseChromosome offspring2 = new SparseChromosome(parent1.length, capacity);
+
+        offspring1.appendRange(parent1, 0, crosspoint1);
+        offspring1.appendRange(parent2, crosspoint1, crosspoint2);
+        offspring1.appendRange(parent1, crosspoint2, parent1.length);
+
+        offspring2.appendRange(parent2, 0, crosspoint1);
+        offspring2.appendRange(parent1, crosspoint1, crosspoint2);
+        offspring2.appendRange(parent2, crosspoint2, parent2.length);
+
+        return new SparseChromosome[] { offspring1, offspring2 };
+    }
+
+    /**
+     * @return all the genes, zeros included
+     */
+    public double[] toDense() {
+        double[] dense = new double[length];
+        copyTo(dense);
+        return dense;
+    }
+
+    /**
+     * Copies all the genes, zeros included, into {@code dense}, which must hold {@link #length}
+     * values.
+     */
+    public void copyTo(double[] dense) {
+        Arrays.fill(dense, 0, length, 0.0);
+        for (int i = 0; i < count; i++) {
+            dense[loci[i]] = values[i];
+        }
+    }
+
+    /**
+     * Replaces the genes with the first {@link #length} values of {@code dense}.
+     */
+    public void assign(double[] dense) {
+        count = 0;
+        for (int locus = 0; locus < length; locus++) {
+            if (dense[locus] != 0.0) {
+                ensureCapacity(count + 1);
+                loci[count] = locus;
+                values[count] = dense[locus];
+                count++;
+            }
+        }
+        evaluated = false;
+    }
+
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluation(double cost, double infeasibility) {
+        this.cost = cost;
+        this.infeasibility = infeasibility;
+        this.evaluated = true;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public double getInfeasibility() {
+        return infeasibility;
+    }
+}
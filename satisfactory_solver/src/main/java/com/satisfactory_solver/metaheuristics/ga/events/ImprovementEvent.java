@@ -0,0 +1,30 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+import com.satisfactory_solver.decoder.Solution;
+
+/**
+ * A new best solution was found (generation 0 is the best solution of the initial population).
+ */
+public class ImprovementEvent extends SolverEvent {
+    protected final Solution<?> solution;
+
+    /**
+     * @param solution a copy of the new best solution, not shared with the solver
+     */
+    public ImprovementEvent(String solver, int generation, Solution<?> solution) {
+        super(solver, generation);
+        this.solution = solution;
+    }
+
+    public Solution<?> getSolution() {
+        return solution;
+    }
+
+    public double getCost() {
+        return solution.cost;
+    }
+
+    public double getInfeasibility() {
+        return solution.infeasibility;
+    }
+}
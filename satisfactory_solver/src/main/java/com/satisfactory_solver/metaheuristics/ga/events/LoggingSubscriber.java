@@ -0,0 +1,86 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+import java.util.Locale;
+import java.util.concurrent.Flow;
+import java.util.logging.Logger;
+
+import com.satisfactory_solver.metaheuristics.ga.AbstractGA;
+
+/**
+ * Writes the solver events as the log lines the solvers have always printed, e.g.
+ * {@code <prefix>(Gen. 12) BestSol = Solution: cost=[...], ...}. Improvements after the initial
+ * population and mutation rate changes are only logged when {@link AbstractGA#verbose} is set.
+ */
+public class LoggingSubscriber implements Flow.Subscriber<SolverEvent> {
+    public static final String DEFAULT_TIMEOUT_FORMAT = "Timeout reached after %d seconds.";
+
+    protected final Logger logger;
+    protected final String logPrefix;
+    protected final String timeoutFormat;
+    protected Flow.Subscription subscription;
+
+    /**
+     * @param timeoutFormat format of the timeout message, given the timeout in seconds
+     */
+    public LoggingSubscriber(Logger logger, String logPrefix, String timeoutFormat) {
+        this.logger = logger;
+        this.logPrefix = logPrefix;
+        this.timeoutFormat = timeoutFormat;
+    }
+
+    public LoggingSubscriber(Logger logger, String logPrefix) {
+        this(logger, logPrefix, DEFAULT_TIMEOUT_FORMAT);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(SolverEvent event) {
+        if (event instanceof ImprovementEvent) {
+            ImprovementEvent improvement = (ImprovementEvent) event;
+            if (improvement.getGeneration() == 0 || AbstractGA.verbose)
+                logger.info(logPrefix + "(Gen. " + improvement.getGeneration() + ") BestSol = " + improvement.getSolution());
+        } else if (event instanceof MutationRateChangeEvent) {
+            MutationRateChangeEvent change = (MutationRateChangeEvent) event;
+            if (AbstractGA.verbose)
+                logger.info(logPrefix + mutationRateMessage(change));
+        } else if (event instanceof TimeoutEvent) {
+            logger.warning(logPrefix + String.format(Locale.ROOT, timeoutFormat, ((TimeoutEvent) event).getTimeoutInSeconds()));
+        } else if (event instanceof TargetReachedEvent) {
+            TargetReachedEvent target = (TargetReachedEvent) event;
+            logger.info(logPrefix + "Target cost to stop reached: " + target.getCost() + " <= " + target.getTargetCost());
+        }
+    }
+
+    protected static String mutationRateMessage(MutationRateChangeEvent change) {
+        String direction = change.isIncrease() ? "[INC_MR] Mutation rate increased to " : "[DEC_MR] Mutation rate decreased to ";
+        String cause;
+        switch (change.getReason()) {
+            case IMPROVEMENT:
+                cause = "improvements";
+                break;
+            case STAGNATION:
+                cause = "stagnation";
+                break;
+            case LOW_DIVERSITY:
+                cause = "low diversity";
+                break;
+            default:
+                cause = "high diversity";
+                break;
+        }
+        return direction + change.getNewRate() + " due to " + cause + " in generation " + change.getGeneration();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+}
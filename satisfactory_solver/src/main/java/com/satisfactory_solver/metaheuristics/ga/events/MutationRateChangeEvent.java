@@ -0,0 +1,37 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+/**
+ * An adaptive solver changed its mutation rate.
+ */
+public class MutationRateChangeEvent extends SolverEvent {
+    public enum Reason {
+        IMPROVEMENT, STAGNATION, LOW_DIVERSITY, HIGH_DIVERSITY
+    }
+
+    protected final double previousRate;
+    protected final double newRate;
+    protected final Reason reason;
+
+    public MutationRateChangeEvent(String solver, int generation, double previousRate, double newRate, Reason reason) {
+        super(solver, generation);
+        this.previousRate = previousRate;
+        this.newRate = newRate;
+        this.reason = reason;
+    }
+
+    public double getPreviousRate() {
+        return previousRate;
+    }
+
+    public double getNewRate() {
+        return newRate;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public boolean isIncrease() {
+        return newRate > previousRate;
+    }
+}
@@ -0,0 +1,31 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+/**
+ * Base class of the progress events published by a GA solver (see {@link SolverEventPublisher}).
+ */
+public abstract class SolverEvent {
+    protected final String solver;
+    protected final int generation;
+    protected final long timestampMillis;
+
+    protected SolverEvent(String solver, int generation) {
+        this.solver = solver;
+        this.generation = generation;
+        this.timestampMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the simple class name of the solver that published the event
+     */
+    public String getSolver() {
+        return solver;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
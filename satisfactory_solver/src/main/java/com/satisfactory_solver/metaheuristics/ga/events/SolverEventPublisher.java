@@ -0,0 +1,125 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers the {@link SolverEvent}s of one solve to its subscribers asynchronously. Each subscriber
+ * has a bounded buffer; when it is full the event is dropped for that subscriber (and counted) so a
+ * slow subscriber never stalls the solver. {@link #close} completes the stream and waits until
+ * every subscriber has processed its buffered events.
+ */
+public class SolverEventPublisher implements Flow.Publisher<SolverEvent>, AutoCloseable {
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+    public static final long DRAIN_TIMEOUT_SECONDS = 10;
+
+    protected final SubmissionPublisher<SolverEvent> publisher;
+    protected final List<CompletableFuture<Void>> completions = new ArrayList<>();
+    protected final LongAdder dropped = new LongAdder();
+
+    public SolverEventPublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_CAPACITY);
+    }
+
+    public SolverEventPublisher(Executor executor, int bufferCapacity) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    @Override
+    public synchronized void subscribe(Flow.Subscriber<? super SolverEvent> subscriber) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        completions.add(completion);
+        publisher.subscribe(new TrackedSubscriber(subscriber, completion));
+    }
+
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * Offers the event to every subscriber without blocking.
+     */
+    public void publish(SolverEvent event) {
+        publisher.offer(event, (subscriber, item) -> {
+            dropped.increment();
+            return false;
+        });
+    }
+
+    /**
+     * @return the number of (event, subscriber) deliveries dropped because a buffer was full
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Completes the stream and waits (up to {@link #DRAIN_TIMEOUT_SECONDS}) for every subscriber to
+     * process the events already published.
+     */
+    @Override
+    public void close() {
+        publisher.close();
+        CompletableFuture<Void> all;
+        synchronized (this) {
+            all = CompletableFuture.allOf(completions.toArray(new CompletableFuture<?>[0]));
+        }
+        try {
+            all.get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // a failing or stuck subscriber must not fail the solve
+        }
+    }
+
+    /**
+     * Forwards everything to the subscriber and completes a future once it is done.
+     */
+    protected static class TrackedSubscriber implements Flow.Subscriber<SolverEvent> {
+        protected final Flow.Subscriber<? super SolverEvent> delegate;
+        protected final CompletableFuture<Void> completion;
+
+        TrackedSubscriber(Flow.Subscriber<? super SolverEvent> delegate, CompletableFuture<Void> completion) {
+            this.delegate = delegate;
+            this.completion = completion;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(SolverEvent item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            try {
+                delegate.onError(throwable);
+            } finally {
+                completion.complete(null);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                delegate.onComplete();
+            } finally {
+                completion.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+/**
+ * The solver stopped because the best cost reached the target cost.
+ */
+public class TargetReachedEvent extends SolverEvent {
+    protected final double cost;
+    protected final double targetCost;
+
+    public TargetReachedEvent(String solver, int generation, double cost, double targetCost) {
+        super(solver, generation);
+        this.cost = cost;
+        this.targetCost = targetCost;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public double getTargetCost() {
+        return targetCost;
+    }
+}
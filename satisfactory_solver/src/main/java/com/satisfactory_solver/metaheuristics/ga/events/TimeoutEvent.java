@@ -0,0 +1,17 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+/**
+ * The solver stopped because its time limit was reached.
+ */
+public class TimeoutEvent extends SolverEvent {
+    protected final long timeoutInSeconds;
+
+    public TimeoutEvent(String solver, int generation, long timeoutInSeconds) {
+        super(solver, generation);
+        this.timeoutInSeconds = timeoutInSeconds;
+    }
+
+    public long getTimeoutInSeconds() {
+        return timeoutInSeconds;
+    }
+}
@@ -0,0 +1,67 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed at the end of every GA generation, with the time spent in each phase.
+ * Enable it with e.g. {@code jcmd <pid> JFR.start settings=profile} or a custom .jfc enabling
+ * {@code com.satisfactory_solver.Generation}.
+ */
+@Name("com.satisfactory_solver.Generation")
+@Label("GA Generation")
+@Category({ "Satisfactory Solver", "GA" })
+@Description("One generation of a GA solver, split by phase")
+@StackTrace(false)
+public class GenerationEvent extends Event {
+    /**
+     * Phases of a generation. The evaluate phase covers the population update and best solution
+     * selection, where the new chromosomes get decoded.
+     */
+    public enum Phase {
+        SELECT, CROSSOVER, MUTATE, EVALUATE
+    }
+
+    private static final EventType TYPE = EventType.getEventType(GenerationEvent.class);
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Select")
+    @Timespan(Timespan.NANOSECONDS)
+    public long selectNanos;
+
+    @Label("Crossover")
+    @Timespan(Timespan.NANOSECONDS)
+    public long crossoverNanos;
+
+    @Label("Mutate")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mutateNanos;
+
+    @Label("Evaluate")
+    @Timespan(Timespan.NANOSECONDS)
+    public long evaluateNanos;
+
+    @Label("Best Cost")
+    public double bestCost;
+
+    @Label("Mutation Rate")
+    public double mutationRate;
+
+    /**
+     * @return whether the event is enabled in some running recording, without allocating an event
+     */
+    public static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+}
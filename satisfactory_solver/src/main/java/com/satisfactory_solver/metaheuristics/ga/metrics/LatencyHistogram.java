@@ -0,0 +1,106 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with logarithmic buckets: values below 8 have
+ * their own bucket, and every power of two above is split into 8 buckets, so percentiles are
+ * within 12.5% of the exact value. Recording increments the bucket, adds to a striped total
+ * ({@link LongAdder}) and raises a striped maximum ({@link LongAccumulator}), so threads recording
+ * at once do not contend on one counter; it can be done from any thread while another thread reads
+ * percentiles.
+ */
+public class LatencyHistogram {
+    protected static final int SUB_BUCKETS = 8;
+    protected static final int SUB_BUCKET_BITS = 3;
+    protected static final int BUCKETS = SUB_BUCKETS * (63 - SUB_BUCKET_BITS + 1); // up to Long.MAX_VALUE (2^62 <= v < 2^63)
+
+    protected final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    protected final LongAdder totalNanos = new LongAdder();
+    protected final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public double mean() {
+        long count = count();
+        return count == 0 ? Double.NaN : (double) totalNanos.sum() / count;
+    }
+
+    public long max() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the midpoint of the bucket holding the given quantile, or NaN if nothing was recorded
+     */
+    public double percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketLowerBound(i) + bucketWidth(i) / 2.0, max());
+            }
+        }
+        return max();
+    }
+
+    protected static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos); // >= SUB_BUCKET_BITS
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS * (exponent - SUB_BUCKET_BITS + 1) + sub;
+    }
+
+    protected static double bucketLowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (double) (SUB_BUCKETS + sub) * Math.pow(2, exponent - SUB_BUCKET_BITS);
+    }
+
+    protected static double bucketWidth(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return 1;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return Math.pow(2, exponent - SUB_BUCKET_BITS);
+    }
+}
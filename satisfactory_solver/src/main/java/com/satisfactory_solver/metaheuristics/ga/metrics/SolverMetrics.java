@@ -0,0 +1,208 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of one solver. The solver thread updates them through striped counters
+ * ({@link LongAdder}), a lock-free {@link LatencyHistogram} and volatile gauges, so recording costs
+ * a few nanoseconds and JMX clients (JConsole, VisualVM) can read them at any time.
+ *
+ * Each registration gets its own name, {@code com.satisfactory_solver:type=SolverMetrics,solver=<name>,id=<n>},
+ * so concurrent solvers of the same class show up side by side.
+ */
+public class SolverMetrics implements SolverMetricsMXBean {
+    public static final String DOMAIN = "com.satisfactory_solver";
+
+    private static final AtomicLong nextId = new AtomicLong();
+
+    protected final String solverName;
+    protected final LongAdder evaluations = new LongAdder();
+    protected final LongAdder cacheHits = new LongAdder();
+    protected final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+    protected volatile long startNanos = System.nanoTime();
+    protected volatile int currentGeneration = 0;
+    protected volatile double mutationRate = Double.NaN;
+    protected volatile double populationDiversity = Double.NaN;
+    protected volatile double bestCost = Double.NaN;
+    protected volatile double bestInfeasibility = Double.NaN;
+    protected volatile long evaluationsToFirstFeasible = -1;
+
+    protected ObjectName objectName = null;
+
+    public SolverMetrics(String solverName) {
+        this.solverName = solverName;
+    }
+
+    /**
+     * Resets every metric, at the start of a solve.
+     */
+    public void start() {
+        evaluations.reset();
+        cacheHits.reset();
+        decodeLatency.reset();
+        startNanos = System.nanoTime();
+        currentGeneration = 0;
+        populationDiversity = Double.NaN;
+        bestCost = Double.NaN;
+        bestInfeasibility = Double.NaN;
+        evaluationsToFirstFeasible = -1;
+    }
+
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=SolverMetrics,solver=" + ObjectName.quote(solverName)
+                    + ",id=" + nextId.incrementAndGet());
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to register solver metrics for " + solverName, e);
+        }
+    }
+
+    public void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to unregister solver metrics " + objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    public boolean isRegistered() {
+        return objectName != null;
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    public void recordEvaluation(long decodeNanos) {
+        evaluations.increment();
+        decodeLatency.record(decodeNanos);
+    }
+
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    /**
+     * Records that a feasible solution was evaluated; the first call fixes
+     * {@link #getEvaluationsToFirstFeasible}.
+     */
+    public void recordFeasible() {
+        if (evaluationsToFirstFeasible < 0) {
+            evaluationsToFirstFeasible = evaluations.sum();
+        }
+    }
+
+    public void recordGeneration(int generation, double mutationRate, double bestCost, double bestInfeasibility) {
+        this.currentGeneration = generation;
+        this.mutationRate = mutationRate;
+        this.bestCost = bestCost;
+        this.bestInfeasibility = bestInfeasibility;
+    }
+
+    public void recordPopulationDiversity(double diversity) {
+        this.populationDiversity = diversity;
+    }
+
+    @Override
+    public String getSolverName() {
+        return solverName;
+    }
+
+    @Override
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    @Override
+    public int getCurrentGeneration() {
+        return currentGeneration;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    @Override
+    public double getEvaluationsPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? getEvaluations() / elapsed : 0.0;
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = getCacheHits();
+        long lookups = hits + getEvaluations();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    @Override
+    public double getDecodeLatencyMeanMicros() {
+        return decodeLatency.mean() / 1000.0;
+    }
+
+    @Override
+    public double getDecodeLatencyP50Micros() {
+        return decodeLatency.percentile(0.50) / 1000.0;
+    }
+
+    @Override
+    public double getDecodeLatencyP90Micros() {
+        return decodeLatency.percentile(0.90) / 1000.0;
+    }
+
+    @Override
+    public double getDecodeLatencyP99Micros() {
+        return decodeLatency.percentile(0.99) / 1000.0;
+    }
+
+    @Override
+    public double getDecodeLatencyMaxMicros() {
+        return decodeLatency.max() / 1000.0;
+    }
+
+    @Override
+    public double getMutationRate() {
+        return mutationRate;
+    }
+
+    @Override
+    public double getPopulationDiversity() {
+        return populationDiversity;
+    }
+
+    @Override
+    public double getBestCost() {
+        return bestCost;
+    }
+
+    @Override
+    public double getBestInfeasibility() {
+        return bestInfeasibility;
+    }
+
+    @Override
+    public long getEvaluationsToFirstFeasible() {
+        return evaluationsToFirstFeasible;
+    }
+}
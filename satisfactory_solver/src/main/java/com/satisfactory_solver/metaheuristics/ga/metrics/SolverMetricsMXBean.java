@@ -0,0 +1,54 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+/**
+ * Live metrics of a running GA solver, registered in the platform MBean server while
+ * {@code AbstractGA.solve} runs (see {@link SolverMetrics}).
+ */
+public interface SolverMetricsMXBean {
+    String getSolverName();
+
+    double getElapsedSeconds();
+
+    int getCurrentGeneration();
+
+    /**
+     * @return the number of chromosomes decoded and evaluated
+     */
+    long getEvaluations();
+
+    double getEvaluationsPerSecond();
+
+    /**
+     * @return the number of decodes answered from a cached solution
+     */
+    long getCacheHits();
+
+    double getCacheHitRatio();
+
+    double getDecodeLatencyMeanMicros();
+
+    double getDecodeLatencyP50Micros();
+
+    double getDecodeLatencyP90Micros();
+
+    double getDecodeLatencyP99Micros();
+
+    double getDecodeLatencyMaxMicros();
+
+    double getMutationRate();
+
+    /**
+     * @return the average per-gene variance of the population, sampled every few generations
+     */
+    double getPopulationDiversity();
+
+    double getBestCost();
+
+    double getBestInfeasibility();
+
+    /**
+     * @return the number of evaluations made until the first feasible solution was evaluated, -1
+     *         if none was yet
+     */
+    long getEvaluationsToFirstFeasible();
+}
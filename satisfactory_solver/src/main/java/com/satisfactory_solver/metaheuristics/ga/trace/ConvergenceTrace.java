@@ -0,0 +1,119 @@
+package com.satisfactory_solver.metaheuristics.ga.trace;
+
+/**
+ * Per-generation statistics of one solve, as read back from a binary trace file written by
+ * {@link ConvergenceTraceWriter}. The data is held column by column, one array per statistic.
+ *
+ * A trace file is little-endian: the header (the {@link #MAGIC} bytes, the format version, the
+ * record size, the UTF-8 solver name prefixed by its length and the start time in epoch millis) is
+ * followed by fixed-size records, one per generation, laid out as in the {@code *_OFFSET}
+ * constants. A partial record at the end (a solve that was killed mid-write) is ignored.
+ */
+public class ConvergenceTrace {
+    public static final byte[] MAGIC = { 'G', 'A', 'T', 'R', 'A', 'C', 'E', 0 };
+    public static final int VERSION = 1;
+
+    public static final int GENERATION_OFFSET = 0;
+    public static final int POPULATION_SIZE_OFFSET = 4;
+    public static final int ELAPSED_NANOS_OFFSET = 8;
+    public static final int EVALUATIONS_OFFSET = 16;
+    public static final int BEST_COST_OFFSET = 24;
+    public static final int MEAN_COST_OFFSET = 32;
+    public static final int WORST_COST_OFFSET = 40;
+    public static final int FEASIBLE_FRACTION_OFFSET = 48;
+    public static final int DIVERSITY_OFFSET = 56;
+    public static final int MUTATION_RATE_OFFSET = 64;
+    public static final int RECORD_SIZE = 72;
+
+    public static final String[] COLUMNS = { "generation", "population_size", "elapsed_nanos", "evaluations",
+            "best_cost", "mean_cost", "worst_cost", "feasible_fraction", "diversity", "mutation_rate" };
+
+    protected final String solver;
+    protected final long startEpochMillis;
+    protected final int size;
+
+    protected final int[] generation;
+    protected final int[] populationSize;
+    protected final long[] elapsedNanos;
+    protected final long[] evaluations;
+    protected final double[] bestCost;
+    protected final double[] meanCost;
+    protected final double[] worstCost;
+    protected final double[] feasibleFraction;
+    protected final double[] diversity;
+    protected final double[] mutationRate;
+
+    public ConvergenceTrace(String solver, long startEpochMillis, int size) {
+        this.solver = solver;
+        this.startEpochMillis = startEpochMillis;
+        this.size = size;
+        this.generation = new int[size];
+        this.populationSize = new int[size];
+        this.elapsedNanos = new long[size];
+        this.evaluations = new long[size];
+        this.bestCost = new double[size];
+        this.meanCost = new double[size];
+        this.worstCost = new double[size];
+        this.feasibleFraction = new double[size];
+        this.diversity = new double[size];
+        this.mutationRate = new double[size];
+    }
+
+    public String getSolver() {
+        return solver;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * @return the number of generations in the trace
+     */
+    public int size() {
+        return size;
+    }
+
+    public int[] getGeneration() {
+        return generation;
+    }
+
+    public int[] getPopulationSize() {
+        return populationSize;
+    }
+
+    public long[] getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long[] getEvaluations() {
+        return evaluations;
+    }
+
+    public double[] getBestCost() {
+        return bestCost;
+    }
+
+    public double[] getMeanCost() {
+        return meanCost;
+    }
+
+    public double[] getWorstCost() {
+        return worstCost;
+    }
+
+    public double[] getFeasibleFraction() {
+        return feasibleFraction;
+    }
+
+    /**
+     * @return the population diversity, NaN for the generations in which it was not sampled
+     */
+    public double[] getDiversity() {
+        return diversity;
+    }
+
+    public double[] getMutationRate() {
+        return mutationRate;
+    }
+}
@@ -0,0 +1,147 @@
+package com.satisfactory_solver.metaheuristics.ga.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the binary trace files written by {@link ConvergenceTraceWriter} and converts them to CSV
+ * or to a columnar binary file.
+ *
+ * The columnar file (extension {@code .cols}) stores each statistic contiguously, so a single
+ * column can be loaded without reading the others: the {@link #COLUMNAR_MAGIC} bytes, the number
+ * of columns and of rows (ints), then for each column its UTF-8 name prefixed by its length (a
+ * short), a type code ({@code 'I'} int, {@code 'J'} long, {@code 'D'} double) and its values. All
+ * numbers are big-endian, as written by {@link DataOutputStream}.
+ */
+public class ConvergenceTraceReader {
+    public static final byte[] COLUMNAR_MAGIC = { 'G', 'A', 'C', 'O', 'L', 'S', 0, 1 };
+
+    public static ConvergenceTrace read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            byte[] magic = new byte[ConvergenceTrace.MAGIC.length];
+            if (buffer.remaining() < magic.length + 3 * Integer.BYTES) {
+                throw new IOException("Not a convergence trace: " + path);
+            }
+            buffer.get(magic);
+            if (!Arrays.equals(magic, ConvergenceTrace.MAGIC)) {
+                throw new IOException("Not a convergence trace: " + path);
+            }
+            int version = buffer.getInt();
+            int recordSize = buffer.getInt();
+            if (version != ConvergenceTrace.VERSION || recordSize != ConvergenceTrace.RECORD_SIZE) {
+                throw new IOException("Unsupported trace version " + version + " (record size " + recordSize + "): " + path);
+            }
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            long startEpochMillis = buffer.getLong();
+
+            int records = buffer.remaining() / recordSize;
+            ConvergenceTrace trace = new ConvergenceTrace(new String(name, StandardCharsets.UTF_8), startEpochMillis, records);
+            for (int i = 0; i < records; i++) {
+                int base = buffer.position() + i * recordSize;
+                trace.generation[i] = buffer.getInt(base + ConvergenceTrace.GENERATION_OFFSET);
+                trace.populationSize[i] = buffer.getInt(base + ConvergenceTrace.POPULATION_SIZE_OFFSET);
+                trace.elapsedNanos[i] = buffer.getLong(base + ConvergenceTrace.ELAPSED_NANOS_OFFSET);
+                trace.evaluations[i] = buffer.getLong(base + ConvergenceTrace.EVALUATIONS_OFFSET);
+                trace.bestCost[i] = buffer.getDouble(base + ConvergenceTrace.BEST_COST_OFFSET);
+                trace.meanCost[i] = buffer.getDouble(base + ConvergenceTrace.MEAN_COST_OFFSET);
+                trace.worstCost[i] = buffer.getDouble(base + ConvergenceTrace.WORST_COST_OFFSET);
+                trace.feasibleFraction[i] = buffer.getDouble(base + ConvergenceTrace.FEASIBLE_FRACTION_OFFSET);
+                trace.diversity[i] = buffer.getDouble(base + ConvergenceTrace.DIVERSITY_OFFSET);
+                trace.mutationRate[i] = buffer.getDouble(base + ConvergenceTrace.MUTATION_RATE_OFFSET);
+            }
+            return trace;
+        }
+    }
+
+    public static void writeCsv(ConvergenceTrace trace, Writer out) throws IOException {
+        out.write(String.join(",", ConvergenceTrace.COLUMNS));
+        out.write('\n');
+        for (int i = 0; i < trace.size; i++) {
+            out.write(trace.generation[i] + "," + trace.populationSize[i] + "," + trace.elapsedNanos[i] + ","
+                    + trace.evaluations[i] + "," + trace.bestCost[i] + "," + trace.meanCost[i] + ","
+                    + trace.worstCost[i] + "," + trace.feasibleFraction[i] + "," + trace.diversity[i] + ","
+                    + trace.mutationRate[i] + "\n");
+        }
+    }
+
+    public static void writeCsv(ConvergenceTrace trace, Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeCsv(trace, out);
+        }
+    }
+
+    public static void writeColumnar(ConvergenceTrace trace, Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.write(COLUMNAR_MAGIC);
+            out.writeInt(ConvergenceTrace.COLUMNS.length);
+            out.writeInt(trace.size);
+            writeColumn(out, ConvergenceTrace.COLUMNS[0], trace.generation);
+            writeColumn(out, ConvergenceTrace.COLUMNS[1], trace.populationSize);
+            writeColumn(out, ConvergenceTrace.COLUMNS[2], trace.elapsedNanos);
+            writeColumn(out, ConvergenceTrace.COLUMNS[3], trace.evaluations);
+            writeColumn(out, ConvergenceTrace.COLUMNS[4], trace.bestCost);
+            writeColumn(out, ConvergenceTrace.COLUMNS[5], trace.meanCost);
+            writeColumn(out, ConvergenceTrace.COLUMNS[6], trace.worstCost);
+            writeColumn(out, ConvergenceTrace.COLUMNS[7], trace.feasibleFraction);
+            writeColumn(out, ConvergenceTrace.COLUMNS[8], trace.diversity);
+            writeColumn(out, ConvergenceTrace.COLUMNS[9], trace.mutationRate);
+        }
+    }
+
+    private static void writeColumnHeader(DataOutputStream out, String name, char type) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+        out.writeByte(type);
+    }
+
+    private static void writeColumn(DataOutputStream out, String name, int[] values) throws IOException {
+        writeColumnHeader(out, name, 'I');
+        for (int value : values) out.writeInt(value);
+    }
+
+    private static void writeColumn(DataOutputStream out, String name, long[] values) throws IOException {
+        writeColumnHeader(out, name, 'J');
+        for (long value : values) out.writeLong(value);
+    }
+
+    private static void writeColumn(DataOutputStream out, String name, double[] values) throws IOException {
+        writeColumnHeader(out, name, 'D');
+        for (double value : values) out.writeDouble(value);
+    }
+
+    /**
+     * Converts a trace file to CSV, or to the columnar format if the output ends in {@code .cols}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ConvergenceTraceReader <trace file> <output.csv|output.cols>");
+            System.exit(1);
+        }
+        ConvergenceTrace trace = read(Paths.get(args[0]));
+        Path output = Paths.get(args[1]);
+        if (output.getFileName().toString().endsWith(".cols")) {
+            writeColumnar(trace, output);
+        } else {
+            writeCsv(trace, output);
+        }
+        System.out.println("Wrote " + trace.size() + " generations of " + trace.getSolver() + " to " + output);
+    }
+}
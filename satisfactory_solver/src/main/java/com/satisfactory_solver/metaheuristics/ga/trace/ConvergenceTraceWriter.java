@@ -0,0 +1,170 @@
+package com.satisfactory_solver.metaheuristics.ga.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appends per-generation records (see {@link ConvergenceTrace} for the format) to a binary trace
+ * file without doing I/O on the solver thread.
+ *
+ * The solver thread writes each record into a preallocated direct (off-heap) ring buffer and only
+ * publishes the new write position; a background thread periodically writes the filled part of the
+ * ring to the file channel straight from that buffer. Recording a generation therefore allocates
+ * nothing. When the ring is full the solver waits for the flusher instead of losing generations,
+ * which only happens if the disk cannot keep up (see {@link #getStalls}).
+ *
+ * There must be a single recording thread.
+ */
+public class ConvergenceTraceWriter implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    protected final FileChannel channel;
+    protected final ByteBuffer ring;
+    protected final int capacity;
+
+    /** records published by the solver thread */
+    protected final AtomicLong written = new AtomicLong();
+
+    /** records written to the file by the flusher */
+    protected final AtomicLong flushed = new AtomicLong();
+
+    protected final Thread flusher;
+    protected volatile boolean closing;
+    protected volatile IOException failure;
+    protected long stalls;
+
+    public ConvergenceTraceWriter(Path path, String solver) throws IOException {
+        this(path, solver, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates (or truncates) the trace file, writes its header and starts the flusher thread.
+     *
+     * @param capacity number of records the ring buffer holds
+     */
+    public ConvergenceTraceWriter(Path path, String solver, int capacity) throws IOException {
+        this.capacity = capacity;
+        this.ring = ByteBuffer.allocateDirect(capacity * ConvergenceTrace.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        byte[] name = solver.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(ConvergenceTrace.MAGIC.length + 3 * Integer.BYTES + name.length + Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.put(ConvergenceTrace.MAGIC).putInt(ConvergenceTrace.VERSION).putInt(ConvergenceTrace.RECORD_SIZE)
+                .putInt(name.length).put(name).putLong(System.currentTimeMillis()).flip();
+        try {
+            writeFully(header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.flusher = new Thread(this::runFlusher, "convergence-trace-" + solver);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Records the statistics of one generation.
+     */
+    public void record(int generation, int populationSize, long elapsedNanos, long evaluations, double bestCost,
+            double meanCost, double worstCost, double feasibleFraction, double diversity, double mutationRate) {
+        long position = written.get();
+        while (position - flushed.get() >= capacity) {
+            if (failure != null)
+                return;
+            stalls++;
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(10_000);
+        }
+
+        int base = (int) (position % capacity) * ConvergenceTrace.RECORD_SIZE;
+        ring.putInt(base + ConvergenceTrace.GENERATION_OFFSET, generation);
+        ring.putInt(base + ConvergenceTrace.POPULATION_SIZE_OFFSET, populationSize);
+        ring.putLong(base + ConvergenceTrace.ELAPSED_NANOS_OFFSET, elapsedNanos);
+        ring.putLong(base + ConvergenceTrace.EVALUATIONS_OFFSET, evaluations);
+        ring.putDouble(base + ConvergenceTrace.BEST_COST_OFFSET, bestCost);
+        ring.putDouble(base + ConvergenceTrace.MEAN_COST_OFFSET, meanCost);
+        ring.putDouble(base + ConvergenceTrace.WORST_COST_OFFSET, worstCost);
+        ring.putDouble(base + ConvergenceTrace.FEASIBLE_FRACTION_OFFSET, feasibleFraction);
+        ring.putDouble(base + ConvergenceTrace.DIVERSITY_OFFSET, diversity);
+        ring.putDouble(base + ConvergenceTrace.MUTATION_RATE_OFFSET, mutationRate);
+        // release: the flusher sees the record bytes once it sees the new position
+        written.lazySet(position + 1);
+
+        if (position + 1 - flushed.get() >= capacity / 2)
+            LockSupport.unpark(flusher);
+    }
+
+    /**
+     * @return how many times the recording thread had to wait for the flusher
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    public long getRecordsWritten() {
+        return written.get();
+    }
+
+    protected void runFlusher() {
+        try {
+            while (!closing) {
+                LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+                flushAvailable();
+            }
+            flushAvailable();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    protected void flushAvailable() throws IOException {
+        long from = flushed.get();
+        long to = written.get();
+        while (from < to) {
+            int index = (int) (from % capacity);
+            int count = (int) Math.min(to - from, capacity - index);
+            writeFully(ring.slice(index * ConvergenceTrace.RECORD_SIZE, count * ConvergenceTrace.RECORD_SIZE));
+            from += count;
+            flushed.set(from);
+        }
+    }
+
+    protected void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Flushes the remaining records and closes the file.
+     *
+     * @throws IOException if any write failed; the records from the failure on are missing
+     */
+    @Override
+    public void close() throws IOException {
+        closing = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
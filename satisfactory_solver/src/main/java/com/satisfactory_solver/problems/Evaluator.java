@@ -1,5 +1,6 @@
 package com.satisfactory_solver.problems;
 
+import com.satisfactory_solver.decoder.Evaluation;
 import com.satisfactory_solver.decoder.Solution;
 
 /**
@@ -31,6 +32,24 @@ public interface Evaluator<E> {
 	 */
 	public abstract Double evaluate(Solution<E> sol);
 
-    public abstract boolean isFeasible(Solution<E> sol);
+	/**
+	 * Gives the evaluation of a solution: the one attached to it, or else a new
+	 * one, which is attached to it, so that a solution is evaluated once.
+	 * 
+	 * @param sol
+	 *            the solution under evaluation.
+	 * @return the evaluation of the solution.
+	 */
+	public abstract Evaluation getEvaluation(Solution<E> sol);
+
+	/**
+	 * @param sol
+	 *            the solution under evaluation.
+	 * @return whether the solution is feasible, from its
+	 *         {@link #getEvaluation evaluation}.
+	 */
+	public default boolean isFeasible(Solution<E> sol) {
+		return getEvaluation(sol).isFeasible();
+	}
 
 }
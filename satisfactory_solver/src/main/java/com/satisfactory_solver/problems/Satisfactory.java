@@ -5,25 +5,27 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StreamTokenizer;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import com.satisfactory_solver.decoder.DecodeMode;
 import com.satisfactory_solver.decoder.DecodedSolution;
 import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.decoder.Evaluation;
+import com.satisfactory_solver.decoder.EvaluationCache;
+import com.satisfactory_solver.decoder.InstanceRegistry;
+import com.satisfactory_solver.decoder.InstanceSnapshot;
 import com.satisfactory_solver.decoder.Solution;
 import com.satisfactory_solver.instance.Instance;
-import com.satisfactory_solver.instance.InstanceJsonReader;
 
 /**
  * The goal of this class is to represent a possible configuration of a factory
  * in the Satisfactory game. The ultimate goal is to minimize the number of machines.
  */
-public class Satisfactory implements Evaluator<Double> {
+public class Satisfactory implements Evaluator<Double>, AutoCloseable {
 
 	/**
 	 * Dimension of the domain.
@@ -38,10 +40,27 @@ public class Satisfactory implements Evaluator<Double> {
 	protected Instance instance;
     protected Decoder decoder;
 
+    /**
+     * The shared compiled instance this problem reads from; released by {@link #close()}.
+     */
+    protected InstanceRegistry.Lease lease;
+
+    /**
+     * Evaluations of already seen (canonical) chromosomes, null (the default) to always decode.
+     */
+    protected EvaluationCache evaluationCache;
+
+    /**
+     * How the shared decoder splits the demand for an item among its recipes for this problem.
+     */
+    protected DecodeMode decodeMode = DecodeMode.CONTINUOUS;
+
 	/**
 	 * The constructor for Satisfactory class. The filename of the
 	 * input for setting the recipes, available input and desired output. The dimension of
 	 * the array of variables x is returned from the {@link #readInput} method.
+	 * The compiled instance is obtained from the default {@link InstanceRegistry}, so problems
+	 * built from the same file share it.
 	 * 
 	 * @param filename
 	 *            Name of the file containing the input for setting the Satisfactory problem.
@@ -49,7 +68,21 @@ public class Satisfactory implements Evaluator<Double> {
 	 *             Necessary for I/O operations.
 	 */
 	public Satisfactory(String filename) throws IOException {
-		size = readInput(filename);
+		this(filename, InstanceRegistry.getDefault());
+	}
+
+	/**
+	 * The constructor for Satisfactory class, obtaining the compiled instance from the given registry.
+	 * 
+	 * @param filename
+	 *            Name of the file containing the input for setting the Satisfactory problem.
+	 * @param registry
+	 *            Registry sharing compiled instances between problems.
+	 * @throws IOException
+	 *             Necessary for I/O operations.
+	 */
+	public Satisfactory(String filename, InstanceRegistry registry) throws IOException {
+		size = readInput(filename, registry);
 		variables = allocateVariables();
 	}
 
@@ -57,6 +90,31 @@ public class Satisfactory implements Evaluator<Double> {
         return this.decoder;
     }
 
+    public EvaluationCache getEvaluationCache() {
+        return this.evaluationCache;
+    }
+
+    /**
+     * @param evaluationCache the table of already evaluated chromosomes, or null to always decode
+     */
+    public void setEvaluationCache(EvaluationCache evaluationCache) {
+        this.evaluationCache = evaluationCache;
+    }
+
+    public DecodeMode getDecodeMode() {
+        return this.decodeMode;
+    }
+
+    /**
+     * Changes how chromosomes are decoded; the evaluations cached in the other mode are dropped.
+     */
+    public void setDecodeMode(DecodeMode decodeMode) {
+        if (decodeMode != this.decodeMode && evaluationCache != null) {
+            evaluationCache.clear();
+        }
+        this.decodeMode = decodeMode;
+    }
+
 	/**
 	 * Evaluates the value of a solution by transforming it into a vector.
 	 * 
@@ -91,38 +149,106 @@ public class Satisfactory implements Evaluator<Double> {
 	 */
 	@Override
 	public Double evaluate(Solution<Double> sol) {
-
-        DecodedSolution decoded = decoder.decode(sol);
-		sol.cost = Double.valueOf(decoded.getNumberOfUsedMachines());
-        sol.infeasibility = decoded.getUnsatisfiedDemandSum();
+        evaluateCached(sol);
         return sol.cost;
 	}
 
+	/**
+	 * Attaches an evaluation to the solution, taking it from the
+	 * {@link EvaluationCache}, if one is set, when an equivalent chromosome was
+	 * already decoded.
+	 * 
+	 * @return true if the solution was not decoded (the evaluation was cached).
+	 */
+	public boolean evaluateCached(Solution<Double> sol) {
+        return evaluateDecoding(sol) == null;
+	}
+
+	/**
+	 * Attaches an evaluation to the solution as {@link #evaluateCached} does.
+	 * 
+	 * @return the decoding of the solution, or null if its evaluation was
+	 *         taken from the {@link EvaluationCache}.
+	 */
+	public DecodedSolution evaluateDecoding(Solution<Double> sol) {
+        double[] canonical = null;
+        if (evaluationCache != null) {
+            canonical = decoder.canonicalize(sol);
+            EvaluationCache.Value cached = evaluationCache.get(canonical);
+            if (cached != null) {
+                sol.setEvaluation(new Evaluation(cached.cost, cached.infeasibility));
+                return null;
+            }
+        }
+
+        DecodedSolution decoded = decoder.decode(sol, decodeMode);
+        sol.setEvaluation(new Evaluation(decoded));
+        if (canonical != null) {
+            evaluationCache.put(canonical, sol.cost, sol.infeasibility);
+        }
+        return decoded;
+	}
+
+    /**
+     * {@inheritDoc} The solution is evaluated, through the {@link EvaluationCache} if one is set,
+     * unless it already carries an evaluation.
+     */
+    @Override
+    public Evaluation getEvaluation(Solution<Double> sol) {
+        if (sol.evaluation == null) {
+            evaluateCached(sol);
+        }
+        return sol.evaluation;
+    }
+
+    /**
+     * Returns the plan kept in the evaluation of the solution (see {@link Evaluation#getPlan}), or
+     * else decodes the solution; a solution not evaluated yet gets the evaluation of the decoding.
+     *
+     * @return the plan of the solution
+     */
     public DecodedSolution decode(Solution<Double> sol) {
-        DecodedSolution decoded = decoder.decode(sol);
+        if (sol.evaluation != null && sol.evaluation.getPlan() != null)
+            return sol.evaluation.getPlan();
+        DecodedSolution decoded = decoder.decode(sol, decodeMode);
+        if (sol.evaluation == null) {
+            sol.setEvaluation(new Evaluation(decoded));
+        }
         return decoded;
     }
 
+    /**
+     * Decodes a chromosome given as primitive genes, see {@link Decoder#decode(double[], DecodeMode)}.
+     */
+    public DecodedSolution decode(double[] chromosome) {
+        return decoder.decode(chromosome, decodeMode);
+    }
+
+    /**
+     * Decodes a sparse chromosome, see {@link Decoder#decodeSparse}.
+     */
+    public DecodedSolution decodeSparse(int[] loci, double[] values, int count) {
+        return decoder.decodeSparse(loci, values, count, decodeMode);
+    }
+
 	/**
 	 * Responsible for setting the Satisfactory problem parameters by reading the
-	 * necessary input from an external file.
+	 * necessary input from an external file. Files ending in {@code .snapshot} are
+	 * loaded as precompiled instances (see {@link InstanceSnapshot}).
 	 * 
 	 * @param filename
 	 *            Name of the file containing the input recipes, available input and desired output.
+	 * @param registry
+	 *            Registry from which the compiled instance is obtained.
 	 * @return The dimension of the domain.
 	 * @throws IOException
 	 *             Necessary for I/O operations.
 	 */
-	protected Integer readInput(String filename) throws IOException {
-        InstanceJsonReader reader = new InstanceJsonReader();
-        try {
-            String jsonContent = Files.readString(Paths.get(filename), StandardCharsets.UTF_8);
-            this.instance = reader.readInstanceFromJson(jsonContent);
-            this.decoder = new Decoder(this.instance);
-            return decoder.getChromosomeLength();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read JSON file: " + filename, e);
-        }
+	protected Integer readInput(String filename, InstanceRegistry registry) throws IOException {
+        this.lease = registry.acquire(Paths.get(filename));
+        this.instance = lease.getInstance();
+        this.decoder = lease.getDecoder();
+        return decoder.getChromosomeLength();
 	}
 
 	/**
@@ -144,9 +270,13 @@ public class Satisfactory implements Evaluator<Double> {
 	}
 
 
+    /**
+     * Releases the shared compiled instance. The problem must not be evaluated afterwards.
+     */
     @Override
-    public boolean isFeasible(Solution<Double> sol) {
-        DecodedSolution decoded = decoder.decode(sol);
-        return decoded.getUnsatisfiedDemandSum() == 0.0;
+    public void close() {
+        if (lease != null) {
+            lease.close();
+        }
     }
 }
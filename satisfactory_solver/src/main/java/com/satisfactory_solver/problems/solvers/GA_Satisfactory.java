@@ -6,6 +6,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -18,7 +19,12 @@ import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
 import com.satisfactory_solver.metaheuristics.ga.AbstractGA;
 import com.satisfactory_solver.problems.Satisfactory;
+import com.satisfactory_solver.decoder.ConstructiveSeeder;
+import com.satisfactory_solver.decoder.DecodeMode;
 import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Evaluation;
+import com.satisfactory_solver.decoder.EvaluationCache;
+import com.satisfactory_solver.decoder.FeasibilityRepair;
 import com.satisfactory_solver.decoder.Solution;
 
 /**
@@ -31,6 +37,54 @@ import com.satisfactory_solver.decoder.Solution;
 public class GA_Satisfactory extends AbstractGA<Double, Double> {
     protected Double biasToMutateToZero = 0.9;
 
+    /**
+     * local search run on the best chromosome, null if none
+     */
+    protected MemeticLocalSearch localSearch;
+
+    /**
+     * genes of the chromosome being improved by the local search
+     */
+    protected double[] localSearchGenes;
+
+    /**
+     * builder of the seeds of the initial population, null if none
+     */
+    protected ConstructiveSeeder seeder;
+
+    /**
+     * fraction of the initial population replaced by seeds
+     */
+    protected double seedFraction;
+
+    /**
+     * highest temperature of the seeds, see {@link ConstructiveSeeder#seed}
+     */
+    protected static final double MAX_SEED_TEMPERATURE = 0.5;
+
+    /**
+     * repair applied to every infeasible offspring, null if none
+     */
+    protected FeasibilityRepair repair;
+
+    /**
+     * genes of the offspring being repaired
+     */
+    protected double[] repairGenes;
+
+    /**
+     * cost of the cheapest feasible decoding whose plan was kept, see
+     * {@link #keepsPlan}
+     */
+    protected double plannedCost = Double.POSITIVE_INFINITY;
+
+    /**
+     * plan kept by the variants that do not evaluate through solutions, and
+     * the genes it was decoded from, see {@link #keepPlan}
+     */
+    protected DecodedSolution plan;
+    protected double[] plannedGenes;
+
 	/**
 	 * Constructor for the GA_Satisfactory class. The Satisfactory objective function is passed as
 	 * argument for the superclass constructor.
@@ -64,6 +118,47 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
         super(objFunction, generations, popSize, mutationRate, timeoutInSeconds);
     }
 
+    /**
+     * @return the Satisfactory problem being optimized.
+     */
+    public Satisfactory getProblem() {
+        return (Satisfactory) ObjFunction;
+    }
+
+    /**
+     * Runs a {@link MemeticLocalSearch} on the best chromosome after every
+     * improvement and every {@link #localSearchInterval} generations, see
+     * {@link #applyLocalSearch}.
+     * 
+     * @param localSearch The local search, or null to disable it.
+     */
+    public void setLocalSearch(MemeticLocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    /**
+     * Replaces a fraction of the initial population with seeds of the
+     * {@link ConstructiveSeeder}: the first is a cheapest plan, the others are
+     * drawn at random temperatures up to {@link #MAX_SEED_TEMPERATURE}.
+     * 
+     * @param seeder The seeder, or null to disable seeding.
+     * @param seedFraction The fraction of the population seeded.
+     */
+    public void setSeeding(ConstructiveSeeder seeder, double seedFraction) {
+        this.seeder = seeder;
+        this.seedFraction = seedFraction;
+    }
+
+    /**
+     * Repairs every offspring that is infeasible after mutation, see
+     * {@link #repair(Population)}.
+     * 
+     * @param repair The repair, or null to disable it.
+     */
+    public void setRepair(FeasibilityRepair repair) {
+        this.repair = repair;
+    }
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -84,19 +179,169 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 	@Override
 	protected Solution<Double> decode(Chromosome chromosome) {
         Solution<Double> cached = chromosome.getCachedSolution();
-        if (cached != null)
+        if (cached != null) {
+            metrics.recordCacheHit();
             return cached;
+        }
 
-		Solution<Double> solution = createEmptySol();
+		Solution<Double> solution = obtainSolution();
 		for (int locus = 0; locus < chromosome.size(); locus++) {
 			solution.add(chromosome.get(locus));
 		}
-
-		ObjFunction.evaluate(solution);
+		evaluate(solution);
         chromosome.setCachedSolution(solution);
 		return solution;
 	}
 
+	/**
+	 * Evaluates the solution through the problem, so that clones and rescaled
+	 * copies are found in its evaluation cache, and records it in the metrics.
+	 * 
+	 * @return the decoding of the solution, null if its evaluation was cached
+	 */
+	protected DecodedSolution evaluate(Solution<Double> solution) {
+        long start = System.nanoTime();
+        DecodedSolution decoded = getProblem().evaluateDecoding(solution);
+        if (decoded == null)
+            metrics.recordCacheHit();
+        else
+            metrics.recordEvaluation(System.nanoTime() - start);
+        if (decoded != null && keepsPlan(decoded))
+            solution.setEvaluation(new Evaluation(decoded, true));
+        if (solution.infeasibility == 0.0)
+            metrics.recordFeasible();
+        return decoded;
+	}
+
+	/**
+	 * Whether the plan of a decoding is kept for the final report: only that
+	 * of the feasible decodings cheaper than all the feasible ones before, so
+	 * that the best solution, or a clone of it, carries its plan without
+	 * keeping one for every chromosome (see {@link Evaluation}). A best
+	 * solution tying with the kept plan is decoded again when its plan is
+	 * asked for.
+	 */
+	protected boolean keepsPlan(DecodedSolution decoded) {
+		if (decoded.getUnsatisfiedDemandSum() != 0.0 || decoded.getNumberOfUsedMachines() >= plannedCost)
+			return false;
+		plannedCost = decoded.getNumberOfUsedMachines();
+		return true;
+	}
+
+	/**
+	 * Keeps the plan (see {@link #keepsPlan}) of genes not evaluated through a
+	 * solution.
+	 * 
+	 * @param genes
+	 *            the decoded genes, kept without copying them.
+	 */
+	protected void keepPlan(double[] genes, DecodedSolution decoded) {
+		plan = decoded;
+		plannedGenes = genes;
+	}
+
+	/**
+	 * Attaches the kept plan (see {@link #keepPlan}) to the evaluation of the
+	 * solution if the solution has the planned genes.
+	 */
+	protected void attachPlan(Solution<Double> solution) {
+		if (plan == null || solution.size() != plannedGenes.length)
+			return;
+		for (int locus = 0; locus < plannedGenes.length; locus++) {
+			if (solution.get(locus) != plannedGenes[locus])
+				return;
+		}
+		solution.setEvaluation(new Evaluation(plan, true));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * If a {@link FeasibilityRepair} is set, the offsprings are evaluated (see
+	 * {@link #decode(Chromosome)}) and the infeasible ones repaired; the
+	 * evaluation stays cached unless the repair changed the genes.
+	 */
+	@Override
+	protected void repair(Population offsprings) {
+		if (repair == null)
+			return;
+		if (repairGenes == null)
+			repairGenes = new double[chromosomeSize];
+		for (Chromosome chromosome : offsprings) {
+			Solution<Double> solution = chromosome.getCachedSolution();
+			if (solution != null && solution.infeasibility == 0.0)
+				continue;
+			DecodedSolution decoded = null;
+			if (solution == null) {
+				solution = obtainSolution();
+				solution.addAll(chromosome);
+				decoded = evaluate(solution);
+				chromosome.setCachedSolution(solution);
+				if (solution.infeasibility == 0.0)
+					continue;
+			}
+			if (decoded == null) {
+				// the evaluation came from a cache, the repair needs the decoding
+				long start = System.nanoTime();
+				decoded = getProblem().decode(solution);
+				metrics.recordEvaluation(System.nanoTime() - start);
+			}
+
+			for (int locus = 0; locus < chromosomeSize; locus++)
+				repairGenes[locus] = chromosome.get(locus);
+			if (repair.repair(repairGenes, decoded)) {
+				for (int locus = 0; locus < chromosomeSize; locus++)
+					setGene(chromosome, locus, repairGenes[locus]);
+			}
+		}
+	}
+
+	@Override
+	protected boolean localSearch(Chromosome chromosome) {
+        if (localSearch == null)
+            return false;
+        if (localSearchGenes == null)
+            localSearchGenes = new double[chromosomeSize];
+        for (int locus = 0; locus < chromosomeSize; locus++)
+            localSearchGenes[locus] = chromosome.get(locus);
+        if (!localSearch.improve(localSearchGenes, metrics))
+            return false;
+        for (int locus = 0; locus < chromosomeSize; locus++)
+            setGene(chromosome, locus, localSearchGenes[locus]);
+        return true;
+	}
+
+	@Override
+	protected void seedPopulation(Population population) {
+        int seeds = getSeedCount(population.size());
+        double[] genes = new double[chromosomeSize];
+        for (int i = 0; i < seeds; i++) {
+            seed(genes, i);
+            Chromosome chromosome = population.get(i);
+            discardCachedSolution(chromosome);
+            for (int locus = 0; locus < chromosomeSize; locus++)
+                chromosome.set(locus, genes[locus]);
+        }
+	}
+
+    /**
+     * @return the number of members of an initial population of the given
+     *         size that are replaced by seeds, 0 without a seeder
+     */
+    protected int getSeedCount(int populationSize) {
+        if (seeder == null)
+            return 0;
+        return (int) Math.min(Math.round(seedFraction * populationSize), populationSize);
+    }
+
+    /**
+     * Builds the i-th seed of the initial population into {@code genes}, see
+     * {@link #setSeeding}.
+     */
+    protected void seed(double[] genes, int i) {
+        seeder.seed(genes, rng, i == 0 ? 0.0 : rng.nextDouble() * MAX_SEED_TEMPERATURE);
+    }
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -141,18 +386,25 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 	 */
 	@Override
 	protected void mutateGene(Chromosome chromosome, Integer locus) {
+		chromosome.set(locus, mutateValue(chromosome.get(locus)));
+	}
+
+	/**
+	 * @return the new value of a mutated gene whose value was {@code value}
+	 */
+	protected double mutateValue(double value) {
         double rand = rng.nextDouble();
         double newValue = 0.0;
 
         // chance of resetting to 0
         if (rand > biasToMutateToZero) {
-            newValue = chromosome.get(locus) + rng.nextGaussian() * 0.5;
+            newValue = value + rng.nextGaussian() * 0.5;
             if (newValue < 0.05)
                 newValue = 0.0;
             else if (newValue > 1.0)
                 newValue = 1.0;
         }
-		chromosome.set(locus, newValue);
+        return newValue;
 	}
 
 	/**
@@ -181,6 +433,9 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 		Path logDir = Paths.get("satisfactory_logs");
 		Files.createDirectories(logDir);
 
+		// -Dga.jmx=true registers the metrics of every solver as a JMX MBean (see SolverMetrics)
+		AbstractGA.jmxEnabled = Boolean.getBoolean("ga.jmx");
+
 		// Solver suppliers (class names)
 		List<Class<? extends GA_Satisfactory>> solverClasses = List.of(
                 GA_Satisfactory_Unbiased.class,
@@ -238,6 +493,27 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 					// set logger and prefix so GA internals log to the configured logger
 					gaInstance.setLogger(solverLogger);
 					gaInstance.setLogPrefix("[" + solverName + "] ");
+					// -Dga.trace=true also writes a convergence trace next to the log (see ConvergenceTraceReader)
+					if (Boolean.getBoolean("ga.trace"))
+						gaInstance.setTraceFile(Paths.get(logFile.substring(0, logFile.length() - ".log".length()) + ".trace"));
+					// -Dga.cache=true looks duplicated chromosomes up in an EvaluationCache instead of decoding them
+					if (Boolean.getBoolean("ga.cache"))
+						gaInstance.getProblem().setEvaluationCache(
+							EvaluationCache.forChromosomeLength(gaInstance.getProblem().getDomainSize()));
+					// -Dga.fillMachines=true decodes with DecodeMode.FILL_MACHINES
+					if (Boolean.getBoolean("ga.fillMachines"))
+						gaInstance.getProblem().setDecodeMode(DecodeMode.FILL_MACHINES);
+					// -Dga.seed=0.2 seeds 20% of the initial population with a ConstructiveSeeder
+					double seedFraction = Double.parseDouble(System.getProperty("ga.seed", "0"));
+					if (seedFraction > 0.0)
+						gaInstance.setSeeding(new ConstructiveSeeder(gaInstance.getProblem().getDecoder()), seedFraction);
+					// -Dga.repair=true repairs every infeasible offspring with a FeasibilityRepair
+					if (Boolean.getBoolean("ga.repair"))
+						gaInstance.setRepair(new FeasibilityRepair(gaInstance.getProblem().getDecoder()));
+					// -Dga.localSearch=true also improves the best chromosome with a MemeticLocalSearch
+					if (Boolean.getBoolean("ga.localSearch"))
+						gaInstance.setLocalSearch(new MemeticLocalSearch(gaInstance.getProblem().getDecoder(),
+							gaInstance.getProblem().getDecodeMode(), new Random(0)));
 
 					long start = System.currentTimeMillis();
 					try {
@@ -247,7 +523,8 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 						solverLogger.info("Solver " + solverName + " finished. Best = " + best);
 						solverLogger.info("Time = " + ((double) (end - start) / 1000.0) + " seg");
 
-						DecodedSolution decoded = ((Satisfactory) gaInstance.ObjFunction).decode(best);
+						// the plan kept in the evaluation of the best solution
+						DecodedSolution decoded = gaInstance.getProblem().decode(best);
 						solverLogger.info("Decoded Recipe Usages:");
 						for (var entry : decoded.getRecipeUsages().entrySet()) {
 							solverLogger.info("  " + entry.getKey() + ": " + entry.getValue());
@@ -265,6 +542,8 @@ public class GA_Satisfactory extends AbstractGA<Double, Double> {
 					} finally {
 						// close file handler to release the file
 						solverFh.close();
+						// release the shared compiled instance
+						gaInstance.getProblem().close();
 					}
 
 					return null;
@@ -6,6 +6,8 @@ import java.util.Collections;
 import java.util.List;
 
 import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.metaheuristics.ga.events.MutationRateChangeEvent;
+import com.satisfactory_solver.metaheuristics.ga.metrics.GenerationEvent;
 
 public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
 {
@@ -27,6 +29,7 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
     {
         super(generations, popSize, mutationRate, filename, timeoutInSeconds);
         this.generationsWithoutImprovementsCounter = 0;
+        this.timeoutLogFormat = "[TIME] Timeout after %ds";
     }
 
     @Override
@@ -55,15 +58,20 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
     }
  
     @Override
-    public Solution<Double> solve()
+    protected Solution<Double> runGenerations()
     {
         Population population = initializePopulation();
+        seedPopulation(population);
+        trackDiversity(population);
         bestChromosome = getBestChromosome(population);
-        bestSol = decode(bestChromosome);
+        bestSol = new Solution<>(decode(bestChromosome));
+        applyLocalSearch(true);
 
         long startTime = System.currentTimeMillis();
         for (currentGeneration = 1; currentGeneration <= generations; currentGeneration++)
         {
+            onGenerationStart();
+
             // Calculates number of individuals to be exchanged in the steady-state selection
             int replacementsCount = Math.max(2, (int) (0.04 * popSize));
             int generatedChildren = 0;
@@ -75,31 +83,41 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
                 Population parents = selectParents(population);
                 Chromosome parent1 = parents.get(rng.nextInt(parents.size()));
                 Chromosome parent2 = parents.get(rng.nextInt(parents.size()));
+                endPhase(GenerationEvent.Phase.SELECT);
 
                 // Generates new individuals and mutate them. Crossover strategy is currently the 2-point crossover
-                Population children = crossover(new Population() {{
-                    add(parent1);
-                    add(parent2);
-                }});
+                pairBuffer.clear();
+                pairBuffer.add(parent1);
+                pairBuffer.add(parent2);
+                Population children = crossover(pairBuffer);
+                endPhase(GenerationEvent.Phase.CROSSOVER);
                 children = mutate(children);
+                endPhase(GenerationEvent.Phase.MUTATE);
 
-                // Evaluating new individuals and exchanging worst individuals in the current population
+                // Evaluating new individuals and exchanging worst individuals in the current population.
+                // Replaced individuals and rejected (or unused) children go back to the pool
                 for (Chromosome child : children)
                 {
+                    if (generatedChildren >= replacementsCount)
+                    {
+                        releaseChromosome(child);
+                        continue;
+                    }
+
                     Chromosome worst = getWorseChromosome(population);
                     double childFitness = fitness(child);
                     double worstFitness = fitness(worst);
                     if (childFitness > worstFitness)
                     {
-                        population.remove(worst);
-                        population.add(child);
+                        releaseChromosome(replaceInPopulation(population, worst, child));
                     }
+                    else
+                        releaseChromosome(child);
 
                     // Incrementing generated children count
                     generatedChildren++;
-                    if (generatedChildren >= replacementsCount)
-                        break;
                 }
+                endPhase(GenerationEvent.Phase.EVALUATE);
             }
 
             bestChromosome = getBestChromosome(population);
@@ -111,14 +129,15 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
             {
                 if (ObjFunction.isFeasible(bestSolCurrentGen))
                 {
-                    bestSol = bestSolCurrentGen;
+                    bestSol = new Solution<>(bestSolCurrentGen);
                     improved = true;
-                    if (verbose)
-                        logger.info(logPrefix + "(Gen. " + currentGeneration + ") BestSol = " + bestSol);
+                    publishImprovement(currentGeneration);
                 }
                 else
                     improved = false;
             }
+            if (applyLocalSearch(improved))
+                improved = true;
 
             // --- CRITERIA FOR CHANGING MUTATION RATE ---
             // 1) Generations without improvements
@@ -127,8 +146,8 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
                 generationsWithoutImprovementsCounter = 0;
                 double previousMutationRate = mutationRate;
                 mutationRate = Math.max(mutationRate * 0.9, minMR);
-                if (previousMutationRate != mutationRate && verbose)
-                    logger.info(logPrefix + "[DEC_MR] Mutation rate decreased to " + mutationRate + " due to improvements in generation " + currentGeneration);
+                if (previousMutationRate != mutationRate)
+                    publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.IMPROVEMENT);
             }
             else
             {
@@ -138,8 +157,8 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
                     double previousMutationRate = mutationRate;
                     mutationRate = Math.min(mutationRate * 1.5, maxMR);
                     generationsWithoutImprovementsCounter = 0;
-                    if (previousMutationRate != mutationRate && verbose)
-                        logger.info(logPrefix + "[INC_MR] Mutation rate increased to " + mutationRate + " due to stagnation in generation " + currentGeneration);
+                    if (previousMutationRate != mutationRate)
+                        publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.STAGNATION);
                 }
             }
 
@@ -153,8 +172,8 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
                     double previousMutationRate = mutationRate;
                     mutationRate = Math.min(mutationRate * 1.3, maxMR);
                     lastDiversityAdjustmentGen = currentGeneration;
-                    if (previousMutationRate != mutationRate && verbose)
-                        logger.info(logPrefix + "[INC_MR] Mutation rate increased to " + mutationRate + " due to low diversity in generation " + currentGeneration);
+                    if (previousMutationRate != mutationRate)
+                        publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.LOW_DIVERSITY);
                 }
                 else
                 {
@@ -165,20 +184,22 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
                         double previousMutationRate = mutationRate;
                         mutationRate = Math.max(mutationRate * 0.95, minMR);
                         lastDiversityAdjustmentGen = currentGeneration;
-                        if (previousMutationRate != mutationRate && verbose)
-                            logger.info(logPrefix + "[DEC_MR] Mutation rate decreased to " + mutationRate + " due to high diversity in generation " + currentGeneration);
+                        if (previousMutationRate != mutationRate)
+                            publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.HIGH_DIVERSITY);
                     }
                 }
             }
 
+            onGenerationEnd(population);
+
             long currentTime = System.currentTimeMillis();
             if (timeoutInSeconds != null && (currentTime - startTime) >= timeoutInSeconds * 1000)
             {
-                logger.warning(logPrefix + "[TIME] Timeout after " + timeoutInSeconds + "s");
+                publishTimeout();
                 break;
             }
             if (targetCostToStop != null && bestSol.cost <= targetCostToStop) {
-                logger.info(logPrefix + "Target cost to stop reached: " + bestSol.cost + " <= " + targetCostToStop);
+                publishTargetReached();
                 break;  
             }
 
@@ -190,53 +211,11 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
         return bestSol;
     }
 
-    /**
-     * Compute a simple measure of population diversity:
-     * average variance across loci (genes).
-     *
-     * population: list of chromosomes (each is a list of Double genes)
-     * returns: avgVariance (double >= 0). Lower => more homogeneous.
-     */
-    protected double computePopulationDiversity(Population population)
-    {
-        if (population == null || population.isEmpty())
-            return 0.0;
-
-        int n = population.size();
-        int m = chromosomeSize;     // number of genes per chromosome
-
-        // Step 1: Calculate mean for each gene
-        double[] means = new double[m];
-        for (int j = 0; j < m; j++)
-        {
-            double sum = 0.0;
-            for (int i = 0; i < n; i++) sum += population.get(i).get(j);
-            means[j] = sum / n;
-        }
-
-        // Step 2: Calculate variance for each gene
-        double totalVar = 0.0;
-        for (int j = 0; j < m; j++)
-        {
-            double var = 0.0;
-            for (int i = 0; i < n; i++)
-            {
-                double diff = population.get(i).get(j) - means[j];
-                var += diff * diff;
-            }
-            var = var / n; // population variance
-            totalVar += var;
-        }
-
-        // Step 3: calculate average variance across all genes
-        double avgVar = totalVar / m;
-        return avgVar;
-    }
-
     @Override
     protected Population crossover(Population parents)
     {
-        Population offsprings = new Population();
+        Population offsprings = offspringsBuffer;
+        offsprings.clear();
     
         Chromosome parent1 = parents.get(0);
         Chromosome parent2 = parents.get(1);
@@ -253,8 +232,8 @@ public class GA_Satisfactory_AllStrategies extends GA_Satisfactory
             crosspoint2 = temp;
         }
     
-        Chromosome offspring1 = new Chromosome();
-        Chromosome offspring2 = new Chromosome();
+        Chromosome offspring1 = obtainChromosome();
+        Chromosome offspring2 = obtainChromosome();
     
         for (int j = 0; j < chromosomeSize; j++) {
             if (j >= crosspoint1 && j < crosspoint2) {
@@ -0,0 +1,390 @@
+package com.satisfactory_solver.problems.solvers;
+
+import java.io.IOException;
+
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Evaluation;
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.kernels.GeneKernels;
+import com.satisfactory_solver.metaheuristics.ga.PopulationMatrix;
+
+/**
+ * GA_Satisfactory on a {@link PopulationMatrix}: the same generational GA (tournament selection,
+ * 2-point crossover, per-locus mutation, elitism) and gene distribution, with the population kept
+ * off-heap so that it scales to 10^5 to 10^6 individuals.
+ *
+ * Two matrices are allocated once and swapped every generation: parents are selected as row
+ * indices of the current population, crossover writes the offsprings straight into the other
+ * matrix with range copies, mutation and elitism work in place. A generation therefore allocates
+ * nothing but what the decoder does. Only the best solution is kept as a {@link Solution}. The
+ * generational loop is the one of {@link #runGenerations(GenerationSteps)}; seeding, repair and
+ * local search read and write the rows through {@link #genes}.
+ */
+public class GA_Satisfactory_Flat extends GA_Satisfactory
+{
+    protected PopulationMatrix population;
+    protected PopulationMatrix offsprings;
+    protected int[] parentRows;
+
+    /** row of {@link #population} holding its best chromosome */
+    protected int bestRow;
+
+    /** genes of the row being decoded */
+    protected double[] genes;
+
+    public GA_Satisfactory_Flat(Integer generations, Integer popSize, Double mutationRate, String filename, Long timeoutInSeconds) throws IOException
+    {
+        super(generations, popSize, mutationRate, filename, timeoutInSeconds);
+    }
+
+    @Override
+    protected Solution<Double> runGenerations()
+    {
+        return runGenerations(new FlatSteps());
+    }
+
+    /**
+     * The steps of the GA on the two matrices, see the class comment; the best member is
+     * {@link #bestRow} of {@link #population}.
+     */
+    protected class FlatSteps extends GenerationSteps
+    {
+        @Override
+        protected void initialize()
+        {
+            population = new PopulationMatrix(popSize, chromosomeSize);
+            offsprings = new PopulationMatrix(popSize, chromosomeSize);
+            parentRows = new int[popSize];
+            genes = new double[chromosomeSize];
+
+            initializePopulation(population);
+            seedPopulation(population);
+        }
+
+        @Override
+        protected void selection()
+        {
+            selectParents(population, parentRows);
+        }
+
+        @Override
+        protected void recombination()
+        {
+            crossover(population, parentRows, offsprings);
+        }
+
+        @Override
+        protected void mutation()
+        {
+            mutate(offsprings);
+        }
+
+        @Override
+        protected void replacement()
+        {
+            selectPopulation(population, bestRow, offsprings);
+
+            PopulationMatrix previous = population;
+            population = offsprings;
+            offsprings = previous;
+        }
+
+        @Override
+        protected void findBest()
+        {
+            bestRow = getBestRow(population);
+        }
+
+        @Override
+        protected double getBestCost()
+        {
+            evaluate(population, bestRow);
+            return population.getCost(bestRow);
+        }
+
+        @Override
+        protected boolean isBestFeasible()
+        {
+            evaluate(population, bestRow);
+            return population.getInfeasibility(bestRow) == 0.0;
+        }
+
+        @Override
+        protected Solution<Double> decodeBest()
+        {
+            return toSolution(population, bestRow);
+        }
+
+        @Override
+        protected boolean improveBest()
+        {
+            return localSearch(population, bestRow);
+        }
+
+        @Override
+        protected void endGeneration()
+        {
+            onGenerationEnd(population);
+        }
+    }
+
+    /**
+     * Decodes the row unless its evaluation is cached.
+     */
+    protected void evaluate(PopulationMatrix matrix, int row)
+    {
+        if (matrix.isEvaluated(row)) {
+            metrics.recordCacheHit();
+            return;
+        }
+        decode(matrix, row);
+    }
+
+    /**
+     * Decodes the row, keeping its evaluation; the genes of the row are left in {@link #genes}.
+     */
+    protected DecodedSolution decode(PopulationMatrix matrix, int row)
+    {
+        long start = System.nanoTime();
+        matrix.readRow(row, genes);
+        DecodedSolution decoded = getProblem().decode(genes);
+        matrix.setEvaluation(row, decoded.getNumberOfUsedMachines(), decoded.getUnsatisfiedDemandSum());
+        if (keepsPlan(decoded))
+            keepPlan(genes.clone(), decoded);
+        metrics.recordEvaluation(System.nanoTime() - start);
+        if (decoded.getUnsatisfiedDemandSum() == 0.0)
+            metrics.recordFeasible();
+        return decoded;
+    }
+
+    /**
+     * Same fitness as {@link GA_Satisfactory#fitness}.
+     */
+    protected double fitness(PopulationMatrix matrix, int row)
+    {
+        // Encourage feasibility over time
+        double penaltyMultiplier = currentGeneration / 100.0;
+        evaluate(matrix, row);
+        return -matrix.getCost(row) - penaltyMultiplier * matrix.getInfeasibility(row);
+    }
+
+    protected Solution<Double> toSolution(PopulationMatrix matrix, int row)
+    {
+        evaluate(matrix, row);
+        Solution<Double> solution = createEmptySol();
+        for (int locus = 0; locus < chromosomeSize; locus++) {
+            solution.add(matrix.get(row, locus));
+        }
+        solution.setEvaluation(new Evaluation(matrix.getCost(row), matrix.getInfeasibility(row)));
+        attachPlan(solution);
+        return solution;
+    }
+
+    /**
+     * Same distribution as {@link GA_Satisfactory#generateRandomChromosome}.
+     */
+    protected void initializePopulation(PopulationMatrix matrix)
+    {
+        for (int row = 0; row < matrix.rows(); row++) {
+            for (int locus = 0; locus < chromosomeSize; locus++) {
+                // Introduce a chance of having a zero value
+                if (rng.nextDouble() < biasToMutateToZero)
+                    genes[locus] = 0.0;
+                else
+                    genes[locus] = rng.nextDouble();
+            }
+            matrix.writeRow(row, genes);
+        }
+    }
+
+    /**
+     * Replaces the first rows of the initial population with seeds, see
+     * {@link #seedPopulation(Population)}.
+     */
+    protected void seedPopulation(PopulationMatrix matrix)
+    {
+        int seeds = getSeedCount(matrix.rows());
+        for (int i = 0; i < seeds; i++) {
+            seed(genes, i);
+            matrix.writeRow(i, genes);
+        }
+    }
+
+    protected int getBestRow(PopulationMatrix matrix)
+    {
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        int best = -1;
+        for (int row = 0; row < matrix.rows(); row++) {
+            double fitness = fitness(matrix, row);
+            if (fitness > bestFitness) {
+                bestFitness = fitness;
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    protected int getWorseRow(PopulationMatrix matrix)
+    {
+        double worseFitness = Double.POSITIVE_INFINITY;
+        int worse = -1;
+        for (int row = 0; row < matrix.rows(); row++) {
+            double fitness = fitness(matrix, row);
+            if (fitness < worseFitness) {
+                worseFitness = fitness;
+                worse = row;
+            }
+        }
+        return worse;
+    }
+
+    /**
+     * Tournament selection, see {@link #selectParents(Population)}; the rows of the selected
+     * parents are written to {@code parents}.
+     */
+    protected void selectParents(PopulationMatrix matrix, int[] parents)
+    {
+        for (int i = 0; i < popSize; i++) {
+            int row1 = rng.nextInt(popSize);
+            int row2 = rng.nextInt(popSize);
+            parents[i] = fitness(matrix, row1) > fitness(matrix, row2) ? row1 : row2;
+        }
+    }
+
+    /**
+     * 2-point crossover, see {@link #crossover(Population)}; the offsprings of the parent rows of
+     * {@code matrix} overwrite the rows of {@code offsprings}.
+     */
+    protected void crossover(PopulationMatrix matrix, int[] parents, PopulationMatrix offsprings)
+    {
+        for (int i = 0; i < popSize; i = i + 2) {
+            int parent1 = parents[i];
+            int parent2 = parents[i + 1];
+
+            int crosspoint1 = rng.nextInt(chromosomeSize + 1);
+            int crosspoint2 = crosspoint1 + rng.nextInt((chromosomeSize + 1) - crosspoint1);
+
+            offsprings.copyRange(matrix, parent1, i, 0, crosspoint1);
+            offsprings.copyRange(matrix, parent2, i, crosspoint1, crosspoint2);
+            offsprings.copyRange(matrix, parent1, i, crosspoint2, chromosomeSize);
+
+            offsprings.copyRange(matrix, parent2, i + 1, 0, crosspoint1);
+            offsprings.copyRange(matrix, parent1, i + 1, crosspoint1, crosspoint2);
+            offsprings.copyRange(matrix, parent2, i + 1, crosspoint2, chromosomeSize);
+        }
+    }
+
+    /**
+     * Mutation with geometric skips over the loci of the whole population, see
+     * {@link #mutate(Population)}; the genes change as in {@link #mutateValue}. The offsprings are
+     * then repaired.
+     */
+    protected void mutate(PopulationMatrix offsprings)
+    {
+        long loci = (long) offsprings.rows() * chromosomeSize;
+        long index = -1;
+        while (true) {
+            long gap = nextMutationGap();
+            if (gap >= loci - index - 1)
+                break;
+            index += gap + 1;
+
+            int row = (int) (index / chromosomeSize);
+            int locus = (int) (index % chromosomeSize);
+            double previous = offsprings.get(row, locus);
+            double value = mutateValue(previous);
+            if (value != previous)
+                offsprings.set(row, locus, value);
+        }
+
+        repair(offsprings);
+    }
+
+    /**
+     * Repairs the offsprings as {@link #repair(Population)} does: the rows not known to be feasible
+     * are decoded, keeping their evaluation, and the infeasible ones are repaired.
+     */
+    protected void repair(PopulationMatrix offsprings)
+    {
+        if (repair == null)
+            return;
+        for (int row = 0; row < offsprings.rows(); row++) {
+            if (offsprings.isEvaluated(row) && offsprings.getInfeasibility(row) == 0.0)
+                continue;
+            DecodedSolution decoded = decode(offsprings, row);
+            if (decoded.getUnsatisfiedDemandSum() == 0.0)
+                continue;
+            if (repair.repair(genes, decoded))
+                offsprings.writeRow(row, genes);
+        }
+    }
+
+    /**
+     * Runs the local search on the genes of the row, see {@link #localSearch(Chromosome)}.
+     */
+    protected boolean localSearch(PopulationMatrix matrix, int row)
+    {
+        if (localSearch == null)
+            return false;
+        matrix.readRow(row, genes);
+        if (!localSearch.improve(genes, metrics))
+            return false;
+        matrix.writeRow(row, genes);
+        return true;
+    }
+
+    /**
+     * Elitism, see {@link #selectPopulation(Population)}: the best row of the previous population
+     * is copied over the worst offspring.
+     */
+    protected void selectPopulation(PopulationMatrix previous, int bestRow, PopulationMatrix offsprings)
+    {
+        int worse = getWorseRow(offsprings);
+        if (fitness(offsprings, worse) < fitness(previous, bestRow)) {
+            offsprings.copyRow(previous, bestRow, worse);
+        }
+    }
+
+    /**
+     * Same measure as {@link #computePopulationDiversity(Population)} (average variance across
+     * loci), in one pass over the rows with per-locus sums and sums of squares.
+     */
+    protected double computePopulationDiversity(PopulationMatrix matrix)
+    {
+        if (matrix.rows() == 0 || chromosomeSize == 0)
+            return 0.0;
+
+        GeneKernels kernels = GeneKernels.get();
+        double[] sums = new double[chromosomeSize];
+        double[] squares = new double[chromosomeSize];
+        for (int row = 0; row < matrix.rows(); row++) {
+            matrix.readRow(row, genes);
+            kernels.addWithSquares(genes, sums, squares);
+        }
+        return kernels.varianceSum(sums, squares, matrix.rows()) / chromosomeSize;
+    }
+
+    protected void onGenerationEnd(PopulationMatrix matrix)
+    {
+        commitGeneration();
+        double diversity = Double.NaN;
+        if (isDiversitySampled()) {
+            diversity = computePopulationDiversity(matrix);
+            metrics.recordPopulationDiversity(diversity);
+        }
+        if (trace != null) {
+            double best = Double.POSITIVE_INFINITY;
+            double worst = Double.NEGATIVE_INFINITY;
+            double sum = 0.0;
+            int feasible = 0;
+            for (int row = 0; row < matrix.rows(); row++) {
+                best = Math.min(best, matrix.getCost(row));
+                worst = Math.max(worst, matrix.getCost(row));
+                sum += matrix.getCost(row);
+                if (matrix.getInfeasibility(row) == 0.0)
+                    feasible++;
+            }
+            recordTrace(matrix.rows(), best, sum / matrix.rows(), worst, (double) feasible / matrix.rows(), diversity);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Collections;
 import java.util.List;
 
 import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.metaheuristics.ga.events.MutationRateChangeEvent;
+import com.satisfactory_solver.metaheuristics.ga.metrics.GenerationEvent;
  
 /**
  * GA_Satisfactory variant with hybrid adaptive mutation:
@@ -34,6 +36,7 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
     {
         super(generations, popSize, mutationRate, filename, timeoutInSeconds);
         this.generationsWithoutImprovementsCounter = 0;
+        this.timeoutLogFormat = "[TIME] Timeout after %ds";
     }
 
     @Override
@@ -62,19 +65,26 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
     }
  
     @Override
-    public Solution<Double> solve()
+    protected Solution<Double> runGenerations()
     {
         Population population = initializePopulation();
+        seedPopulation(population);
         bestChromosome = getBestChromosome(population);
-        bestSol = decode(bestChromosome);
+        bestSol = new Solution<>(decode(bestChromosome));
+        applyLocalSearch(true);
 
         long startTime = System.currentTimeMillis();
         for (currentGeneration = 1; currentGeneration <= generations; currentGeneration++)
         {
+            onGenerationStart();
             Population parents = selectParents(population);
+            endPhase(GenerationEvent.Phase.SELECT);
             Population offsprings = crossover(parents);
+            endPhase(GenerationEvent.Phase.CROSSOVER);
             Population mutants = mutate(offsprings);
+            endPhase(GenerationEvent.Phase.MUTATE);
             Population newPopulation = selectPopulation(mutants);
+            recyclePopulation(population);
             population = newPopulation;
             bestChromosome = getBestChromosome(population);
             Solution<Double> bestSolCurrentGen = decode(bestChromosome);
@@ -85,14 +95,15 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
             {
                 if (ObjFunction.isFeasible(bestSolCurrentGen))
                 {
-                    bestSol = bestSolCurrentGen;
+                    bestSol = new Solution<>(bestSolCurrentGen);
                     improved = true;
-                    if (verbose)
-                        logger.info(logPrefix + "(Gen. " + currentGeneration + ") BestSol = " + bestSol);
+                    publishImprovement(currentGeneration);
                 }
                 else
                     improved = false;
             }
+            if (applyLocalSearch(improved))
+                improved = true;
 
             // --- CRITERIA FOR CHANGING MUTATION RATE ---
             // 1) Generations without improvements
@@ -101,8 +112,8 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
                 generationsWithoutImprovementsCounter = 0;
                 double previousMutationRate = mutationRate;
                 mutationRate = Math.max(mutationRate * 0.9, minMR);
-                if (previousMutationRate != mutationRate && verbose)
-                    logger.info(logPrefix + "[DEC_MR] Mutation rate decreased to " + mutationRate + " due to improvements in generation " + currentGeneration);
+                if (previousMutationRate != mutationRate)
+                    publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.IMPROVEMENT);
             }
             else
             {
@@ -112,8 +123,8 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
                     double previousMutationRate = mutationRate;
                     mutationRate = Math.min(mutationRate * 1.5, maxMR);
                     generationsWithoutImprovementsCounter = 0;
-                    if (previousMutationRate != mutationRate && verbose)
-                        logger.info(logPrefix + "[INC_MR] Mutation rate increased to " + mutationRate + " due to stagnation in generation " + currentGeneration);
+                    if (previousMutationRate != mutationRate)
+                        publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.STAGNATION);
                 }
             }
 
@@ -127,8 +138,8 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
                     double previousMutationRate = mutationRate;
                     mutationRate = Math.min(mutationRate * 1.3, maxMR);
                     lastDiversityAdjustmentGen = currentGeneration;
-                    if (previousMutationRate != mutationRate && verbose)
-                        logger.info(logPrefix + "[INC_MR] Mutation rate increased to " + mutationRate + " due to low diversity in generation " + currentGeneration);
+                    if (previousMutationRate != mutationRate)
+                        publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.LOW_DIVERSITY);
                 }
                 else
                 {
@@ -139,20 +150,22 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
                         double previousMutationRate = mutationRate;
                         mutationRate = Math.max(mutationRate * 0.95, minMR);
                         lastDiversityAdjustmentGen = currentGeneration;
-                        if (previousMutationRate != mutationRate && verbose)
-                            logger.info(logPrefix + "[DEC_MR] Mutation rate decreased to " + mutationRate + " due to high diversity in generation " + currentGeneration);
+                        if (previousMutationRate != mutationRate)
+                            publishMutationRateChange(previousMutationRate, MutationRateChangeEvent.Reason.HIGH_DIVERSITY);
                     }
                 }
             }
 
+            onGenerationEnd(population);
+
             long currentTime = System.currentTimeMillis();
             if (timeoutInSeconds != null && (currentTime - startTime) >= timeoutInSeconds * 1000)
             {
-                logger.warning(logPrefix + "[TIME] Timeout after " + timeoutInSeconds + "s");
+                publishTimeout();
                 break;
             }
             if (targetCostToStop != null && bestSol.cost <= targetCostToStop) {
-                logger.info(logPrefix + "Target cost to stop reached: " + bestSol.cost + " <= " + targetCostToStop);
+                publishTargetReached();
                 break;    
             }
 
@@ -163,47 +176,4 @@ public class GA_Satisfactory_HybridAdaptiveMutation extends GA_Satisfactory
 
         return bestSol;
     }
-
-    /**
-     * Compute a simple measure of population diversity:
-     * average variance across loci (genes).
-     *
-     * population: list of chromosomes (each is a list of Double genes)
-     * returns: avgVariance (double >= 0). Lower => more homogeneous.
-     */
-    protected double computePopulationDiversity(Population population)
-    {
-        if (population == null || population.isEmpty())
-            return 0.0;
-
-        int n = population.size();
-        int m = chromosomeSize;     // number of genes per chromosome
-
-        // Step 1: Calculate mean for each gene
-        double[] means = new double[m];
-        for (int j = 0; j < m; j++)
-        {
-            double sum = 0.0;
-            for (int i = 0; i < n; i++) sum += population.get(i).get(j);
-            means[j] = sum / n;
-        }
-
-        // Step 2: Calculate variance for each gene
-        double totalVar = 0.0;
-        for (int j = 0; j < m; j++)
-        {
-            double var = 0.0;
-            for (int i = 0; i < n; i++)
-            {
-                double diff = population.get(i).get(j) - means[j];
-                var += diff * diff;
-            }
-            var = var / n; // population variance
-            totalVar += var;
-        }
-
-        // Step 3: calculate average variance across all genes
-        double avgVar = totalVar / m;
-        return avgVar;
-    }
 }
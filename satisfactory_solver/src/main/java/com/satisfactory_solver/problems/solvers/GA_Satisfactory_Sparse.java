@@ -0,0 +1,402 @@
+package com.satisfactory_solver.problems.solvers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Evaluation;
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.kernels.GeneKernels;
+import com.satisfactory_solver.metaheuristics.ga.SparseChromosome;
+
+/**
+ * GA_Satisfactory on {@link SparseChromosome}s: the same generational GA (tournament selection,
+ * 2-point crossover, per-locus mutation, elitism) and gene distribution, but as about
+ * {@link #biasToMutateToZero} of the genes are zero, every step works on the non-zero genes only:
+ * <ul>
+ * <li>random chromosomes draw the gaps between non-zero genes instead of every gene;</li>
+ * <li>crossover copies ranges of non-zero genes from each parent;</li>
+ * <li>mutation visits only the mutated loci (see {@link #nextMutationGap});</li>
+ * <li>decoding scatters the non-zero genes into a scratch array;</li>
+ * <li>the diversity accumulates the gene sums and sums of squares over non-zero genes.</li>
+ * </ul>
+ * Only the best solution is kept as a dense {@link Solution}. The generational loop is the one of
+ * {@link #runGenerations(GenerationSteps)}; seeding, repair and local search work on dense copies
+ * of the genes of the chromosomes they change.
+ */
+public class GA_Satisfactory_Sparse extends GA_Satisfactory
+{
+    protected SparseChromosome bestSparseChromosome;
+
+    public GA_Satisfactory_Sparse(Integer generations, Integer popSize, Double mutationRate, String filename, Long timeoutInSeconds) throws IOException
+    {
+        super(generations, popSize, mutationRate, filename, timeoutInSeconds);
+    }
+
+    @Override
+    protected Solution<Double> runGenerations()
+    {
+        return runGenerations(new SparseSteps());
+    }
+
+    /**
+     * The steps of the GA on a list of {@link SparseChromosome}s; the best member is
+     * {@link #bestSparseChromosome}.
+     */
+    protected class SparseSteps extends GenerationSteps
+    {
+        protected List<SparseChromosome> population;
+        protected List<SparseChromosome> parents;
+        protected List<SparseChromosome> offsprings;
+
+        @Override
+        protected void initialize()
+        {
+            population = initializeSparsePopulation();
+            seedPopulation(population);
+        }
+
+        @Override
+        protected void selection()
+        {
+            parents = selectParents(population);
+        }
+
+        @Override
+        protected void recombination()
+        {
+            offsprings = crossover(parents);
+        }
+
+        @Override
+        protected void mutation()
+        {
+            offsprings = mutate(offsprings);
+        }
+
+        @Override
+        protected void replacement()
+        {
+            population = selectPopulation(offsprings);
+        }
+
+        @Override
+        protected void findBest()
+        {
+            bestSparseChromosome = getBestChromosome(population);
+        }
+
+        @Override
+        protected double getBestCost()
+        {
+            evaluate(bestSparseChromosome);
+            return bestSparseChromosome.getCost();
+        }
+
+        @Override
+        protected boolean isBestFeasible()
+        {
+            evaluate(bestSparseChromosome);
+            return bestSparseChromosome.getInfeasibility() == 0.0;
+        }
+
+        @Override
+        protected Solution<Double> decodeBest()
+        {
+            return toSolution(bestSparseChromosome);
+        }
+
+        @Override
+        protected boolean improveBest()
+        {
+            return localSearch(bestSparseChromosome);
+        }
+
+        @Override
+        protected void endGeneration()
+        {
+            onGenerationEnd(population);
+        }
+    }
+
+    /**
+     * Decodes the chromosome unless its evaluation is cached.
+     */
+    protected void evaluate(SparseChromosome chromosome)
+    {
+        if (chromosome.isEvaluated()) {
+            metrics.recordCacheHit();
+            return;
+        }
+        decode(chromosome);
+    }
+
+    /**
+     * Decodes the chromosome, keeping its evaluation.
+     */
+    protected DecodedSolution decode(SparseChromosome chromosome)
+    {
+        long start = System.nanoTime();
+        DecodedSolution decoded = getProblem().decodeSparse(chromosome.loci(), chromosome.values(), chromosome.nonZeroCount());
+        chromosome.setEvaluation(decoded.getNumberOfUsedMachines(), decoded.getUnsatisfiedDemandSum());
+        if (keepsPlan(decoded))
+            keepPlan(chromosome.toDense(), decoded);
+        metrics.recordEvaluation(System.nanoTime() - start);
+        if (decoded.getUnsatisfiedDemandSum() == 0.0)
+            metrics.recordFeasible();
+        return decoded;
+    }
+
+    /**
+     * Same fitness as {@link GA_Satisfactory#fitness}.
+     */
+    protected double fitness(SparseChromosome chromosome)
+    {
+        // Encourage feasibility over time
+        double penaltyMultiplier = currentGeneration / 100.0;
+        evaluate(chromosome);
+        return -chromosome.getCost() - penaltyMultiplier * chromosome.getInfeasibility();
+    }
+
+    protected Solution<Double> toSolution(SparseChromosome chromosome)
+    {
+        evaluate(chromosome);
+        Solution<Double> solution = createEmptySol();
+        for (double gene : chromosome.toDense()) {
+            solution.add(gene);
+        }
+        solution.setEvaluation(new Evaluation(chromosome.getCost(), chromosome.getInfeasibility()));
+        attachPlan(solution);
+        return solution;
+    }
+
+    /**
+     * Same distribution as {@link GA_Satisfactory#generateRandomChromosome}: each gene is zero with
+     * probability {@link #biasToMutateToZero} and uniform otherwise, but only the loci of the
+     * non-zero genes are drawn.
+     */
+    protected SparseChromosome generateRandomSparseChromosome()
+    {
+        double nonZeroProbability = 1.0 - biasToMutateToZero;
+        SparseChromosome chromosome = new SparseChromosome(chromosomeSize, (int) (chromosomeSize * nonZeroProbability) + 1);
+        if (nonZeroProbability <= 0.0)
+            return chromosome;
+
+        double logZeroProbability = Math.log(biasToMutateToZero);
+        for (long locus = -1; ; ) {
+            long gap = nonZeroProbability >= 1.0 ? 0 : (long) (Math.log(1.0 - rng.nextDouble()) / logZeroProbability);
+            if (gap >= chromosomeSize - locus - 1)
+                break;
+            locus += gap + 1;
+            chromosome.append((int) locus, rng.nextDouble());
+        }
+        return chromosome;
+    }
+
+    protected List<SparseChromosome> initializeSparsePopulation()
+    {
+        List<SparseChromosome> population = new ArrayList<>(popSize);
+        while (population.size() < popSize) {
+            population.add(generateRandomSparseChromosome());
+        }
+        return population;
+    }
+
+    /**
+     * Replaces the first members of the initial population with seeds, see
+     * {@link #seedPopulation(Population)}.
+     */
+    protected void seedPopulation(List<SparseChromosome> population)
+    {
+        int seeds = getSeedCount(population.size());
+        double[] genes = new double[chromosomeSize];
+        for (int i = 0; i < seeds; i++) {
+            seed(genes, i);
+            population.get(i).assign(genes);
+        }
+    }
+
+    protected SparseChromosome getBestChromosome(List<SparseChromosome> population)
+    {
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        SparseChromosome best = null;
+        for (SparseChromosome c : population) {
+            double fitness = fitness(c);
+            if (fitness > bestFitness) {
+                bestFitness = fitness;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    protected SparseChromosome getWorseChromosome(List<SparseChromosome> population)
+    {
+        double worseFitness = Double.POSITIVE_INFINITY;
+        SparseChromosome worse = null;
+        for (SparseChromosome c : population) {
+            double fitness = fitness(c);
+            if (fitness < worseFitness) {
+                worseFitness = fitness;
+                worse = c;
+            }
+        }
+        return worse;
+    }
+
+    /**
+     * Tournament selection, see {@link #selectParents(Population)}.
+     */
+    protected List<SparseChromosome> selectParents(List<SparseChromosome> population)
+    {
+        List<SparseChromosome> parents = new ArrayList<>(popSize);
+        while (parents.size() < popSize) {
+            SparseChromosome parent1 = population.get(rng.nextInt(popSize));
+            SparseChromosome parent2 = population.get(rng.nextInt(popSize));
+            parents.add(fitness(parent1) > fitness(parent2) ? parent1 : parent2);
+        }
+        return parents;
+    }
+
+    /**
+     * 2-point crossover, see {@link #crossover(Population)}.
+     */
+    protected List<SparseChromosome> crossover(List<SparseChromosome> parents)
+    {
+        List<SparseChromosome> offsprings = new ArrayList<>(popSize);
+        for (int i = 0; i < popSize; i = i + 2) {
+            int crosspoint1 = rng.nextInt(chromosomeSize + 1);
+            int crosspoint2 = crosspoint1 + rng.nextInt((chromosomeSize + 1) - crosspoint1);
+            SparseChromosome[] children = SparseChromosome.crossover(parents.get(i), parents.get(i + 1), crosspoint1, crosspoint2);
+            offsprings.add(children[0]);
+            offsprings.add(children[1]);
+        }
+        return offsprings;
+    }
+
+    /**
+     * Mutation with geometric skips over the loci of the whole population, see
+     * {@link #mutate(Population)}; the genes change as in {@link #mutateValue}. The offsprings are
+     * then repaired.
+     */
+    protected List<SparseChromosome> mutate(List<SparseChromosome> offsprings)
+    {
+        long loci = (long) offsprings.size() * chromosomeSize;
+        long index = -1;
+        while (true) {
+            long gap = nextMutationGap();
+            if (gap >= loci - index - 1)
+                break;
+            index += gap + 1;
+
+            SparseChromosome c = offsprings.get((int) (index / chromosomeSize));
+            int locus = (int) (index % chromosomeSize);
+            double previous = c.get(locus);
+            double value = mutateValue(previous);
+            if (value != previous)
+                c.set(locus, value);
+        }
+
+        repair(offsprings);
+        return offsprings;
+    }
+
+    /**
+     * Repairs the offsprings as {@link #repair(Population)} does: the offsprings not known to be
+     * feasible are decoded, keeping their evaluation, and the infeasible ones are repaired.
+     */
+    protected void repair(List<SparseChromosome> offsprings)
+    {
+        if (repair == null)
+            return;
+        if (repairGenes == null)
+            repairGenes = new double[chromosomeSize];
+        for (SparseChromosome c : offsprings) {
+            if (c.isEvaluated() && c.getInfeasibility() == 0.0)
+                continue;
+            DecodedSolution decoded = decode(c);
+            if (decoded.getUnsatisfiedDemandSum() == 0.0)
+                continue;
+            c.copyTo(repairGenes);
+            if (repair.repair(repairGenes, decoded))
+                c.assign(repairGenes);
+        }
+    }
+
+    /**
+     * Runs the local search on the genes of the chromosome, see {@link #localSearch(Chromosome)}.
+     */
+    protected boolean localSearch(SparseChromosome chromosome)
+    {
+        if (localSearch == null)
+            return false;
+        if (localSearchGenes == null)
+            localSearchGenes = new double[chromosomeSize];
+        chromosome.copyTo(localSearchGenes);
+        if (!localSearch.improve(localSearchGenes, metrics))
+            return false;
+        chromosome.assign(localSearchGenes);
+        return true;
+    }
+
+    /**
+     * Elitism, see {@link #selectPopulation(Population)}.
+     */
+    protected List<SparseChromosome> selectPopulation(List<SparseChromosome> offsprings)
+    {
+        SparseChromosome worse = getWorseChromosome(offsprings);
+        if (fitness(worse) < fitness(bestSparseChromosome)) {
+            offsprings.remove(worse);
+            offsprings.add(bestSparseChromosome);
+        }
+        return offsprings;
+    }
+
+    /**
+     * Same measure as {@link #computePopulationDiversity(Population)} (average variance across
+     * loci), from the per-locus sums and sums of squares of the non-zero genes.
+     */
+    protected double computePopulationDiversity(List<SparseChromosome> population)
+    {
+        if (population.isEmpty() || chromosomeSize == 0)
+            return 0.0;
+
+        double[] sums = new double[chromosomeSize];
+        double[] squares = new double[chromosomeSize];
+        for (SparseChromosome c : population) {
+            int[] loci = c.loci();
+            double[] values = c.values();
+            for (int i = 0; i < c.nonZeroCount(); i++) {
+                sums[loci[i]] += values[i];
+                squares[loci[i]] += values[i] * values[i];
+            }
+        }
+
+        return GeneKernels.get().varianceSum(sums, squares, population.size()) / chromosomeSize;
+    }
+
+    protected void onGenerationEnd(List<SparseChromosome> population)
+    {
+        commitGeneration();
+        double diversity = Double.NaN;
+        if (isDiversitySampled()) {
+            diversity = computePopulationDiversity(population);
+            metrics.recordPopulationDiversity(diversity);
+        }
+        if (trace != null) {
+            double best = Double.POSITIVE_INFINITY;
+            double worst = Double.NEGATIVE_INFINITY;
+            double sum = 0.0;
+            int feasible = 0;
+            for (SparseChromosome c : population) {
+                best = Math.min(best, c.getCost());
+                worst = Math.max(worst, c.getCost());
+                sum += c.getCost();
+                if (c.getInfeasibility() == 0.0)
+                    feasible++;
+            }
+            recordTrace(population.size(), best, sum / population.size(), worst, (double) feasible / population.size(), diversity);
+        }
+    }
+}
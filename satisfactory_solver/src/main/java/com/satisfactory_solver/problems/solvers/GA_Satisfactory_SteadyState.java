@@ -3,6 +3,7 @@ package com.satisfactory_solver.problems.solvers;
 import java.io.IOException;
 
 import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.metaheuristics.ga.metrics.GenerationEvent;
 
 public class GA_Satisfactory_SteadyState extends GA_Satisfactory
 {
@@ -12,16 +13,21 @@ public class GA_Satisfactory_SteadyState extends GA_Satisfactory
     }
 
     @Override
-    public Solution<Double> solve()
+    protected Solution<Double> runGenerations()
     {
         Population population = initializePopulation();
+        seedPopulation(population);
+        trackDiversity(population);
         bestChromosome = getBestChromosome(population);
-        bestSol = decode(bestChromosome);
-        logger.info(logPrefix + "(Gen. " + 0 + ") BestSol = " + bestSol);
+        bestSol = new Solution<>(decode(bestChromosome));
+        publishImprovement(0);
+        applyLocalSearch(true);
 
         long startTime = System.currentTimeMillis();
         for (currentGeneration = 1; currentGeneration <= generations; currentGeneration++)
         {
+            onGenerationStart();
+
             // Calculates number of individuals to be exchanged in the steady-state selection
             int replacementsCount = Math.max(2, (int) (0.04 * popSize));
             int generatedChildren = 0;
@@ -33,50 +39,64 @@ public class GA_Satisfactory_SteadyState extends GA_Satisfactory
                 Population parents = selectParents(population);
                 Chromosome parent1 = parents.get(rng.nextInt(parents.size()));
                 Chromosome parent2 = parents.get(rng.nextInt(parents.size()));
+                endPhase(GenerationEvent.Phase.SELECT);
 
                 // Generates new individuals and mutate them. Crossover strategy is currently the 2-point crossover
-                Population children = crossover(new Population() {{
-                    add(parent1);
-                    add(parent2);
-                }});
+                pairBuffer.clear();
+                pairBuffer.add(parent1);
+                pairBuffer.add(parent2);
+                Population children = crossover(pairBuffer);
+                endPhase(GenerationEvent.Phase.CROSSOVER);
                 children = mutate(children);
+                endPhase(GenerationEvent.Phase.MUTATE);
 
-                // Evaluating new individuals and exchanging worst individuals in the current population
+                // Evaluating new individuals and exchanging worst individuals in the current population.
+                // Replaced individuals and rejected (or unused) children go back to the pool
                 for (Chromosome child : children)
                 {
+                    if (generatedChildren >= replacementsCount)
+                    {
+                        releaseChromosome(child);
+                        continue;
+                    }
+
                     Chromosome worst = getWorseChromosome(population);
                     double childFitness = fitness(child);
                     double worstFitness = fitness(worst);
                     if (childFitness > worstFitness)
                     {
-                        population.remove(worst);
-                        population.add(child);
+                        releaseChromosome(replaceInPopulation(population, worst, child));
                     }
+                    else
+                        releaseChromosome(child);
 
                     // Incrementing generated children count
                     generatedChildren++;
-                    if (generatedChildren >= replacementsCount)
-                        break;
                 }
+                endPhase(GenerationEvent.Phase.EVALUATE);
             }
 
             // Update best solution
             bestChromosome = getBestChromosome(population);
             Solution<Double> bestSolCurrentGen = decode(bestChromosome);
+            boolean improved = false;
             if (bestSolCurrentGen.cost < bestSol.cost && ObjFunction.isFeasible(bestSolCurrentGen)) {
-                bestSol = bestSolCurrentGen;
-                if (verbose)
-					logger.info(logPrefix + "(Gen. " + currentGeneration + ") BestSol = " + bestSol);
+                bestSol = new Solution<>(bestSolCurrentGen);
+                publishImprovement(currentGeneration);
+                improved = true;
             }
+            applyLocalSearch(improved);
+
+            onGenerationEnd(population);
 
             long currentTime = System.currentTimeMillis();
             if (timeoutInSeconds != null && (currentTime - startTime) >= timeoutInSeconds * 1000)
             {
-                logger.warning(logPrefix + "Timeout reached after " + timeoutInSeconds + " seconds.");
+                publishTimeout();
                 break;
             }
             if (targetCostToStop != null && bestSol.cost <= targetCostToStop) {
-                logger.info(logPrefix + "Target cost to stop reached: " + bestSol.cost + " <= " + targetCostToStop);
+                publishTargetReached();
                 break;  
             }
         }
@@ -90,7 +110,8 @@ public class GA_Satisfactory_SteadyState extends GA_Satisfactory
     @Override
     protected Population crossover(Population parents)
     {
-        Population offsprings = new Population();
+        Population offsprings = offspringsBuffer;
+        offsprings.clear();
     
         Chromosome parent1 = parents.get(0);
         Chromosome parent2 = parents.get(1);
@@ -107,8 +128,8 @@ public class GA_Satisfactory_SteadyState extends GA_Satisfactory
             crosspoint2 = temp;
         }
     
-        Chromosome offspring1 = new Chromosome();
-        Chromosome offspring2 = new Chromosome();
+        Chromosome offspring1 = obtainChromosome();
+        Chromosome offspring2 = obtainChromosome();
     
         for (int j = 0; j < chromosomeSize; j++) {
             if (j >= crosspoint1 && j < crosspoint2) {
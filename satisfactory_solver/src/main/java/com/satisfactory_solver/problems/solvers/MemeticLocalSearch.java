@@ -0,0 +1,233 @@
+package com.satisfactory_solver.problems.solvers;
+
+import java.util.Random;
+
+import com.satisfactory_solver.decoder.DecodeCheckpoints;
+import com.satisfactory_solver.decoder.DecodeMode;
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.metaheuristics.ga.metrics.SolverMetrics;
+
+/**
+ * First-improvement local search over the recipe proportions of a chromosome, used by the GA on
+ * its best chromosome (see {@link GA_Satisfactory#setLocalSearch}).
+ *
+ * The gene groups (the recipes of an item) are visited in random order, and for each group the
+ * moves are tried on its normalized proportions: zeroing out a recipe, and shifting all or half of
+ * the share of a recipe to another one. The first move that lowers the infeasibility, or the
+ * number of machines at equal infeasibility, is kept. Sweeps are repeated until one improves
+ * nothing or the time budget runs out. Groups of items without demand, whose recipes are all
+ * unused, are skipped, as no move on them changes the solution.
+ *
+ * Moves are evaluated with {@link Decoder#resume} from the last checkpoint before the group, so
+ * the items decoded before it are not decoded again.
+ */
+public class MemeticLocalSearch {
+    public static final long DEFAULT_TIME_BUDGET_NANOS = 50_000_000L;
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+
+    protected final Decoder decoder;
+    protected final int[] groupOffsets;
+
+    /** index of the recipe of every gene in the decodings, see {@link Decoder#getGeneRecipes} */
+    protected final int[] geneRecipes;
+
+    protected final long timeBudgetNanos;
+    protected final DecodeCheckpoints checkpoints;
+    protected final Random rng;
+
+    protected final int[] groupOrder;
+
+    /** genes of the group being searched, restored after a rejected move */
+    protected final double[] savedGenes;
+
+    protected final double[] proportions;
+
+    protected long evaluations;
+    protected long improvements;
+
+    public MemeticLocalSearch(Decoder decoder, Random rng) {
+        this(decoder, DecodeMode.CONTINUOUS, rng);
+    }
+
+    /**
+     * @param mode mode of the decodings, that of the problem the GA solves
+     */
+    public MemeticLocalSearch(Decoder decoder, DecodeMode mode, Random rng) {
+        this(decoder, mode, DEFAULT_TIME_BUDGET_NANOS, DEFAULT_CHECKPOINT_INTERVAL, rng);
+    }
+
+    /**
+     * @param timeBudgetNanos time a call to {@link #improve} may take, besides finishing the move
+     *        it is evaluating
+     * @param checkpointInterval number of items between two saved decoder states, see
+     *        {@link DecodeCheckpoints}
+     */
+    public MemeticLocalSearch(Decoder decoder, long timeBudgetNanos, int checkpointInterval, Random rng) {
+        this(decoder, DecodeMode.CONTINUOUS, timeBudgetNanos, checkpointInterval, rng);
+    }
+
+    public MemeticLocalSearch(Decoder decoder, DecodeMode mode, long timeBudgetNanos, int checkpointInterval,
+            Random rng) {
+        this.decoder = decoder;
+        this.groupOffsets = decoder.getGeneGroupOffsets();
+        this.geneRecipes = decoder.getGeneRecipes();
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.checkpoints = new DecodeCheckpoints(checkpointInterval, mode);
+        this.rng = rng;
+        this.groupOrder = new int[groupOffsets.length - 1];
+        for (int group = 0; group < groupOrder.length; group++) {
+            groupOrder[group] = group;
+        }
+        int largestGroup = 0;
+        for (int group = 0; group < groupOrder.length; group++) {
+            largestGroup = Math.max(largestGroup, groupOffsets[group + 1] - groupOffsets[group]);
+        }
+        this.savedGenes = new double[largestGroup];
+        this.proportions = new double[largestGroup];
+    }
+
+    /**
+     * Improves the chromosome in place.
+     *
+     * @param metrics if not null, records every decoding as an evaluation
+     * @return whether the chromosome was changed, i.e. improved
+     */
+    public boolean improve(double[] genes, SolverMetrics metrics) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        long start = System.nanoTime();
+        DecodedSolution current = decoder.decode(genes, checkpoints);
+        record(metrics, start);
+        double cost = current.getNumberOfUsedMachines();
+        double infeasibility = current.getUnsatisfiedDemandSum();
+
+        for (int i = groupOrder.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int swapped = groupOrder[i];
+            groupOrder[i] = groupOrder[j];
+            groupOrder[j] = swapped;
+        }
+
+        boolean improved = false;
+        boolean sweepImproved = true;
+        while (sweepImproved && System.nanoTime() < deadline) {
+            sweepImproved = false;
+            for (int group : groupOrder) {
+                if (System.nanoTime() >= deadline)
+                    break;
+                int from = groupOffsets[group];
+                int to = groupOffsets[group + 1];
+                if (!isUsed(current, from, to))
+                    continue;
+
+                DecodedSolution better = improveGroup(genes, from, to, cost, infeasibility, deadline, metrics);
+                if (better != null) {
+                    current = better;
+                    cost = better.getNumberOfUsedMachines();
+                    infeasibility = better.getUnsatisfiedDemandSum();
+                    improvements++;
+                    improved = true;
+                    sweepImproved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Tries the moves on the group until one improves the solution.
+     *
+     * @return the decoding of the chromosome after the improving move, which is kept in
+     *         {@code genes}, or null if no move improves (the genes are then unchanged)
+     */
+    protected DecodedSolution improveGroup(double[] genes, int from, int to, double cost, double infeasibility,
+            long deadline, SolverMetrics metrics) {
+        int n = to - from;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            savedGenes[i] = genes[from + i];
+            sum += savedGenes[i];
+        }
+        for (int i = 0; i < n; i++) {
+            // the decoder splits a group summing to zero evenly
+            proportions[i] = sum == 0.0 ? 1.0 / n : savedGenes[i] / sum;
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (proportions[i] == 0.0)
+                continue;
+            // move 0: zero out recipe i, moves 1 to 2 * n: shift all or half of its share to recipe j
+            for (int move = 0; move <= 2 * n; move++) {
+                int j = (move - 1) / 2;
+                if (move > 0 && j == i)
+                    continue;
+                if (System.nanoTime() >= deadline)
+                    return null;
+
+                for (int k = 0; k < n; k++) {
+                    genes[from + k] = proportions[k];
+                }
+                if (move == 0) {
+                    genes[from + i] = 0.0;
+                } else {
+                    double shifted = move % 2 == 1 ? proportions[i] : proportions[i] / 2;
+                    genes[from + i] -= shifted;
+                    genes[from + j] += shifted;
+                }
+
+                long start = System.nanoTime();
+                DecodedSolution decoded = decoder.resume(genes, checkpoints, from, false);
+                record(metrics, start);
+                if (isBetter(decoded, cost, infeasibility)) {
+                    // the checkpoints after the group now depend on the new genes
+                    return decoder.resume(genes, checkpoints, from, true);
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            genes[from + i] = savedGenes[i];
+        }
+        return null;
+    }
+
+    protected boolean isBetter(DecodedSolution decoded, double cost, double infeasibility) {
+        double decodedInfeasibility = decoded.getUnsatisfiedDemandSum();
+        if (decodedInfeasibility != infeasibility)
+            return decodedInfeasibility < infeasibility;
+        return decoded.getNumberOfUsedMachines() < cost;
+    }
+
+    /**
+     * @return whether a recipe of the group is used by the solution
+     */
+    protected boolean isUsed(DecodedSolution decoded, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (decoded.getRecipeUsage(geneRecipes[i]) > 0.0)
+                return true;
+        }
+        return false;
+    }
+
+    protected void record(SolverMetrics metrics, long start) {
+        evaluations++;
+        if (metrics != null)
+            metrics.recordEvaluation(System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of decodings, full or resumed, made by the search
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * @return the number of improving moves kept
+     */
+    public long getImprovements() {
+        return improvements;
+    }
+}
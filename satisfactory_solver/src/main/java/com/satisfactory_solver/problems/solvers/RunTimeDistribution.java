@@ -0,0 +1,117 @@
+package com.satisfactory_solver.problems.solvers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Empirical distribution of the time a solver needs to reach a target cost, built from independent
+ * runs. Runs that did not reach the target (timeout or failure) are right-censored: they count in
+ * the number of runs but have no time, so the ECDF never reaches 1 when some run failed.
+ */
+public class RunTimeDistribution {
+    protected final double[] sortedTimes;
+    protected final int runs;
+
+    /**
+     * @param successfulTimes
+     *            times (in seconds) of the runs that reached the target
+     * @param runs
+     *            total number of runs, including the unsuccessful ones
+     */
+    public RunTimeDistribution(List<Double> successfulTimes, int runs) {
+        if (successfulTimes.size() > runs) {
+            throw new IllegalArgumentException("More successful times (" + successfulTimes.size() + ") than runs (" + runs + ")");
+        }
+        this.sortedTimes = successfulTimes.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        this.runs = runs;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getSuccesses() {
+        return sortedTimes.length;
+    }
+
+    public double[] getSortedTimes() {
+        return sortedTimes.clone();
+    }
+
+    public double successRate() {
+        return runs == 0 ? 0.0 : (double) sortedTimes.length / runs;
+    }
+
+    /**
+     * @return the fraction of all runs that reached the target within {@code time} seconds
+     */
+    public double ecdf(double time) {
+        if (runs == 0) {
+            return 0.0;
+        }
+        int idx = Arrays.binarySearch(sortedTimes, time);
+        int count;
+        if (idx < 0) {
+            count = -idx - 1;
+        } else {
+            // count every occurrence of time
+            count = idx + 1;
+            while (count < sortedTimes.length && sortedTimes[count] == time) count++;
+        }
+        return (double) count / runs;
+    }
+
+    /**
+     * Median over all runs, or {@code +Infinity} when fewer than half of the runs succeeded.
+     */
+    public double median() {
+        if (runs == 0) {
+            return Double.NaN;
+        }
+        int k = (runs + 1) / 2; // the k-th smallest time, unsuccessful runs being the largest
+        return k <= sortedTimes.length ? sortedTimes[k - 1] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Points of the time-to-target plot (Aiex, Resende and Ribeiro): the i-th smallest successful
+     * time (1-based) is paired with the probability {@code p_i = (i - 0.5) / n} and with the
+     * corresponding quantile {@code -ln(1 - p_i)} of the unit exponential distribution, where
+     * {@code n} is the number of successful runs.
+     *
+     * @return one {@code {time, p_i, exponential quantile}} row per successful run
+     */
+    public double[][] tttPlot() {
+        int n = sortedTimes.length;
+        double[][] points = new double[n][];
+        for (int i = 1; i <= n; i++) {
+            double p = (i - 0.5) / n;
+            points[i - 1] = new double[] { sortedTimes[i - 1], p, -Math.log(1.0 - p) };
+        }
+        return points;
+    }
+
+    /**
+     * Estimates P(T_this &lt; T_other) for independent draws of both distributions, counting ties
+     * as one half (the Mann-Whitney statistic normalized by the number of pairs). Unsuccessful runs
+     * are slower than every successful one and tie among themselves.
+     */
+    public double probabilityFasterThan(RunTimeDistribution other) {
+        if (runs == 0 || other.runs == 0) {
+            return Double.NaN;
+        }
+        double wins = 0.0;
+        int j = 0; // other times strictly smaller than the current time
+        for (int i = 0; i < sortedTimes.length; i++) {
+            double t = sortedTimes[i];
+            while (j < other.sortedTimes.length && other.sortedTimes[j] < t) j++;
+            int ties = 0;
+            while (j + ties < other.sortedTimes.length && other.sortedTimes[j + ties] == t) ties++;
+            int slower = other.runs - j - ties; // includes the other's unsuccessful runs
+            wins += slower + 0.5 * ties;
+        }
+        int failures = runs - sortedTimes.length;
+        int otherFailures = other.runs - other.sortedTimes.length;
+        wins += 0.5 * failures * otherFailures;
+        return wins / ((double) runs * other.runs);
+    }
+}
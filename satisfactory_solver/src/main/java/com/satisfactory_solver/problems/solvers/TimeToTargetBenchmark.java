@@ -0,0 +1,383 @@
+package com.satisfactory_solver.problems.solvers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.satisfactory_solver.decoder.Solution;
+
+/**
+ * Time-to-target benchmark over an instance x solver x target matrix. Every cell is run
+ * {@code runs} times after {@code warmup} discarded runs per instance and solver (JIT compilation,
+ * instance loading), and the results are written with a fixed locale to:
+ * <ul>
+ * <li>{@code <output>_runs.csv}: one row per measured run;</li>
+ * <li>{@code <output>_ttt.csv}: time-to-target plot points of every cell;</li>
+ * <li>{@code <output>_pairwise.csv}: P(T_A &lt; T_B) for every pair of solvers of an instance and target;</li>
+ * <li>{@code <output>.json}: all of the above plus the configuration and summary statistics.</li>
+ * </ul>
+ *
+ * Usage (every option is optional, lists are comma separated):
+ * <pre>
+ * TimeToTargetBenchmark --instances instances/phase3.json,instances/phase5.json
+ *     --solvers GA_Satisfactory,GA_Satisfactory_LHS --targets 200,400 --runs 30
+ *     --warmup 1 --warmup-seconds 10 --timeout 600 --parallelism 6
+ *     --pop-size 100 --mutation-rate 0.01 --output time_to_target
+ * </pre>
+ * Solvers are GA_Satisfactory subclasses of this package, given by simple name.
+ */
+public class TimeToTargetBenchmark {
+    static class Config {
+        List<String> instances = List.of("instances/random_instance_1000_recipes_1.json");
+        List<String> solvers = List.of(
+            "GA_Satisfactory_Unbiased",
+            "GA_Satisfactory",
+            "GA_Satisfactory_SteadyState",
+            "GA_Satisfactory_LHS",
+            "GA_Satisfactory_HybridAdaptiveMutation"
+        );
+        List<Double> targets = List.of(400.0);
+        int runs = 30;
+        int warmupRuns = 1;
+        long warmupSeconds = 10;
+        long timeoutSeconds = 600;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int popSize = 100;
+        double mutationRate = 1.0 / 100.0;
+        String output = "time_to_target";
+
+        static Config parse(String[] args) {
+            Config config = new Config();
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for option " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--instances" -> config.instances = splitList(value);
+                    case "--solvers" -> config.solvers = splitList(value);
+                    case "--targets" -> config.targets = splitList(value).stream().map(Double::parseDouble).collect(Collectors.toList());
+                    case "--runs" -> config.runs = Integer.parseInt(value);
+                    case "--warmup" -> config.warmupRuns = Integer.parseInt(value);
+                    case "--warmup-seconds" -> config.warmupSeconds = Long.parseLong(value);
+                    case "--timeout" -> config.timeoutSeconds = Long.parseLong(value);
+                    case "--parallelism" -> config.parallelism = Integer.parseInt(value);
+                    case "--pop-size" -> config.popSize = Integer.parseInt(value);
+                    case "--mutation-rate" -> config.mutationRate = Double.parseDouble(value);
+                    case "--output" -> config.output = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            return config;
+        }
+
+        private static List<String> splitList(String value) {
+            return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    static class Run {
+        String instance;
+        String solver;
+        double target;
+        int run;
+        boolean success;
+        double timeSeconds;
+        double bestCost;
+        String error;
+
+        Run(String instance, String solver, double target, int run, boolean success, double timeSeconds, double bestCost, String error) {
+            this.instance = instance;
+            this.solver = solver;
+            this.target = target;
+            this.run = run;
+            this.success = success;
+            this.timeSeconds = timeSeconds;
+            this.bestCost = bestCost;
+            this.error = error;
+        }
+    }
+
+    protected final Config config;
+    protected final Map<String, Class<? extends GA_Satisfactory>> solverClasses = new LinkedHashMap<>();
+    protected final Logger logger = Logger.getLogger(TimeToTargetBenchmark.class.getName());
+
+    public TimeToTargetBenchmark(Config config) {
+        this.config = config;
+        for (String solver : config.solvers) {
+            solverClasses.put(solver, loadSolverClass(solver));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Class<? extends GA_Satisfactory> loadSolverClass(String simpleName) {
+        try {
+            Class<?> cls = Class.forName(TimeToTargetBenchmark.class.getPackageName() + "." + simpleName);
+            if (!GA_Satisfactory.class.isAssignableFrom(cls)) {
+                throw new IllegalArgumentException(simpleName + " is not a GA_Satisfactory solver");
+            }
+            return (Class<? extends GA_Satisfactory>) cls;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown solver " + simpleName, e);
+        }
+    }
+
+    /**
+     * Runs the warm-up and then all measured runs of the matrix.
+     *
+     * @return the measured runs, ordered by instance, solver, target and run number
+     */
+    public List<Run> execute() throws InterruptedException, ExecutionException {
+        ExecutorService exec = Executors.newFixedThreadPool(config.parallelism);
+        try {
+            List<Future<Run>> warmup = new ArrayList<>();
+            for (String instance : config.instances) {
+                for (String solver : config.solvers) {
+                    for (int run = 1; run <= config.warmupRuns; run++) {
+                        final int runIdx = run;
+                        warmup.add(exec.submit(() -> runOnce(instance, solver, Double.NEGATIVE_INFINITY, runIdx, config.warmupSeconds)));
+                    }
+                }
+            }
+            for (Future<Run> f : warmup) {
+                f.get();
+            }
+            logger.info("Warm-up finished (" + warmup.size() + " runs)");
+
+            List<Future<Run>> futures = new ArrayList<>();
+            for (String instance : config.instances) {
+                for (String solver : config.solvers) {
+                    for (double target : config.targets) {
+                        for (int run = 1; run <= config.runs; run++) {
+                            final int runIdx = run;
+                            futures.add(exec.submit(() -> runOnce(instance, solver, target, runIdx, config.timeoutSeconds)));
+                        }
+                    }
+                }
+            }
+            List<Run> results = new ArrayList<>(futures.size());
+            for (Future<Run> f : futures) {
+                Run r = f.get();
+                results.add(r);
+                logger.info(String.format(Locale.ROOT, "%s %s target=%.1f run=%d success=%b time=%.3fs",
+                        r.instance, r.solver, r.target, r.run, r.success, r.timeSeconds));
+            }
+            return results;
+        } finally {
+            exec.shutdown();
+            exec.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+
+    protected Run runOnce(String instance, String solver, double target, int run, long timeoutSeconds) {
+        GA_Satisfactory gaInstance;
+        try {
+            gaInstance = solverClasses.get(solver).getConstructor(Integer.class, Integer.class, Double.class, String.class, Long.class)
+                    .newInstance(Integer.MAX_VALUE, config.popSize, config.mutationRate, instance, timeoutSeconds);
+        } catch (Exception e) {
+            return new Run(instance, solver, target, run, false, Double.NaN, Double.NaN, "instantiation failed: " + e);
+        }
+
+        Logger solverLogger = Logger.getLogger(TimeToTargetBenchmark.class.getName() + ".solver");
+        solverLogger.setLevel(Level.WARNING); // keep timeouts, drop the per-improvement lines
+        gaInstance.setLogger(solverLogger);
+        gaInstance.setLogPrefix("[" + solver + " " + Paths.get(instance).getFileName() + " #" + run + "] ");
+        if (target != Double.NEGATIVE_INFINITY) {
+            gaInstance.setTargetCostToStop(target);
+        }
+
+        long tStart = System.nanoTime();
+        try {
+            Solution<Double> best = gaInstance.solve();
+            double timeSec = (System.nanoTime() - tStart) / 1e9;
+            return new Run(instance, solver, target, run, best.cost <= target, timeSec, best.cost, null);
+        } catch (Exception e) {
+            double timeSec = (System.nanoTime() - tStart) / 1e9;
+            return new Run(instance, solver, target, run, false, timeSec, Double.NaN, "solve failed: " + e);
+        } finally {
+            gaInstance.getProblem().close();
+        }
+    }
+
+    /**
+     * Groups the runs into one distribution per instance, solver and target, in matrix order.
+     */
+    protected Map<String, Map<Double, Map<String, RunTimeDistribution>>> distributions(List<Run> results) {
+        Map<String, Map<Double, Map<String, RunTimeDistribution>>> byInstance = new LinkedHashMap<>();
+        for (String instance : config.instances) {
+            Map<Double, Map<String, RunTimeDistribution>> byTarget = new LinkedHashMap<>();
+            for (double target : config.targets) {
+                Map<String, RunTimeDistribution> bySolver = new LinkedHashMap<>();
+                for (String solver : config.solvers) {
+                    List<Run> cell = results.stream()
+                            .filter(r -> r.instance.equals(instance) && r.solver.equals(solver) && r.target == target)
+                            .collect(Collectors.toList());
+                    List<Double> times = cell.stream().filter(r -> r.success).map(r -> r.timeSeconds).collect(Collectors.toList());
+                    bySolver.put(solver, new RunTimeDistribution(times, cell.size()));
+                }
+                byTarget.put(target, bySolver);
+            }
+            byInstance.put(instance, byTarget);
+        }
+        return byInstance;
+    }
+
+    public void writeResults(List<Run> results) throws IOException {
+        Map<String, Map<Double, Map<String, RunTimeDistribution>>> dists = distributions(results);
+
+        try (Writer writer = Files.newBufferedWriter(Paths.get(config.output + "_runs.csv"))) {
+            writer.write("instance,solver,target,run,success,time_seconds,best_cost,error\n");
+            for (Run r : results) {
+                String err = (r.error == null) ? "" : r.error.replaceAll("[,\n]", ";");
+                writer.write(String.format(Locale.ROOT, "%s,%s,%.6f,%d,%b,%.6f,%.6f,%s\n",
+                        r.instance, r.solver, r.target, r.run, r.success, r.timeSeconds, r.bestCost, err));
+            }
+        }
+
+        try (Writer writer = Files.newBufferedWriter(Paths.get(config.output + "_ttt.csv"))) {
+            writer.write("instance,solver,target,rank,time_seconds,probability,exponential_quantile\n");
+            for (var byInstance : dists.entrySet()) {
+                for (var byTarget : byInstance.getValue().entrySet()) {
+                    for (var bySolver : byTarget.getValue().entrySet()) {
+                        double[][] points = bySolver.getValue().tttPlot();
+                        for (int i = 0; i < points.length; i++) {
+                            writer.write(String.format(Locale.ROOT, "%s,%s,%.6f,%d,%.6f,%.6f,%.6f\n",
+                                    byInstance.getKey(), bySolver.getKey(), byTarget.getKey(), i + 1,
+                                    points[i][0], points[i][1], points[i][2]));
+                        }
+                    }
+                }
+            }
+        }
+
+        try (Writer writer = Files.newBufferedWriter(Paths.get(config.output + "_pairwise.csv"))) {
+            writer.write("instance,target,solver_a,solver_b,p_a_faster\n");
+            for (var byInstance : dists.entrySet()) {
+                for (var byTarget : byInstance.getValue().entrySet()) {
+                    for (var a : byTarget.getValue().entrySet()) {
+                        for (var b : byTarget.getValue().entrySet()) {
+                            if (a.getKey().equals(b.getKey())) continue;
+                            writer.write(String.format(Locale.ROOT, "%s,%.6f,%s,%s,%.6f\n",
+                                    byInstance.getKey(), byTarget.getKey(), a.getKey(), b.getKey(),
+                                    a.getValue().probabilityFasterThan(b.getValue())));
+                        }
+                    }
+                }
+            }
+        }
+
+        writeJson(Paths.get(config.output + ".json"), dists);
+    }
+
+    protected void writeJson(Path path, Map<String, Map<Double, Map<String, RunTimeDistribution>>> dists) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("config");
+            writeStringArray(json, "instances", config.instances);
+            writeStringArray(json, "solvers", config.solvers);
+            json.writeArrayFieldStart("targets");
+            for (double target : config.targets) json.writeNumber(target);
+            json.writeEndArray();
+            json.writeNumberField("runs", config.runs);
+            json.writeNumberField("warmup_runs", config.warmupRuns);
+            json.writeNumberField("warmup_seconds", config.warmupSeconds);
+            json.writeNumberField("timeout_seconds", config.timeoutSeconds);
+            json.writeNumberField("pop_size", config.popSize);
+            json.writeNumberField("mutation_rate", config.mutationRate);
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("cells");
+            for (var byInstance : dists.entrySet()) {
+                for (var byTarget : byInstance.getValue().entrySet()) {
+                    for (var bySolver : byTarget.getValue().entrySet()) {
+                        RunTimeDistribution dist = bySolver.getValue();
+                        json.writeStartObject();
+                        json.writeStringField("instance", byInstance.getKey());
+                        json.writeStringField("solver", bySolver.getKey());
+                        json.writeNumberField("target", byTarget.getKey());
+                        json.writeNumberField("runs", dist.getRuns());
+                        json.writeNumberField("successes", dist.getSuccesses());
+                        json.writeNumberField("success_rate", dist.successRate());
+                        writeFinite(json, "median_seconds", dist.median());
+                        json.writeArrayFieldStart("ttt");
+                        for (double[] point : dist.tttPlot()) {
+                            json.writeStartObject();
+                            json.writeNumberField("time_seconds", point[0]);
+                            json.writeNumberField("probability", point[1]);
+                            json.writeNumberField("exponential_quantile", point[2]);
+                            json.writeEndObject();
+                        }
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("pairwise");
+            for (var byInstance : dists.entrySet()) {
+                for (var byTarget : byInstance.getValue().entrySet()) {
+                    for (var a : byTarget.getValue().entrySet()) {
+                        for (var b : byTarget.getValue().entrySet()) {
+                            if (a.getKey().equals(b.getKey())) continue;
+                            json.writeStartObject();
+                            json.writeStringField("instance", byInstance.getKey());
+                            json.writeNumberField("target", byTarget.getKey());
+                            json.writeStringField("solver_a", a.getKey());
+                            json.writeStringField("solver_b", b.getKey());
+                            writeFinite(json, "p_a_faster", a.getValue().probabilityFasterThan(b.getValue()));
+                            json.writeEndObject();
+                        }
+                    }
+                }
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeStringArray(JsonGenerator json, String field, List<String> values) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (String value : values) json.writeString(value);
+        json.writeEndArray();
+    }
+
+    /**
+     * JSON has no infinities nor NaN, so they are written as null.
+     */
+    private static void writeFinite(JsonGenerator json, String field, double value) throws IOException {
+        if (Double.isFinite(value)) {
+            json.writeNumberField(field, value);
+        } else {
+            json.writeNullField(field);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        TimeToTargetBenchmark benchmark = new TimeToTargetBenchmark(Config.parse(args));
+        List<Run> results = benchmark.execute();
+        benchmark.writeResults(results);
+    }
+}
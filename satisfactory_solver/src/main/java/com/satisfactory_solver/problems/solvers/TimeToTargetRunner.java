@@ -6,6 +6,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -81,6 +82,8 @@ public class TimeToTargetRunner {
                         long tEnd = System.currentTimeMillis();
                         double timeSec = (tEnd - tStart) / 1000.0;
                         return new Result(solverName, runIdx, false, timeSec, Double.NaN, "solve failed: " + e.toString());
+                    } finally {
+                        gaInstance.getProblem().close();
                     }
                 };
 
@@ -95,7 +98,7 @@ public class TimeToTargetRunner {
             for (Future<Result> f : futures) {
                 Result r = f.get();
                 String err = (r.error == null) ? "" : r.error.replaceAll(",", ";");
-                writer.write(String.format("%s,%d,%b,%.6f,%.6f,%s\n", r.solver, r.run, r.success, r.timeSeconds, Double.isNaN(r.bestCost) ? -1.0 : r.bestCost, err));
+                writer.write(String.format(Locale.ROOT, "%s,%d,%b,%.6f,%.6f,%s\n", r.solver, r.run, r.success, r.timeSeconds, Double.isNaN(r.bestCost) ? -1.0 : r.bestCost, err));
                 writer.flush();
             }
         }
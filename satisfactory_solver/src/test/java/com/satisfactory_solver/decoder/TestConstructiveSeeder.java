@@ -0,0 +1,62 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+public class TestConstructiveSeeder {
+    /**
+     * Ingots from ore with a recipe that needs more machines (A) or more ore (B).
+     */
+    protected static Decoder decoder(double oreSupply) {
+        List<Recipe> recipes = List.of(
+            new Recipe("A", List.of(new ItemUsage("Ore", 1)), List.of(new ItemUsage("Ingot", 2))),
+            new Recipe("B", List.of(new ItemUsage("Ore", 3)), List.of(new ItemUsage("Ingot", 4))));
+        return new Decoder(new Instance(recipes,
+            List.of(new ItemUsage("Ore", oreSupply)),
+            List.of(new ItemUsage("Ingot", 4))));
+    }
+
+    protected static double[] seed(ConstructiveSeeder seeder, Decoder decoder) {
+        double[] genes = new double[decoder.getChromosomeLength()];
+        seeder.seed(genes, new Random(0), 0.0);
+        return genes;
+    }
+
+    @Test
+    public void testCheapestRecipeWhenSupplyIsAmple() {
+        Decoder decoder = decoder(10);
+        ConstructiveSeeder seeder = new ConstructiveSeeder(decoder);
+        assertEquals(0, seeder.getPriceRounds());
+        assertEquals(0.25, seeder.getItemCost("Ingot"), 1e-12);
+
+        double[] genes = seed(seeder, decoder);
+        assertArrayEquals(new double[] { 0.0, 1.0 }, genes);
+        DecodedSolution decoded = decoder.decode(genes);
+        assertEquals(1, decoded.getNumberOfUsedMachines());
+        assertEquals(0.0, decoded.getUnsatisfiedDemandSum());
+    }
+
+    @Test
+    public void testOverusedRawMaterialIsPricedOut() {
+        // B needs 3 ore, only 2 are supplied: A, which needs 2 machines but 2 ore, is feasible
+        Decoder decoder = decoder(2);
+        ConstructiveSeeder seeder = new ConstructiveSeeder(decoder);
+        assertTrue(seeder.getPriceRounds() > 0);
+
+        double[] genes = seed(seeder, decoder);
+        assertArrayEquals(new double[] { 1.0, 0.0 }, genes);
+        DecodedSolution decoded = decoder.decode(genes);
+        assertEquals(2, decoded.getNumberOfUsedMachines());
+        assertEquals(0.0, decoded.getUnsatisfiedDemandSum());
+    }
+}
@@ -0,0 +1,52 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+
+public class TestDecodeCheckpoints {
+    protected static double[] random(int length, Random rng) {
+        double[] genes = new double[length];
+        for (int i = 0; i < length; i++) {
+            genes[i] = rng.nextDouble() < 0.7 ? 0.0 : rng.nextDouble();
+        }
+        return genes;
+    }
+
+    protected static void assertSameDecoding(DecodedSolution expected, DecodedSolution actual) {
+        assertEquals(expected.getRecipeUsages(), actual.getRecipeUsages());
+        assertEquals(expected.getItemLiquidDemand(), actual.getItemLiquidDemand());
+        assertEquals(expected.getNumberOfUsedMachines(), actual.getNumberOfUsedMachines());
+        assertEquals(expected.getUnsatisfiedDemandSum(), actual.getUnsatisfiedDemandSum());
+    }
+
+    @Test
+    public void testResumeMatchesFullDecode() {
+        Decoder decoder = new Decoder(new SyntheticInstanceGenerator().withRecipes(300).withDepth(5)
+                .withRawMaterials(10).withFinalProducts(3).withAlternateDensity(0.4).withSeed(3).generate());
+        Random rng = new Random(5);
+        double[] genes = random(decoder.getChromosomeLength(), rng);
+        DecodeCheckpoints checkpoints = new DecodeCheckpoints(4);
+
+        assertSameDecoding(decoder.decode(genes), decoder.decode(genes, checkpoints));
+        assertTrue(checkpoints.size() > 1);
+
+        for (int trial = 0; trial < 50; trial++) {
+            int locus = rng.nextInt(genes.length);
+            double previous = genes[locus];
+            genes[locus] = rng.nextDouble();
+            boolean record = trial % 2 == 0;
+            assertSameDecoding(decoder.decode(genes), decoder.resume(genes, checkpoints, locus, record));
+            if (!record) {
+                genes[locus] = previous;
+            }
+        }
+        // the checkpoints follow the recorded changes only
+        assertSameDecoding(decoder.decode(genes), decoder.resume(genes, checkpoints, genes.length - 1, false));
+    }
+}
@@ -0,0 +1,124 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+
+public class TestDecodedSolution {
+    protected static final double TOLERANCE = 1e-9;
+
+    protected static Decoder syntheticDecoder() {
+        return new Decoder(new SyntheticInstanceGenerator().withRecipes(300).withDepth(5).withRawMaterials(10)
+                .withFinalProducts(3).withAlternateDensity(0.4).withSeed(3).generate());
+    }
+
+    protected static double[] random(int length, Random rng) {
+        double[] genes = new double[length];
+        for (int i = 0; i < length; i++) {
+            genes[i] = rng.nextDouble() < 0.7 ? 0.0 : rng.nextDouble();
+        }
+        return genes;
+    }
+
+    /**
+     * Asserts that the single entries of {@code actual}, read before its maps are built, are those of
+     * {@code expected}, for every recipe and item of the decoder.
+     */
+    protected static void assertSameEntries(Decoder decoder, DecodedSolution expected, DecodedSolution actual) {
+        for (String recipe : decoder.recipeNames) {
+            assertEquals(expected.getRecipeUsage(recipe), actual.getRecipeUsage(recipe), recipe);
+        }
+        for (String item : decoder.itemNames) {
+            assertEquals(expected.getItemLiquidDemand(item), actual.getItemLiquidDemand(item), item);
+        }
+    }
+
+    @Test
+    public void testLazyMapsMatchMapConstructor() {
+        Decoder decoder = syntheticDecoder();
+        Random rng = new Random(1);
+        for (int trial = 0; trial < 10; trial++) {
+            double[] genes = random(decoder.getChromosomeLength(), rng);
+            DecodedSolution decoded = decoder.decode(genes);
+            DecodedSolution fromMaps = new DecodedSolution(decoded.getRecipeUsages(), decoded.getItemLiquidDemand());
+
+            // the numbers counted during the decoding are those of the maps
+            assertEquals(fromMaps.getNumberOfUsedMachines(), decoded.getNumberOfUsedMachines());
+            assertEquals(fromMaps.getUnsatisfiedDemandSum(), decoded.getUnsatisfiedDemandSum(), TOLERANCE);
+            assertSameEntries(decoder, fromMaps, decoder.decode(genes));
+        }
+    }
+
+    @Test
+    public void testSingleEntriesWithUnknownNames() {
+        Decoder decoder = syntheticDecoder();
+        double[] genes = random(decoder.getChromosomeLength(), new Random(2));
+        DecodedSolution decoded = decoder.decode(genes);
+        DecodedSolution fromMaps = new DecodedSolution(decoded.getRecipeUsages(), decoded.getItemLiquidDemand());
+
+        for (DecodedSolution solution : List.of(decoder.decode(genes), decoded, fromMaps)) {
+            assertEquals(0.0, solution.getRecipeUsage("No such recipe"));
+            assertEquals(0.0, solution.getItemLiquidDemand("No such item"));
+        }
+        for (Map.Entry<String, Double> entry : decoded.getRecipeUsages().entrySet()) {
+            assertEquals(entry.getValue(), decoded.getRecipeUsage(entry.getKey()));
+        }
+        for (Map.Entry<String, Double> entry : decoded.getItemLiquidDemand().entrySet()) {
+            assertEquals(entry.getValue(), decoded.getItemLiquidDemand(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testUntouchedEntriesStayOutOfMaps() {
+        // ingots from ore (A or B), plates from ingots (P); only ingots are demanded, so neither P
+        // nor the plates are ever reached
+        Decoder decoder = new Decoder(new Instance(
+            List.of(
+                new Recipe("A", List.of(new ItemUsage("Ore", 1)), List.of(new ItemUsage("Ingot", 2))),
+                new Recipe("B", List.of(new ItemUsage("Ore", 3)), List.of(new ItemUsage("Ingot", 4))),
+                new Recipe("P", List.of(new ItemUsage("Ingot", 2)), List.of(new ItemUsage("Plate", 1)))),
+            List.of(new ItemUsage("Ore", 10)),
+            List.of(new ItemUsage("Ingot", 4))));
+        DecodedSolution decoded = decoder.decode(new double[] { 1.0, 0.0 });
+
+        assertEquals(Map.of("A", 2.0, "B", 0.0), decoded.getRecipeUsages());
+        assertFalse(decoded.getItemLiquidDemand().containsKey("Plate"));
+        assertTrue(decoded.getItemLiquidDemand().containsKey("Ore"));
+        assertEquals(0.0, decoded.getRecipeUsage("P"));
+        assertEquals(0.0, decoded.getItemLiquidDemand("Plate"));
+    }
+
+    @Test
+    public void testResumeFromCheckpointsMatchesFullDecode() {
+        Decoder decoder = syntheticDecoder();
+        Random rng = new Random(4);
+        double[] genes = random(decoder.getChromosomeLength(), rng);
+        DecodeCheckpoints checkpoints = new DecodeCheckpoints(4);
+        decoder.decode(genes, checkpoints);
+
+        for (int trial = 0; trial < 20; trial++) {
+            int locus = rng.nextInt(genes.length);
+            genes[locus] = rng.nextDouble();
+            DecodedSolution expected = decoder.decode(genes);
+            DecodedSolution resumed = decoder.resume(genes, checkpoints, locus, true);
+
+            // the arrays copied from a checkpoint, then the maps built from them
+            assertSameEntries(decoder, expected, resumed);
+            assertEquals(expected.getRecipeUsages(), resumed.getRecipeUsages());
+            assertEquals(expected.getItemLiquidDemand(), resumed.getItemLiquidDemand());
+            assertEquals(expected.getNumberOfUsedMachines(), resumed.getNumberOfUsedMachines());
+            assertEquals(expected.getUnsatisfiedDemandSum(), resumed.getUnsatisfiedDemandSum());
+        }
+    }
+}
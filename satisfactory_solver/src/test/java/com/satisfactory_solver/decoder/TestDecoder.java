@@ -86,6 +86,16 @@ public class TestDecoder {
         assertEquals(decoder.getChromosomeLength(), 4); // "Byproduct Recipe" should not add a gene for "Iron Rod"
     }
 
+    @Test
+    public void testGeneRecipesMatchGenePositions() {
+        Decoder decoder = new Decoder(instance);
+        int[] geneRecipes = decoder.getGeneRecipes();
+        assertEquals(decoder.getChromosomeLength(), geneRecipes.length);
+        for (Map.Entry<Gene, Integer> entry : decoder.getGenePositions().entrySet()) {
+            assertEquals(entry.getKey().getRecipeName(), decoder.recipeNames[geneRecipes[entry.getValue()]]);
+        }
+    }
+
     @Test
     public void testDecode() {
         Decoder decoder = new Decoder(instance);
@@ -120,6 +130,30 @@ public class TestDecoder {
 
     }
 
+    @Test
+    public void testDecodeFillingMachines() {
+        List<Recipe> recipes = List.of(
+            new Recipe("A", List.of(new ItemUsage("Ore", 1)), List.of(new ItemUsage("Ingot", 2))),
+            new Recipe("B", List.of(new ItemUsage("Ore", 3)), List.of(new ItemUsage("Ingot", 4))));
+        Decoder decoder = new Decoder(new Instance(recipes,
+            List.of(new ItemUsage("Ore", 10)),
+            List.of(new ItemUsage("Ingot", 4.4))));
+        double[] chromosome = { 0.5, 0.5 };
+
+        // A needs 1.1 machines and B 0.55, so 2 and 1 machines are opened
+        DecodedSolution continuous = decoder.decode(chromosome, DecodeMode.CONTINUOUS);
+        assertEquals(1.1, continuous.getRecipeUsages().get("A"), 1e-12);
+        assertEquals(0.55, continuous.getRecipeUsages().get("B"), 1e-12);
+        assertEquals(3, continuous.getNumberOfUsedMachines());
+
+        // the 0.2 ingots of the second machine of A fit in the 1.8 spare ingots of the machine of B
+        DecodedSolution filled = decoder.decode(chromosome, DecodeMode.FILL_MACHINES);
+        assertEquals(1.0, filled.getRecipeUsages().get("A"), 1e-12);
+        assertEquals(0.6, filled.getRecipeUsages().get("B"), 1e-12);
+        assertEquals(2, filled.getNumberOfUsedMachines());
+        assertEquals(0.0, filled.getUnsatisfiedDemandSum());
+    }
+
     protected List<Double> buildChromosome(Map<Gene, Double> geneValues, Map<Gene, Integer> genePositions) {
         int chromosomeLength = genePositions.size();
         List<Double> chromosome = new ArrayList<>(chromosomeLength);
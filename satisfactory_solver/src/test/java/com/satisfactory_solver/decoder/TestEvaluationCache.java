@@ -0,0 +1,177 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+import com.satisfactory_solver.problems.Satisfactory;
+
+public class TestEvaluationCache {
+    @TempDir
+    protected Path tempDir;
+
+    protected SyntheticInstanceGenerator generator() {
+        return new SyntheticInstanceGenerator().withRecipes(300).withDepth(5).withRawMaterials(10)
+                .withFinalProducts(3).withAlternateDensity(0.4).withSeed(7);
+    }
+
+    protected static List<Double> randomChromosome(int length, Random rng) {
+        List<Double> chromosome = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            chromosome.add(rng.nextDouble() < 0.5 ? 0.0 : rng.nextDouble());
+        }
+        return chromosome;
+    }
+
+    @Test
+    public void testRescaledGroupsHaveTheSameCanonicalForm() {
+        Decoder decoder = new Decoder(generator().generate());
+        int[] offsets = decoder.getGeneGroupOffsets();
+        assertEquals(decoder.getChromosomeLength(), offsets[offsets.length - 1]);
+
+        Random rng = new Random(1);
+        List<Double> chromosome = randomChromosome(decoder.getChromosomeLength(), rng);
+        List<Double> rescaled = new ArrayList<>(chromosome);
+        for (int group = 0; group + 1 < offsets.length; group++) {
+            // powers of two keep the proportions exact
+            double factor = Math.scalb(1.0, rng.nextInt(9) - 4);
+            for (int i = offsets[group]; i < offsets[group + 1]; i++) {
+                rescaled.set(i, chromosome.get(i) * factor);
+            }
+        }
+
+        double[] canonical = decoder.canonicalize(chromosome);
+        assertArrayEquals(canonical, decoder.canonicalize(rescaled));
+        DecodedSolution decoded = decoder.decode(chromosome);
+        DecodedSolution decodedRescaled = decoder.decode(rescaled);
+        assertEquals(decoded.getNumberOfUsedMachines(), decodedRescaled.getNumberOfUsedMachines());
+        assertEquals(decoded.getUnsatisfiedDemandSum(), decodedRescaled.getUnsatisfiedDemandSum());
+
+        // a group summing to zero is split evenly, like a group of equal genes
+        List<Double> zeroGroup = new ArrayList<>(chromosome);
+        List<Double> equalGroup = new ArrayList<>(chromosome);
+        for (int i = offsets[0]; i < offsets[1]; i++) {
+            zeroGroup.set(i, 0.0);
+            equalGroup.set(i, 1.0);
+        }
+        assertArrayEquals(decoder.canonicalize(zeroGroup), decoder.canonicalize(equalGroup));
+
+        // a change in the last bit of a gene is a different chromosome
+        List<Double> nudged = new ArrayList<>(equalGroup);
+        nudged.set(offsets[0], Math.nextUp(1.0));
+        assertFalse(Arrays.equals(decoder.canonicalize(equalGroup), decoder.canonicalize(nudged)));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        EvaluationCache cache = new EvaluationCache(2, 1);
+        double[] a = { 1.0 }, b = { 2.0 }, c = { 3.0 };
+        cache.put(a, 1.0, 0.0);
+        cache.put(b, 2.0, 0.0);
+        assertNotNull(cache.get(new double[] { 1.0 }));
+        cache.put(c, 3.0, 0.0);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertEquals(3.0, cache.get(c).cost);
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testDuplicatesSkipDecoding() throws IOException {
+        Path file = tempDir.resolve("instance.json");
+        generator().write(file);
+        try (Satisfactory problem = new Satisfactory(file.toString(), new InstanceRegistry(1))) {
+            problem.setEvaluationCache(EvaluationCache.forChromosomeLength(problem.getDomainSize()));
+            Solution<Double> solution = new Solution<>();
+            solution.addAll(randomChromosome(problem.getDomainSize(), new Random(3)));
+            Solution<Double> clone = new Solution<>();
+            for (Double gene : solution) {
+                clone.add(gene * 2.0);
+            }
+
+            assertFalse(problem.evaluateCached(solution));
+            assertTrue(problem.evaluateCached(clone));
+            assertEquals(solution.evaluation.getCost(), clone.evaluation.getCost());
+            assertEquals(solution.infeasibility, clone.infeasibility);
+            // the feasibility is read from the evaluation attached to the clone
+            assertEquals(solution.infeasibility == 0.0, problem.isFeasible(clone));
+            assertEquals(0.5, problem.getEvaluationCache().getHitRate(), 1e-12);
+
+            problem.setEvaluationCache(null);
+            assertFalse(problem.evaluateCached(clone));
+        }
+    }
+
+    @Test
+    public void testPlanIsDecodedOnDemand() throws IOException {
+        Path file = tempDir.resolve("instance.json");
+        generator().write(file);
+        try (Satisfactory problem = new Satisfactory(file.toString(), new InstanceRegistry(1))) {
+            problem.setEvaluationCache(EvaluationCache.forChromosomeLength(problem.getDomainSize()));
+            Solution<Double> solution = new Solution<>();
+            solution.addAll(randomChromosome(problem.getDomainSize(), new Random(5)));
+            Solution<Double> clone = new Solution<>(solution);
+
+            DecodedSolution plan = problem.evaluateDecoding(solution);
+            assertNotNull(plan);
+            assertEquals(plan.getNumberOfUsedMachines(), solution.evaluation.getCost());
+            assertEquals(plan.getRecipeUsages(), problem.decode(solution).getRecipeUsages());
+
+            assertNull(problem.evaluateDecoding(clone));
+            assertEquals(solution.evaluation.getCost(), clone.evaluation.getCost());
+            assertEquals(plan.getRecipeUsages(), problem.decode(clone).getRecipeUsages());
+
+            // a copy shares the evaluation, which a cleared solution drops
+            Solution<Double> copy = new Solution<>(clone);
+            assertSame(clone.evaluation, problem.getEvaluation(copy));
+            copy.clear();
+            assertNull(copy.evaluation);
+        }
+    }
+
+    @Test
+    public void testKeptPlanIsNotDecodedAgain() throws IOException {
+        Path file = tempDir.resolve("instance.json");
+        generator().write(file);
+        try (Satisfactory problem = new Satisfactory(file.toString(), new InstanceRegistry(1))) {
+            Solution<Double> solution = new Solution<>();
+            solution.addAll(randomChromosome(problem.getDomainSize(), new Random(6)));
+            DecodedSolution plan = problem.evaluateDecoding(solution);
+            solution.setEvaluation(new Evaluation(plan, true));
+
+            // the best solution is copied with its evaluation, plan included
+            Solution<Double> best = new Solution<>(solution);
+            assertSame(plan, problem.decode(best));
+
+            // changing the genes drops the evaluation, which would no longer hold
+            best.set(0, best.get(0) + 1.0);
+            assertNull(best.evaluation);
+            assertNotSame(plan, problem.decode(best));
+            Solution<Double> added = new Solution<>(solution);
+            added.add(1.0);
+            assertNull(added.evaluation);
+            Solution<Double> removed = new Solution<>(solution);
+            removed.remove(removed.size() - 1);
+            assertNull(removed.evaluation);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+public class TestFeasibilityRepair {
+    /**
+     * Ingots from ore with a recipe that needs little ore (A) or more ore (B), or from dust, which
+     * can not be obtained (C).
+     */
+    protected static Decoder decoder(double oreSupply) {
+        List<Recipe> recipes = List.of(
+            new Recipe("A", List.of(new ItemUsage("Ore", 1)), List.of(new ItemUsage("Ingot", 2))),
+            new Recipe("B", List.of(new ItemUsage("Ore", 3)), List.of(new ItemUsage("Ingot", 4))),
+            new Recipe("C", List.of(new ItemUsage("Dust", 1)), List.of(new ItemUsage("Ingot", 4))));
+        return new Decoder(new Instance(recipes,
+            List.of(new ItemUsage("Ore", oreSupply)),
+            List.of(new ItemUsage("Ingot", 4))));
+    }
+
+    @Test
+    public void testOverusedRawMaterial() {
+        // B needs 3 ore, only 2 are supplied: A needs 2
+        Decoder decoder = decoder(2);
+        FeasibilityRepair repair = new FeasibilityRepair(decoder);
+        double[] genes = { 0.0, 1.0, 0.0 };
+        DecodedSolution decoded = decoder.decode(genes);
+        assertTrue(decoded.getUnsatisfiedDemandSum() > 0.0);
+
+        assertTrue(repair.repair(genes, decoded));
+        assertArrayEquals(new double[] { 1.0, 0.0, 0.0 }, genes);
+        assertEquals(0.0, decoder.decode(genes).getUnsatisfiedDemandSum());
+    }
+
+    @Test
+    public void testUnobtainableInput() {
+        Decoder decoder = decoder(10);
+        FeasibilityRepair repair = new FeasibilityRepair(decoder);
+        double[] genes = { 0.2, 0.3, 0.5 };
+        DecodedSolution decoded = decoder.decode(genes);
+        assertTrue(decoded.getUnsatisfiedDemandSum() > 0.0);
+
+        // the ore recipes keep their proportions, as ore is not overused
+        assertTrue(repair.repair(genes, decoded));
+        assertArrayEquals(new double[] { 0.2, 0.3, 0.0 }, genes);
+        decoded = decoder.decode(genes);
+        assertEquals(0.0, decoded.getUnsatisfiedDemandSum());
+        assertFalse(repair.repair(genes, decoded));
+    }
+}
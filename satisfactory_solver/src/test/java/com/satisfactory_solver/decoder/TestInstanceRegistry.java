@@ -0,0 +1,108 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.instance.InstanceFixtures;
+
+public class TestInstanceRegistry {
+    @TempDir
+    protected Path tempDir;
+
+    protected Path first;
+    protected Path second;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        first = InstanceFixtures.copy(InstanceFixtures.TWO_RECIPES, tempDir, "first.json");
+        second = InstanceFixtures.copy(InstanceFixtures.TWO_RECIPES, tempDir, "second.json");
+    }
+
+    @Test
+    public void testSharesCompiledInstanceBetweenLeases() throws IOException {
+        InstanceRegistry registry = new InstanceRegistry(1);
+        try (InstanceRegistry.Lease a = registry.acquire(first); InstanceRegistry.Lease b = registry.acquire(first)) {
+            assertSame(a.getDecoder(), b.getDecoder());
+            assertEquals(2, a.getDecoder().getChromosomeLength());
+            assertEquals(1, registry.size());
+        }
+        assertEquals(1, registry.idleSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedIdleEntries() throws IOException {
+        InstanceRegistry registry = new InstanceRegistry(1);
+        InstanceRegistry.Lease firstLease = registry.acquire(first);
+        Decoder firstDecoder = firstLease.getDecoder();
+        firstLease.close();
+        firstLease.close(); // closing twice must not release twice
+
+        registry.acquire(second).close();
+        assertEquals(1, registry.size());
+
+        try (InstanceRegistry.Lease again = registry.acquire(first)) {
+            assertNotSame(firstDecoder, again.getDecoder());
+        }
+    }
+
+    @Test
+    public void testEntriesInUseAreNeverEvicted() throws IOException {
+        InstanceRegistry registry = new InstanceRegistry(0);
+        try (InstanceRegistry.Lease inUse = registry.acquire(first)) {
+            registry.acquire(second).close();
+            assertEquals(1, registry.size());
+            try (InstanceRegistry.Lease same = registry.acquire(first)) {
+                assertSame(inUse.getDecoder(), same.getDecoder());
+            }
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testRecompilesWhenContentChanges() throws IOException {
+        InstanceRegistry registry = new InstanceRegistry(4);
+        try (InstanceRegistry.Lease before = registry.acquire(first)) {
+            Files.writeString(first, InstanceFixtures.read(InstanceFixtures.TWO_RECIPES).replace("\"name\": \"B\"", "\"name\": \"C\""));
+            try (InstanceRegistry.Lease after = registry.acquire(first)) {
+                assertNotSame(before.getDecoder(), after.getDecoder());
+                assertEquals("C", after.getInstance().getRecipes().get(1).getRecipeName());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentAcquiresCompileOnce() throws Exception {
+        InstanceRegistry registry = new InstanceRegistry(1);
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<InstanceRegistry.Lease>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(exec.submit(() -> registry.acquire(first)));
+            }
+            Decoder shared = futures.get(0).get().getDecoder();
+            for (Future<InstanceRegistry.Lease> future : futures) {
+                InstanceRegistry.Lease lease = future.get();
+                assertSame(shared, lease.getDecoder());
+                lease.close();
+            }
+        } finally {
+            exec.shutdown();
+        }
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.idleSize());
+    }
+}
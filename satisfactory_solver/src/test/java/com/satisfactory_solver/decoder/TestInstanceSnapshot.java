@@ -0,0 +1,104 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+public class TestInstanceSnapshot {
+    protected Instance instance;
+
+    @TempDir
+    protected Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        List<Recipe> allRecipes = new ArrayList<Recipe>();
+        allRecipes.add(new Recipe(
+            "Iron Ingot",
+            List.of(new ItemUsage("Iron Ore", 30)),
+            List.of(new ItemUsage("Iron Ingot", 30))
+        ));
+        allRecipes.add(new Recipe(
+            "Iron Rod",
+            List.of(new ItemUsage("Iron Ingot", 15)),
+            List.of(new ItemUsage("Iron Rod", 15))
+        ));
+        allRecipes.add(new Recipe(
+            "Screw",
+            List.of(new ItemUsage("Iron Rod", 10)),
+            List.of(new ItemUsage("Screw", 45))
+        ));
+        allRecipes.add(new Recipe(
+            "Alternate: Cast Screw",
+            List.of(new ItemUsage("Iron Ingot", 12.5)),
+            List.of(new ItemUsage("Screw", 50), new ItemUsage("Iron Rod", 1, false))
+        ));
+        List<ItemUsage> rawMaterials = List.of(new ItemUsage("Iron Ore", 100));
+        List<ItemUsage> finalProducts = List.of(new ItemUsage("Screw", 90));
+
+        instance = new Instance(allRecipes, rawMaterials, finalProducts);
+    }
+
+    @Test
+    public void testRoundTripKeepsDecoding() throws IOException {
+        Decoder decoder = new Decoder(instance);
+        byte[] hash = new byte[32];
+        hash[0] = 42;
+        Path snapshotPath = tempDir.resolve("instance.snapshot");
+        InstanceSnapshot.write(decoder, hash, snapshotPath);
+
+        InstanceSnapshot snapshot = InstanceSnapshot.read(snapshotPath);
+        Decoder loaded = snapshot.getDecoder();
+
+        assertArrayEquals(hash, snapshot.getSourceHash());
+        assertEquals(decoder.getReverseTopologicalOrder(), loaded.getReverseTopologicalOrder());
+        assertEquals(decoder.getGenePositions(), loaded.getGenePositions());
+
+        List<Double> chromosome = new ArrayList<>();
+        for (int i = 0; i < decoder.getChromosomeLength(); i++) {
+            chromosome.add(0.25 * (i + 1));
+        }
+        DecodedSolution expected = decoder.decode(chromosome);
+        DecodedSolution actual = loaded.decode(chromosome);
+        assertEquals(expected.getRecipeUsages(), actual.getRecipeUsages());
+        assertEquals(expected.getItemLiquidDemand(), actual.getItemLiquidDemand());
+    }
+
+    @Test
+    public void testLoadOrCompileRecompilesWhenSourceChanges() throws IOException {
+        Path jsonPath = tempDir.resolve("instance.json");
+        Files.writeString(jsonPath, "{\"recipes\": [{\"name\": \"A\", \"inputs\": [{\"name\": \"Ore\", \"quantity_per_min\": 1}],"
+                + " \"outputs\": [{\"name\": \"Ingot\", \"quantity_per_min\": 2}]}],"
+                + " \"available_inputs\": [{\"name\": \"Ore\", \"quantity_per_min\": 10}],"
+                + " \"desired_outputs\": [{\"name\": \"Ingot\", \"quantity_per_min\": 4}]}");
+
+        InstanceSnapshot first = InstanceSnapshot.loadOrCompile(jsonPath);
+        assertEquals(1, first.getInstance().getRecipes().size());
+
+        Files.writeString(jsonPath, "{\"recipes\": [], \"available_inputs\": [], \"desired_outputs\": []}");
+        InstanceSnapshot second = InstanceSnapshot.loadOrCompile(jsonPath);
+        assertEquals(0, second.getInstance().getRecipes().size());
+        assertArrayEquals(InstanceSnapshot.hashSource(jsonPath), second.getSourceHash());
+    }
+
+    @Test
+    public void testRejectsFilesThatAreNotSnapshots() throws IOException {
+        Path notASnapshot = tempDir.resolve("bogus.snapshot");
+        Files.writeString(notASnapshot, "definitely not a snapshot");
+        assertThrows(IllegalStateException.class, () -> InstanceSnapshot.read(notASnapshot));
+    }
+}
@@ -0,0 +1,114 @@
+package com.satisfactory_solver.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.instance.Instance;
+import com.satisfactory_solver.instance.ItemUsage;
+import com.satisfactory_solver.instance.Recipe;
+
+public class TestRecipeCatalog {
+    protected RecipeCatalog catalog;
+    protected List<ItemUsage> rawMaterials;
+    protected List<ItemUsage> finalProducts;
+
+    @BeforeEach
+    public void setUp() {
+        List<Recipe> allRecipes = new ArrayList<Recipe>();
+        allRecipes.add(new Recipe(
+            "Iron Ingot",
+            List.of(new ItemUsage("Iron Ore", 30)),
+            List.of(new ItemUsage("Iron Ingot", 30))
+        ));
+        allRecipes.add(new Recipe(
+            "Iron Plate",
+            List.of(new ItemUsage("Iron Ingot", 30)),
+            List.of(new ItemUsage("Iron Plate", 20))
+        ));
+        allRecipes.add(new Recipe(
+            "Iron Rod",
+            List.of(new ItemUsage("Iron Ingot", 15)),
+            List.of(new ItemUsage("Iron Rod", 15))
+        ));
+        allRecipes.add(new Recipe(
+            "Screw",
+            List.of(new ItemUsage("Iron Rod", 10)),
+            List.of(new ItemUsage("Screw", 45))
+        ));
+        allRecipes.add(new Recipe(
+            "Alternate: Cast Screw",
+            List.of(new ItemUsage("Iron Ingot", 12.5)),
+            List.of(new ItemUsage("Screw", 50))
+        ));
+        allRecipes.add(new Recipe(
+            "Reinforced Iron Plate",
+            List.of(new ItemUsage("Iron Plate", 30), new ItemUsage("Screw", 60)),
+            List.of(new ItemUsage("Reinforced Iron Plate", 5))
+        ));
+        allRecipes.add(new Recipe(
+            "Cyclic Recipe",
+            List.of(new ItemUsage("Reinforced Iron Plate", 1)),
+            List.of(new ItemUsage("Iron Ore", 1))
+        ));
+        catalog = new RecipeCatalog(allRecipes);
+        rawMaterials = List.of(new ItemUsage("Iron Ore", 100));
+        finalProducts = List.of(new ItemUsage("Reinforced Iron Plate", 8));
+    }
+
+    @Test
+    public void testTopologicalOrderOfMaskedRecipes() {
+        BitSet mask = catalog.allRecipes();
+        mask.clear(6); // without the cyclic recipe
+        List<String> order = catalog.getTopologicalOrder(mask, finalProducts);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            positions.put(order.get(i), i);
+        }
+
+        assertEquals(6, order.size());
+        assertTrue(positions.get("Iron Ore") < positions.get("Iron Ingot"));
+        assertTrue(positions.get("Iron Ingot") < positions.get("Iron Rod"));
+        assertTrue(positions.get("Iron Ingot") < positions.get("Screw"));
+        assertTrue(positions.get("Iron Rod") < positions.get("Screw"));
+        assertTrue(positions.get("Screw") < positions.get("Reinforced Iron Plate"));
+        assertTrue(positions.get("Iron Plate") < positions.get("Reinforced Iron Plate"));
+    }
+
+    @Test
+    public void testMaskedDecoderDecodesLikeTheFullPipeline() {
+        List<String> names = List.of("Iron Ingot", "Iron Plate", "Iron Rod", "Screw", "Alternate: Cast Screw", "Reinforced Iron Plate");
+        Decoder masked = catalog.createDecoder(catalog.maskOf(names), rawMaterials, finalProducts);
+        Instance instance = catalog.createInstance(catalog.maskOf(names), rawMaterials, finalProducts);
+        Decoder full = new Decoder(instance);
+
+        assertEquals(full.getChromosomeLength(), masked.getChromosomeLength());
+        assertEquals(full.getGenePositions(), masked.getGenePositions());
+        List<Double> chromosome = List.of(0.5, 0.1);
+        assertEquals(full.decode(chromosome).getRecipeUsages(), masked.decode(chromosome).getRecipeUsages());
+    }
+
+    @Test
+    public void testDisablingAlternatesRemovesGenes() {
+        Decoder withoutAlternate = catalog.createDecoder(
+                catalog.maskOf(List.of("Iron Ingot", "Iron Plate", "Iron Rod", "Screw", "Reinforced Iron Plate")),
+                rawMaterials, finalProducts);
+        assertEquals(0, withoutAlternate.getChromosomeLength());
+        assertEquals(0.0, withoutAlternate.decode(List.of()).getUnsatisfiedDemandSum());
+    }
+
+    @Test
+    public void testShouldErrorOnCyclicMask() {
+        assertThrows(IllegalStateException.class,
+                () -> catalog.getTopologicalOrder(catalog.allRecipes(), finalProducts));
+    }
+}
@@ -0,0 +1,44 @@
+package com.satisfactory_solver.instance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Instance files shared by the tests, from the test resources.
+ */
+public final class InstanceFixtures {
+    /**
+     * Ingots from ore with a recipe that needs little ore (A) or more ore (B).
+     */
+    public static final String TWO_RECIPES = "two_recipes.json";
+
+    private InstanceFixtures() {
+    }
+
+    public static Path path(String fixture) {
+        try {
+            return Paths.get(InstanceFixtures.class.getClassLoader().getResource(fixture).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String read(String fixture) {
+        try {
+            return Files.readString(path(fixture));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies the fixture into a directory, for the tests that change or need several files.
+     */
+    public static Path copy(String fixture, Path dir, String fileName) throws IOException {
+        return Files.copy(path(fixture), dir.resolve(fileName));
+    }
+}
@@ -0,0 +1,80 @@
+package com.satisfactory_solver.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestGameDatabase {
+    protected static final Path DATA_PATH = Paths.get("../data1.0.json");
+    protected static final Path PHASE_1_PATH = Paths.get("../instances/phase1.json");
+
+    protected static GameDatabase database;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        assumeTrue(Files.exists(DATA_PATH), "Game database not available");
+        database = new GameDatabaseReader().read(DATA_PATH);
+    }
+
+    @Test
+    public void testBuildsTheSameInstanceAsTheGenerator() throws IOException {
+        assumeTrue(Files.exists(PHASE_1_PATH), "Phase 1 instance not available");
+        Instance expected = new InstanceJsonReader().readInstance(PHASE_1_PATH);
+        Instance actual = database.createInstance(GameDatabaseQuery.forPhase(SpaceElevatorPhase.PHASE_1));
+
+        assertEquals(expected.getRecipes().size(), actual.getRecipes().size());
+        for (int i = 0; i < expected.getRecipes().size(); i++) {
+            Recipe expectedRecipe = expected.getRecipes().get(i);
+            Recipe actualRecipe = actual.getRecipes().get(i);
+            assertEquals(expectedRecipe.getRecipeName(), actualRecipe.getRecipeName());
+            assertItemUsagesEqual(expectedRecipe.getInputs(), actualRecipe.getInputs());
+            assertItemUsagesEqual(expectedRecipe.getOutputs(), actualRecipe.getOutputs());
+        }
+        assertItemUsagesEqual(expected.getRawMaterials(), actual.getRawMaterials());
+        assertItemUsagesEqual(expected.getFinalProducts(), actual.getFinalProducts());
+    }
+
+    @Test
+    public void testFiltersAlternates() {
+        long alternates = database.getRecipes().stream().filter(GameRecipe::isAlternate).count();
+        int allRecipes = database.getRecipes().size();
+
+        Instance withoutAlternates = database.createInstance(
+                GameDatabaseQuery.forPhase(SpaceElevatorPhase.PHASE_2).withAlternates(false));
+        assertEquals(allRecipes - alternates, withoutAlternates.getRecipes().size());
+
+        Instance halfAlternates = database.createInstance(
+                GameDatabaseQuery.forPhase(SpaceElevatorPhase.PHASE_2).withAlternateFraction(0.5, 7));
+        assertEquals(allRecipes - alternates + Math.round(alternates * 0.5), halfAlternates.getRecipes().size());
+    }
+
+    @Test
+    public void testRejectsUnknownTargets() {
+        GameDatabaseQuery query = new GameDatabaseQuery().withTargets(List.of(new ItemUsage("Unobtainium", 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> database.createInstance(query));
+    }
+
+    @Test
+    public void testKeepsOnlyMachinesRunningRecipes() {
+        assertEquals("Constructor", database.getMachines().get("Desc_ConstructorMk1_C").getName());
+        assertEquals(11, database.getMachines().size());
+    }
+
+    private void assertItemUsagesEqual(List<ItemUsage> expected, List<ItemUsage> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getItemName(), actual.get(i).getItemName());
+            assertEquals(expected.get(i).getQuantityPerMinute(), actual.get(i).getQuantityPerMinute());
+            assertEquals(expected.get(i).isPrimary(), actual.get(i).isPrimary());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.satisfactory_solver.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class TestInstanceJsonReader {
+    protected static final String JSON = "{"
+            + "\"comment\": {\"nested\": [1, 2, {\"deep\": true}]},"
+            + "\"desired_outputs\": [{\"name\": \"Iron Plate\", \"quantity_per_min\": 20}],"
+            + "\"recipes\": ["
+            + "  {\"name\": \"Iron Ingot\", \"time\": 2,"
+            + "   \"inputs\": [{\"name\": \"Iron Ore\", \"quantity_per_min\": 30}],"
+            + "   \"outputs\": [{\"name\": \"Iron Ingot\", \"quantity_per_min\": 30}]},"
+            + "  {\"name\": \"Iron Plate\","
+            + "   \"inputs\": [{\"name\": \"Iron Ingot\", \"quantity_per_min\": 30}, {\"quantity_per_min\": 5}],"
+            + "   \"outputs\": [{\"name\": \"Iron Plate\", \"quantity_per_min\": 20},"
+            + "                 {\"name\": \"Slag\", \"quantity_per_min\": \"1.5\", \"primary\": false}]}"
+            + "],"
+            + "\"available_inputs\": [{\"name\": \"Iron Ore\", \"quantity_per_min\": 100}]"
+            + "}";
+
+    @Test
+    public void testReadsRecipesAndIgnoresUnknownFields() {
+        Instance instance = new InstanceJsonReader().readInstanceFromJson(JSON);
+
+        assertEquals(2, instance.getRecipes().size());
+        Recipe plate = instance.getRecipes().get(1);
+        assertEquals("Iron Plate", plate.getRecipeName());
+        // Items without a name are skipped, like in the original tree-based reader
+        assertEquals(1, plate.getInputs().size());
+        assertEquals(2, plate.getOutputs().size());
+        assertTrue(plate.getOutputs().get(0).isPrimary());
+        assertFalse(plate.getOutputs().get(1).isPrimary());
+        assertEquals(1.5, plate.getOutputs().get(1).getQuantityPerMinute());
+
+        assertEquals(100.0, instance.getRawMaterials().get(0).getQuantityPerMinute());
+        assertEquals(20.0, instance.getFinalProducts().get(0).getQuantityPerMinute());
+    }
+
+    @Test
+    public void testInternsItemNames() {
+        Instance instance = new InstanceJsonReader().readInstance(
+                new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)));
+
+        String ingotProduced = instance.getRecipes().get(0).getOutputs().get(0).getItemName();
+        String ingotConsumed = instance.getRecipes().get(1).getInputs().get(0).getItemName();
+        assertSame(ingotProduced, ingotConsumed);
+        assertSame(instance.getRecipes().get(0).getInputs().get(0).getItemName(),
+                instance.getRawMaterials().get(0).getItemName());
+    }
+
+    @Test
+    public void testRejectsNonObjectRoot() {
+        assertThrows(RuntimeException.class, () -> new InstanceJsonReader().readInstanceFromJson("[1, 2, 3]"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.satisfactory_solver.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.decoder.Decoder;
+
+public class TestSyntheticInstanceGenerator {
+    protected SyntheticInstanceGenerator generator() {
+        return new SyntheticInstanceGenerator()
+                .withRecipes(2000)
+                .withDepth(8)
+                .withRawMaterials(10)
+                .withFinalProducts(3)
+                .withMaxFanIn(3)
+                .withAlternateDensity(0.25)
+                .withByproductProbability(0.2)
+                .withSeed(42);
+    }
+
+    @Test
+    public void testGeneratesAcyclicInstanceWithRequestedShape() {
+        Instance instance = generator().generate();
+
+        assertEquals(2000, instance.getRecipes().size());
+        assertEquals(10, instance.getRawMaterials().size());
+        assertEquals(3, instance.getFinalProducts().size());
+        for (Recipe recipe : instance.getRecipes()) {
+            assertTrue(recipe.getInputs().size() >= 1 && recipe.getInputs().size() <= 3);
+            assertTrue(recipe.getOutputs().get(0).isPrimary());
+        }
+        assertTrue(instance.getRecipes().stream().anyMatch(r -> r.getOutputs().size() == 2 && !r.getOutputs().get(1).isPrimary()));
+
+        // Building the decoder fails on cycles; alternates are what creates genes
+        Decoder decoder = new Decoder(instance);
+        assertTrue(decoder.getChromosomeLength() > 0);
+    }
+
+    @Test
+    public void testIsDeterministicBySeed() {
+        Instance first = generator().generate();
+        Instance second = generator().generate();
+        Instance otherSeed = generator().withSeed(43).generate();
+
+        assertEquals(first.toString(), second.toString());
+        assertNotEquals(first.toString(), otherSeed.toString());
+    }
+
+    @Test
+    public void testWrittenJsonMatchesGeneratedInstance() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator().write(out);
+        Instance read = new InstanceJsonReader().readInstance(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(generator().generate().toString(), read.toString());
+    }
+
+    @Test
+    public void testShouldErrorOnImpossibleShapes() {
+        assertThrows(IllegalArgumentException.class, () -> generator().withRecipes(5).generate());
+        assertThrows(IllegalArgumentException.class, () -> generator().withFinalProducts(1000).generate());
+        assertThrows(IllegalArgumentException.class, () -> generator().withAlternateDensity(1.0));
+    }
+}
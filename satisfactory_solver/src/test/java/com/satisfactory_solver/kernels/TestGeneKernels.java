@@ -0,0 +1,82 @@
+package com.satisfactory_solver.kernels;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TestGeneKernels {
+    protected static final double TOLERANCE = 1e-9;
+
+    protected static double[] random(int length, Random rng) {
+        double[] values = new double[length];
+        for (int j = 0; j < length; j++) {
+            values[j] = rng.nextDouble() < 0.9 ? 0.0 : rng.nextDouble();
+        }
+        return values;
+    }
+
+    protected static boolean isVectorModuleAdded() {
+        return ModuleLayer.boot().findModule(GeneKernels.VECTOR_MODULE).isPresent();
+    }
+
+    @Test
+    public void testScalarKernelsSelectedWithoutIncubatorModule() {
+        // the default build neither compiles nor tests with the incubator module
+        assumeTrue(!isVectorModuleAdded(), "run with the incubator module");
+        assertEquals("scalar", GeneKernels.get().name());
+    }
+
+    @Test
+    public void testVectorKernelsSelectedWithIncubatorModule() {
+        // the vector profile runs the tests with the incubator module added
+        assumeTrue(isVectorModuleAdded(), "run without the incubator module");
+        GeneKernels vector = GeneKernels.createVectorKernels();
+        assumeTrue(vector != null, "no SIMD support for doubles");
+        assertTrue(GeneKernels.get().name().startsWith("vector"), GeneKernels.get().name());
+    }
+
+    @Test
+    public void testSelectedKernelsMatchScalarKernels() {
+        assertMatchScalarKernels(GeneKernels.get());
+    }
+
+    @Test
+    public void testVectorKernelsMatchScalarKernels() {
+        assumeTrue(isVectorModuleAdded(), "run without the incubator module");
+        GeneKernels vector = GeneKernels.createVectorKernels();
+        assumeTrue(vector != null, "no SIMD support for doubles");
+        assertMatchScalarKernels(vector);
+    }
+
+    protected static void assertMatchScalarKernels(GeneKernels kernels) {
+        GeneKernels scalar = new ScalarGeneKernels();
+        Random rng = new Random(1);
+        // lengths around and between multiples of every vector size
+        for (int length : new int[] { 0, 1, 3, 7, 8, 9, 17, 64, 1276 }) {
+            double[] values = random(length, rng);
+            double[] means = random(length, rng);
+            for (int from = 0; from <= Math.min(length, 5); from++) {
+                assertEquals(scalar.sum(values, from, length), kernels.sum(values, from, length), TOLERANCE);
+            }
+
+            double[] sums = random(length, rng), squares = random(length, rng);
+            double[] expectedSums = sums.clone(), expectedSquares = squares.clone();
+            scalar.addWithSquares(values, expectedSums, expectedSquares);
+            kernels.addWithSquares(values, sums, squares);
+            assertArrayEquals(expectedSums, sums, TOLERANCE);
+            assertArrayEquals(expectedSquares, squares, TOLERANCE);
+
+            scalar.add(values, expectedSums);
+            kernels.add(values, sums);
+            assertArrayEquals(expectedSums, sums, TOLERANCE);
+
+            assertEquals(scalar.squaredDeviation(values, means), kernels.squaredDeviation(values, means), TOLERANCE);
+            assertEquals(scalar.varianceSum(sums, squares, 3), kernels.varianceSum(sums, squares, 3), TOLERANCE);
+        }
+    }
+}
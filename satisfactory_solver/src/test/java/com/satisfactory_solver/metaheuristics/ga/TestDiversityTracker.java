@@ -0,0 +1,101 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TestDiversityTracker {
+    protected static final double TOLERANCE = 1e-12;
+
+    protected static List<Double> random(int length, Random rng) {
+        List<Double> chromosome = new ArrayList<>(length);
+        for (int j = 0; j < length; j++) {
+            chromosome.add(rng.nextDouble() < 0.9 ? 0.0 : rng.nextDouble());
+        }
+        return chromosome;
+    }
+
+    /**
+     * Average variance across loci, computed in two passes as in the GA.
+     */
+    protected static double diversity(List<List<Double>> population, int length) {
+        int n = population.size();
+        double total = 0.0;
+        for (int j = 0; j < length; j++) {
+            double mean = 0.0;
+            for (List<Double> c : population) mean += c.get(j);
+            mean /= n;
+            double variance = 0.0;
+            for (List<Double> c : population) variance += (c.get(j) - mean) * (c.get(j) - mean);
+            total += variance / n;
+        }
+        return total / length;
+    }
+
+    @Test
+    public void testReplacementsAndUpdatesMatchRecomputation() {
+        int length = 200;
+        Random rng = new Random(2);
+        List<List<Double>> population = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            population.add(random(length, rng));
+        }
+        DiversityTracker tracker = new DiversityTracker(length);
+        tracker.rebuild(population);
+        assertEquals(diversity(population, length), tracker.getDiversity(), TOLERANCE);
+
+        for (int step = 0; step < 500; step++) {
+            int i = rng.nextInt(population.size());
+            if (step % 2 == 0) {
+                List<Double> child = random(length, rng);
+                tracker.replace(population.get(i), child);
+                population.set(i, child);
+            } else {
+                int locus = rng.nextInt(length);
+                double value = rng.nextDouble();
+                tracker.update(locus, population.get(i).get(locus), value);
+                population.get(i).set(locus, value);
+            }
+        }
+        assertEquals(diversity(population, length), tracker.getDiversity(), TOLERANCE);
+
+        List<Double> extra = random(length, rng);
+        tracker.add(extra);
+        population.add(extra);
+        tracker.remove(population.get(0));
+        population.remove(0);
+        assertEquals(population.size(), tracker.size());
+        assertEquals(diversity(population, length), tracker.getDiversity(), TOLERANCE);
+
+        double mean = 0.0;
+        for (List<Double> c : population) mean += c.get(7);
+        mean /= population.size();
+        assertEquals(mean, tracker.getMean(7), TOLERANCE);
+    }
+
+    @Test
+    public void testStaleAfterRebuildInterval() {
+        List<Double> a = List.of(0.0, 1.0);
+        List<Double> b = List.of(1.0, 1.0);
+        DiversityTracker tracker = new DiversityTracker(2);
+        tracker.rebuild(List.of(a, b));
+        assertEquals(0.125, tracker.getDiversity(), TOLERANCE);
+        assertEquals(0.25, tracker.getVariance(0), TOLERANCE);
+        assertEquals(0.0, tracker.getVariance(1), TOLERANCE);
+
+        for (int i = 0; i < DiversityTracker.REBUILD_INTERVAL; i++) {
+            assertFalse(tracker.isStale());
+            tracker.replace(a, a);
+        }
+        assertTrue(tracker.isStale());
+        tracker.rebuild(List.of(a, a));
+        assertFalse(tracker.isStale());
+        assertEquals(0.0, tracker.getDiversity(), TOLERANCE);
+    }
+}
@@ -0,0 +1,106 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory;
+
+public class TestGeometricMutation {
+    protected GA_Satisfactory ga;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+        ga = new GA_Satisfactory(1, 10, 0.1, instance.toString(), null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ga.getProblem().close();
+    }
+
+    protected AbstractGA<Double, Double>.Population population(int size) {
+        AbstractGA<Double, Double>.Population population = ga.new Population();
+        for (int i = 0; i < size; i++) {
+            AbstractGA<Double, Double>.Chromosome chromosome = ga.new Chromosome();
+            for (int locus = 0; locus < ga.chromosomeSize; locus++) {
+                chromosome.add(0.5);
+            }
+            chromosome.setCachedSolution(new Solution<>());
+            population.add(chromosome);
+        }
+        return population;
+    }
+
+    @Test
+    public void testReportsExactlyTheChangedLoci() {
+        AbstractGA<Double, Double>.Population population = population(20_000);
+        List<List<Double>> before = new ArrayList<>();
+        for (AbstractGA<Double, Double>.Chromosome chromosome : population) {
+            before.add(new ArrayList<>(chromosome));
+        }
+
+        ga.mutate(population);
+
+        int changed = 0;
+        for (int i = 0; i < population.size(); i++) {
+            AbstractGA<Double, Double>.Chromosome chromosome = population.get(i);
+            BitSet expected = new BitSet();
+            for (int locus = 0; locus < ga.chromosomeSize; locus++) {
+                if (!before.get(i).get(locus).equals(chromosome.get(locus)))
+                    expected.set(locus);
+            }
+            assertEquals(expected, chromosome.getChangedLoci());
+            if (expected.isEmpty()) {
+                assertNotNull(chromosome.getCachedSolution());
+            } else {
+                assertNull(chromosome.getCachedSolution());
+            }
+            changed += expected.cardinality();
+        }
+
+        // every mutation of a 0.5 gene changes it, so about 10% of the 40000 loci change
+        assertEquals(4_000, changed, 300);
+    }
+
+    @Test
+    public void testChangedLociAreResetByTheNextPass() {
+        AbstractGA<Double, Double>.Population population = population(1_000);
+        ga.mutate(population);
+        assertTrue(population.stream().anyMatch(AbstractGA.Chromosome::hasChangedLoci));
+
+        ga.mutationRate = 0.0;
+        ga.mutate(population);
+        assertFalse(population.stream().anyMatch(AbstractGA.Chromosome::hasChangedLoci));
+    }
+
+    @Test
+    public void testMutationRateOneVisitsEveryLocus() {
+        ga.mutationRate = 1.0;
+        int visited = 0;
+        long loci = 1_000L * ga.chromosomeSize;
+        for (long index = -1; ; ) {
+            long gap = ga.nextMutationGap();
+            if (gap >= loci - index - 1)
+                break;
+            index += gap + 1;
+            visited++;
+        }
+        assertEquals(loci, visited);
+    }
+}
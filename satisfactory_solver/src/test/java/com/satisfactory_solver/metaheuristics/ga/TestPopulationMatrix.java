@@ -0,0 +1,123 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.decoder.ConstructiveSeeder;
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.decoder.FeasibilityRepair;
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_Flat;
+import com.satisfactory_solver.problems.solvers.MemeticLocalSearch;
+
+public class TestPopulationMatrix {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRowsAcrossChunks() {
+        // 3 rows of 5 genes per 128-byte chunk: rows 3 to 6 live in other buffers than rows 0 to 2
+        PopulationMatrix matrix = new PopulationMatrix(7, 5, 128);
+        for (int row = 0; row < 7; row++) {
+            matrix.writeRow(row, new double[] { row, row + 0.1, row + 0.2, row + 0.3, row + 0.4 });
+        }
+        matrix.set(4, 2, -1.0);
+
+        double[] genes = new double[5];
+        for (int row = 0; row < 7; row++) {
+            matrix.readRow(row, genes);
+            assertEquals(row, genes[0]);
+            assertEquals(row + 0.4, genes[4]);
+        }
+        assertEquals(-1.0, matrix.get(4, 2));
+        assertEquals(3.2, matrix.get(3, 2));
+    }
+
+    @Test
+    public void testCopiesAndEvaluations() {
+        PopulationMatrix source = new PopulationMatrix(2, 4, 40);
+        PopulationMatrix target = new PopulationMatrix(2, 4);
+        source.writeRow(0, new double[] { 1, 2, 3, 4 });
+        source.writeRow(1, new double[] { 5, 6, 7, 8 });
+        source.setEvaluation(1, 12.0, 0.5);
+
+        target.copyRow(source, 1, 0);
+        assertTrue(target.isEvaluated(0));
+        assertEquals(12.0, target.getCost(0));
+        assertEquals(0.5, target.getInfeasibility(0));
+
+        target.copyRange(source, 0, 0, 1, 3);
+        assertFalse(target.isEvaluated(0));
+        double[] genes = new double[4];
+        target.readRow(0, genes);
+        assertArrayEquals(new double[] { 5, 2, 3, 8 }, genes);
+
+        target.setEvaluation(1, 1.0, 0.0);
+        target.set(1, 0, 9.0);
+        assertFalse(target.isEvaluated(1));
+    }
+
+    @Test
+    public void testFlatSolverFindsFeasibleSolution() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+        GA_Satisfactory_Flat ga = new GA_Satisfactory_Flat(100, 20, 0.1, instance.toString(), null);
+        try {
+            Solution<Double> best = ga.solve();
+            assertEquals(ga.getProblem().getDomainSize(), best.size());
+            assertEquals(0.0, best.infeasibility);
+            assertTrue(ga.getProblem().isFeasible(best));
+        } finally {
+            ga.getProblem().close();
+        }
+    }
+
+    @Test
+    public void testFlatSolverRunsSeedingRepairAndLocalSearch() throws IOException {
+        Path file = tempDir.resolve("instance.json");
+        new SyntheticInstanceGenerator().withRecipes(300).withDepth(5).withRawMaterials(10).withFinalProducts(3)
+                .withAlternateDensity(0.4).withSeed(3).write(file);
+        GA_Satisfactory_Flat ga = new GA_Satisfactory_Flat(5, 20, 0.1, file.toString(), null);
+        try {
+            Decoder decoder = ga.getProblem().getDecoder();
+            int[] seeds = new int[1];
+            int[] repairs = new int[1];
+            ga.setSeeding(new ConstructiveSeeder(decoder) {
+                @Override
+                public void seed(double[] genes, Random rng, double temperature) {
+                    seeds[0]++;
+                    super.seed(genes, rng, temperature);
+                }
+            }, 0.5);
+            ga.setRepair(new FeasibilityRepair(decoder) {
+                @Override
+                public boolean repair(double[] genes, DecodedSolution decoded) {
+                    repairs[0]++;
+                    return super.repair(genes, decoded);
+                }
+            });
+            seeds[0] = 0; // the seeder builds its price plan on construction
+            MemeticLocalSearch localSearch = new MemeticLocalSearch(decoder, new Random(1));
+            ga.setLocalSearch(localSearch);
+
+            Solution<Double> best = ga.solve();
+            assertEquals(10, seeds[0]);
+            assertTrue(repairs[0] > 0);
+            assertTrue(localSearch.getEvaluations() > 0);
+            assertTrue(ga.getProblem().isFeasible(best));
+        } finally {
+            ga.getProblem().close();
+        }
+    }
+}
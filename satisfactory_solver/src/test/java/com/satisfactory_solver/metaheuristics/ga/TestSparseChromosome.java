@@ -0,0 +1,167 @@
+package com.satisfactory_solver.metaheuristics.ga;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.decoder.ConstructiveSeeder;
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.decoder.FeasibilityRepair;
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_Sparse;
+import com.satisfactory_solver.problems.solvers.MemeticLocalSearch;
+
+public class TestSparseChromosome {
+    @TempDir
+    Path tempDir;
+
+    protected static SparseChromosome random(int length, Random rng) {
+        SparseChromosome chromosome = new SparseChromosome(length, 4);
+        for (int locus = 0; locus < length; locus++) {
+            if (rng.nextDouble() < 0.1)
+                chromosome.append(locus, rng.nextDouble());
+        }
+        return chromosome;
+    }
+
+    @Test
+    public void testSetKeepsLociSortedAndDropsZeros() {
+        SparseChromosome chromosome = new SparseChromosome(10, 1);
+        chromosome.set(7, 0.7);
+        chromosome.set(2, 0.2);
+        chromosome.set(5, 0.5);
+        chromosome.set(2, 0.0);
+        chromosome.set(3, 0.0);
+        chromosome.setEvaluation(1.0, 0.0);
+        chromosome.set(7, 0.9);
+
+        assertEquals(2, chromosome.nonZeroCount());
+        assertArrayEquals(new int[] { 5, 7 }, Arrays.copyOf(chromosome.loci(), 2));
+        assertEquals(0.9, chromosome.get(7));
+        assertEquals(0.0, chromosome.get(2));
+        assertFalse(chromosome.isEvaluated());
+        assertArrayEquals(new double[] { 0, 0, 0, 0, 0, 0.5, 0, 0.9, 0, 0 }, chromosome.toDense());
+    }
+
+    @Test
+    public void testCrossoverMatchesDenseCrossover() {
+        Random rng = new Random(5);
+        for (int trial = 0; trial < 50; trial++) {
+            SparseChromosome parent1 = random(100, rng);
+            SparseChromosome parent2 = random(100, rng);
+            int crosspoint1 = rng.nextInt(101);
+            int crosspoint2 = crosspoint1 + rng.nextInt(101 - crosspoint1);
+
+            SparseChromosome[] children = SparseChromosome.crossover(parent1, parent2, crosspoint1, crosspoint2);
+
+            double[] dense1 = parent1.toDense(), dense2 = parent2.toDense();
+            double[] expected1 = new double[100], expected2 = new double[100];
+            for (int j = 0; j < 100; j++) {
+                boolean inside = j >= crosspoint1 && j < crosspoint2;
+                expected1[j] = inside ? dense2[j] : dense1[j];
+                expected2[j] = inside ? dense1[j] : dense2[j];
+            }
+            assertArrayEquals(expected1, children[0].toDense());
+            assertArrayEquals(expected2, children[1].toDense());
+        }
+    }
+
+    @Test
+    public void testSparseDecodeMatchesDenseDecode() {
+        Decoder decoder = new Decoder(new SyntheticInstanceGenerator().withRecipes(300).withDepth(5)
+                .withRawMaterials(10).withFinalProducts(3).withAlternateDensity(0.4).withSeed(3).generate());
+        Random rng = new Random(9);
+        for (int trial = 0; trial < 5; trial++) {
+            SparseChromosome sparse = random(decoder.getChromosomeLength(), rng);
+            List<Double> dense = new ArrayList<>();
+            for (double gene : sparse.toDense()) dense.add(gene);
+
+            DecodedSolution expected = decoder.decode(dense);
+            DecodedSolution actual = decoder.decodeSparse(sparse.loci(), sparse.values(), sparse.nonZeroCount());
+            assertEquals(expected.getRecipeUsages(), actual.getRecipeUsages());
+            assertEquals(expected.getUnsatisfiedDemandSum(), actual.getUnsatisfiedDemandSum());
+        }
+    }
+
+    @Test
+    public void testSparseSolverFindsFeasibleSolution() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+        GA_Satisfactory_Sparse ga = new GA_Satisfactory_Sparse(100, 20, 0.1, instance.toString(), null);
+        try {
+            Solution<Double> best = ga.solve();
+            assertEquals(ga.getProblem().getDomainSize(), best.size());
+            assertEquals(0.0, best.infeasibility);
+            assertTrue(ga.getProblem().isFeasible(best));
+        } finally {
+            ga.getProblem().close();
+        }
+    }
+
+    @Test
+    public void testAssignRoundTripsDenseGenes() {
+        SparseChromosome chromosome = random(50, new Random(2));
+        chromosome.setEvaluation(1.0, 0.0);
+        double[] dense = new double[50];
+        Arrays.fill(dense, 9.0);
+        chromosome.copyTo(dense);
+        assertArrayEquals(chromosome.toDense(), dense);
+
+        dense[3] = 0.3;
+        dense[4] = 0.0;
+        chromosome.assign(dense);
+        assertArrayEquals(dense, chromosome.toDense());
+        assertFalse(chromosome.isEvaluated());
+    }
+
+    @Test
+    public void testSparseSolverRunsSeedingRepairAndLocalSearch() throws IOException {
+        Path file = tempDir.resolve("instance.json");
+        new SyntheticInstanceGenerator().withRecipes(300).withDepth(5).withRawMaterials(10).withFinalProducts(3)
+                .withAlternateDensity(0.4).withSeed(3).write(file);
+        GA_Satisfactory_Sparse ga = new GA_Satisfactory_Sparse(5, 20, 0.1, file.toString(), null);
+        try {
+            Decoder decoder = ga.getProblem().getDecoder();
+            int[] seeds = new int[1];
+            int[] repairs = new int[1];
+            ga.setSeeding(new ConstructiveSeeder(decoder) {
+                @Override
+                public void seed(double[] genes, Random rng, double temperature) {
+                    seeds[0]++;
+                    super.seed(genes, rng, temperature);
+                }
+            }, 0.5);
+            ga.setRepair(new FeasibilityRepair(decoder) {
+                @Override
+                public boolean repair(double[] genes, DecodedSolution decoded) {
+                    repairs[0]++;
+                    return super.repair(genes, decoded);
+                }
+            });
+            seeds[0] = 0; // the seeder builds its price plan on construction
+            MemeticLocalSearch localSearch = new MemeticLocalSearch(decoder, new Random(1));
+            ga.setLocalSearch(localSearch);
+
+            Solution<Double> best = ga.solve();
+            assertEquals(10, seeds[0]);
+            assertTrue(repairs[0] > 0);
+            assertTrue(localSearch.getEvaluations() > 0);
+            assertTrue(ga.getProblem().isFeasible(best));
+        } finally {
+            ga.getProblem().close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.satisfactory_solver.metaheuristics.ga.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.decoder.Solution;
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_SteadyState;
+
+public class TestSolverEvents {
+    /**
+     * Collects the events it receives; requests nothing until {@link #requestAll}.
+     */
+    protected static class CollectingSubscriber implements Flow.Subscriber<SolverEvent> {
+        protected final List<SolverEvent> received = new ArrayList<>();
+        protected volatile Flow.Subscription subscription;
+        protected final boolean requestOnSubscribe;
+
+        /** onSubscribe runs on the publisher's executor, after subscribe returns */
+        protected final CountDownLatch subscribed = new CountDownLatch(1);
+
+        CollectingSubscriber(boolean requestOnSubscribe) {
+            this.requestOnSubscribe = requestOnSubscribe;
+        }
+
+        void requestAll() {
+            try {
+                subscribed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+            if (requestOnSubscribe)
+                requestAll();
+        }
+
+        @Override
+        public synchronized void onNext(SolverEvent item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    public void testDropsEventsWhenBufferIsFullAndDrainsOnClose() {
+        SolverEventPublisher publisher = new SolverEventPublisher(ForkJoinPool.commonPool(), 8);
+        CollectingSubscriber subscriber = new CollectingSubscriber(false);
+        publisher.subscribe(subscriber);
+
+        for (int g = 0; g < 100; g++) {
+            publisher.publish(new TimeoutEvent("test", g, 1));
+        }
+        subscriber.requestAll();
+        publisher.close();
+
+        assertTrue(publisher.getDroppedEvents() > 0);
+        assertEquals(100, subscriber.received.size() + publisher.getDroppedEvents());
+        for (int i = 1; i < subscriber.received.size(); i++) {
+            assertTrue(subscriber.received.get(i - 1).getGeneration() < subscriber.received.get(i).getGeneration());
+        }
+    }
+
+    @Test
+    public void testLoggingSubscriberReproducesLogLines() {
+        Logger logger = Logger.getLogger(TestSolverEvents.class.getName() + ".logging");
+        logger.setUseParentHandlers(false);
+        List<String> lines = new ArrayList<>();
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                lines.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        Solution<Double> solution = new Solution<>();
+        solution.add(0.5);
+        solution.cost = 12.0;
+        solution.infeasibility = 0.0;
+
+        LoggingSubscriber subscriber = new LoggingSubscriber(logger, "[GA] ", "[TIME] Timeout after %ds");
+        subscriber.onNext(new ImprovementEvent("GA", 3, solution));
+        subscriber.onNext(new MutationRateChangeEvent("GA", 4, 0.01, 0.015, MutationRateChangeEvent.Reason.STAGNATION));
+        subscriber.onNext(new MutationRateChangeEvent("GA", 5, 0.01, 0.0095, MutationRateChangeEvent.Reason.HIGH_DIVERSITY));
+        subscriber.onNext(new TimeoutEvent("GA", 6, 600));
+        subscriber.onNext(new TargetReachedEvent("GA", 7, 10.0, 11.0));
+
+        assertEquals(List.of(
+                "[GA] (Gen. 3) BestSol = Solution: cost=[12.0], infeasibility=[0.0], size=[1]",
+                "[GA] [INC_MR] Mutation rate increased to 0.015 due to stagnation in generation 4",
+                "[GA] [DEC_MR] Mutation rate decreased to 0.0095 due to high diversity in generation 5",
+                "[GA] [TIME] Timeout after 600s",
+                "[GA] Target cost to stop reached: 10.0 <= 11.0"), lines);
+
+        lines.clear();
+        new LoggingSubscriber(logger, "").onNext(new TimeoutEvent("GA", 1, 5));
+        assertEquals(List.of("Timeout reached after 5 seconds."), lines);
+    }
+
+    @Test
+    public void testSolverPublishesInitialAndImprovementEvents() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+
+        GA_Satisfactory_SteadyState ga = new GA_Satisfactory_SteadyState(50, 20, 0.1, instance.toString(), null);
+        CollectingSubscriber subscriber = new CollectingSubscriber(true);
+        ga.addSubscriber(subscriber);
+        Solution<Double> best;
+        try {
+            best = ga.solve();
+        } finally {
+            ga.getProblem().close();
+        }
+
+        // solve() returns only once the subscribers have drained their events
+        assertEquals(0, ga.getDroppedEvents());
+        ImprovementEvent first = assertInstanceOf(ImprovementEvent.class, subscriber.received.get(0));
+        assertEquals(0, first.getGeneration());
+        ImprovementEvent last = (ImprovementEvent) subscriber.received.stream()
+                .filter(e -> e instanceof ImprovementEvent).reduce((a, b) -> b).get();
+        assertEquals(best.cost, last.getCost());
+    }
+}
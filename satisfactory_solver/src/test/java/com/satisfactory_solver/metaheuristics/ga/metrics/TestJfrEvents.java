@@ -0,0 +1,62 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_SteadyState;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestJfrEvents {
+    @TempDir
+    protected Path tempDir;
+
+    @Test
+    public void testRecordsGenerationAndSampledDecodeEvents() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+        Path dump = tempDir.resolve("recording.jfr");
+
+        GA_Satisfactory_SteadyState ga = new GA_Satisfactory_SteadyState(200, 50, 0.1, instance.toString(), null);
+        try (Recording recording = new Recording()) {
+            recording.enable("com.satisfactory_solver.Generation");
+            recording.enable("com.satisfactory_solver.Decode");
+            recording.start();
+            ga.solve();
+            recording.stop();
+            recording.dump(dump);
+        } finally {
+            ga.getProblem().close();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> generations = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.satisfactory_solver.Generation")).toList();
+        List<RecordedEvent> decodes = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.satisfactory_solver.Decode")).toList();
+
+        assertEquals(200, generations.size());
+        // events are not necessarily read back in commit order
+        RecordedEvent last = generations.stream().max(Comparator.comparingInt(e -> e.getInt("generation"))).get();
+        assertEquals("GA_Satisfactory_SteadyState", last.getString("solver"));
+        assertEquals(200, last.getInt("generation"));
+        assertTrue(last.getDuration("evaluateNanos").toNanos() > 0);
+
+        assertFalse(decodes.isEmpty());
+        for (RecordedEvent decode : decodes) {
+            assertEquals(2, decode.getInt("chromosomeLength"));
+            assertTrue(decode.getInt("passes") >= 1);
+        }
+    }
+}
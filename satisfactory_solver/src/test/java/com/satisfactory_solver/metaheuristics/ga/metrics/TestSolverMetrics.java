@@ -0,0 +1,82 @@
+package com.satisfactory_solver.metaheuristics.ga.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class TestSolverMetrics {
+    @Test
+    public void testHistogramPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1000);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(5_000_500.0, histogram.mean(), 1e-6);
+        assertEquals(10_000_000, histogram.max());
+        assertEquals(5_000_000, histogram.percentile(0.5), 5_000_000 * 0.125);
+        assertEquals(9_900_000, histogram.percentile(0.99), 9_900_000 * 0.125);
+        assertTrue(histogram.percentile(1.0) <= histogram.max());
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertTrue(Double.isNaN(histogram.percentile(0.5)));
+    }
+
+    @Test
+    public void testBucketsAreContiguous() {
+        for (int bucket = LatencyHistogram.SUB_BUCKETS; bucket < LatencyHistogram.BUCKETS - 1; bucket++) {
+            double lower = LatencyHistogram.bucketLowerBound(bucket);
+            assertEquals(lower + LatencyHistogram.bucketWidth(bucket), LatencyHistogram.bucketLowerBound(bucket + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf((long) lower));
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        SolverMetrics metrics = new SolverMetrics("test");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.recordEvaluation(i);
+                    metrics.recordCacheHit();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(40_000, metrics.getEvaluations());
+        assertEquals(40_000, metrics.decodeLatency.count());
+        assertEquals(0.5, metrics.getCacheHitRatio());
+    }
+
+    @Test
+    public void testRegistersAndUnregistersMBean() throws Exception {
+        SolverMetrics metrics = new SolverMetrics("GA_Test");
+        metrics.recordGeneration(7, 0.01, 42.0, 0.0);
+        metrics.register();
+        ObjectName name = metrics.getObjectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertTrue(server.isRegistered(name));
+        assertEquals(7, server.getAttribute(name, "CurrentGeneration"));
+        assertEquals(42.0, server.getAttribute(name, "BestCost"));
+
+        metrics.unregister();
+        assertFalse(server.isRegistered(name));
+        assertFalse(metrics.isRegistered());
+    }
+}
@@ -0,0 +1,89 @@
+package com.satisfactory_solver.metaheuristics.ga.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.satisfactory_solver.instance.InstanceFixtures;
+import com.satisfactory_solver.problems.solvers.GA_Satisfactory_SteadyState;
+
+public class TestConvergenceTrace {
+    @TempDir
+    protected Path tempDir;
+
+    @Test
+    public void testRoundTripThroughSmallRing() throws IOException {
+        Path file = tempDir.resolve("ring.trace");
+        // a ring of 4 records forces the writer to wrap around and to wait for the flusher
+        try (ConvergenceTraceWriter writer = new ConvergenceTraceWriter(file, "Test", 4)) {
+            for (int g = 1; g <= 1000; g++) {
+                writer.record(g, 10, g * 1000L, g * 10L, 100.0 - g * 0.01, 150.0, 200.0, 0.5, Double.NaN, 0.01);
+            }
+        }
+
+        ConvergenceTrace trace = ConvergenceTraceReader.read(file);
+        assertEquals("Test", trace.getSolver());
+        assertEquals(1000, trace.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1, trace.getGeneration()[i]);
+            assertEquals((i + 1) * 1000L, trace.getElapsedNanos()[i]);
+            assertEquals((i + 1) * 10L, trace.getEvaluations()[i]);
+            assertEquals(100.0 - (i + 1) * 0.01, trace.getBestCost()[i]);
+        }
+        assertTrue(Double.isNaN(trace.getDiversity()[0]));
+    }
+
+    @Test
+    public void testSolverTracesEveryGeneration() throws IOException {
+        Path instance = InstanceFixtures.path(InstanceFixtures.TWO_RECIPES);
+        Path file = tempDir.resolve("solve.trace");
+
+        GA_Satisfactory_SteadyState ga = new GA_Satisfactory_SteadyState(100, 20, 0.1, instance.toString(), null);
+        ga.setTraceFile(file);
+        try {
+            ga.solve();
+        } finally {
+            ga.getProblem().close();
+        }
+
+        ConvergenceTrace trace = ConvergenceTraceReader.read(file);
+        assertEquals("GA_Satisfactory_SteadyState", trace.getSolver());
+        assertEquals(100, trace.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(i + 1, trace.getGeneration()[i]);
+            assertEquals(20, trace.getPopulationSize()[i]);
+            assertTrue(trace.getBestCost()[i] <= trace.getMeanCost()[i]);
+            assertTrue(trace.getMeanCost()[i] <= trace.getWorstCost()[i]);
+            if (i > 0) {
+                assertTrue(trace.getElapsedNanos()[i - 1] <= trace.getElapsedNanos()[i]);
+            }
+        }
+        assertFalse(Double.isNaN(trace.getDiversity()[9]));
+        assertTrue(Double.isNaN(trace.getDiversity()[10]));
+
+        Path csv = tempDir.resolve("solve.csv");
+        ConvergenceTraceReader.writeCsv(trace, csv);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(101, lines.size());
+        assertEquals(String.join(",", ConvergenceTrace.COLUMNS), lines.get(0));
+        assertTrue(lines.get(1).startsWith("1,20,"));
+
+        Path columnar = tempDir.resolve("solve.cols");
+        ConvergenceTraceReader.writeColumnar(trace, columnar);
+        long headers = 0;
+        for (String column : ConvergenceTrace.COLUMNS) {
+            headers += 2 + column.length() + 1;
+        }
+        // two int columns, the rest are 8 bytes wide
+        assertEquals(ConvergenceTraceReader.COLUMNAR_MAGIC.length + 8 + headers + 100 * (2 * 4 + 8 * 8),
+                Files.size(columnar));
+    }
+}
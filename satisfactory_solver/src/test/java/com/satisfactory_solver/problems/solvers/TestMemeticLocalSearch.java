@@ -0,0 +1,47 @@
+package com.satisfactory_solver.problems.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.satisfactory_solver.decoder.DecodedSolution;
+import com.satisfactory_solver.decoder.Decoder;
+import com.satisfactory_solver.instance.SyntheticInstanceGenerator;
+
+public class TestMemeticLocalSearch {
+    @Test
+    public void testNeverWorsensAndStopsAtLocalOptimum() {
+        Decoder decoder = new Decoder(new SyntheticInstanceGenerator().withRecipes(200).withDepth(4)
+                .withRawMaterials(8).withFinalProducts(3).withAlternateDensity(0.5).withSeed(11).generate());
+        Random rng = new Random(4);
+        // a generous budget, so that the search always ends at a local optimum
+        MemeticLocalSearch search = new MemeticLocalSearch(decoder, 10_000_000_000L, 8, rng);
+
+        for (int trial = 0; trial < 5; trial++) {
+            double[] genes = new double[decoder.getChromosomeLength()];
+            for (int i = 0; i < genes.length; i++) {
+                genes[i] = rng.nextDouble() < 0.5 ? 0.0 : rng.nextDouble();
+            }
+            DecodedSolution before = decoder.decode(genes);
+            double[] original = genes.clone();
+
+            boolean improved = search.improve(genes, null);
+            DecodedSolution after = decoder.decode(genes);
+            assertTrue(after.getUnsatisfiedDemandSum() < before.getUnsatisfiedDemandSum()
+                    || (after.getUnsatisfiedDemandSum() == before.getUnsatisfiedDemandSum()
+                            && after.getNumberOfUsedMachines() <= before.getNumberOfUsedMachines()));
+            if (!improved) {
+                assertTrue(Arrays.equals(original, genes));
+            }
+
+            double[] optimum = genes.clone();
+            assertFalse(search.improve(genes, null));
+            assertTrue(Arrays.equals(optimum, genes));
+        }
+        assertTrue(search.getImprovements() > 0);
+    }
+}
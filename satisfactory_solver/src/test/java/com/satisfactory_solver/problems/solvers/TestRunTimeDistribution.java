@@ -0,0 +1,52 @@
+package com.satisfactory_solver.problems.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestRunTimeDistribution {
+    @Test
+    public void testEcdfCountsUnsuccessfulRuns() {
+        RunTimeDistribution dist = new RunTimeDistribution(List.of(3.0, 1.0, 2.0, 2.0), 5);
+
+        assertEquals(0.0, dist.ecdf(0.5));
+        assertEquals(0.2, dist.ecdf(1.0));
+        assertEquals(0.6, dist.ecdf(2.0));
+        assertEquals(0.8, dist.ecdf(100.0));
+        assertEquals(0.8, dist.successRate());
+        assertEquals(2.0, dist.median());
+        assertEquals(Double.POSITIVE_INFINITY, new RunTimeDistribution(List.of(1.0), 3).median());
+    }
+
+    @Test
+    public void testTttPlotPoints() {
+        double[][] points = new RunTimeDistribution(List.of(4.0, 2.0), 2).tttPlot();
+
+        assertEquals(2, points.length);
+        assertEquals(2.0, points[0][0]);
+        assertEquals(0.25, points[0][1]);
+        assertEquals(-Math.log(0.75), points[0][2], 1e-12);
+        assertEquals(4.0, points[1][0]);
+        assertEquals(0.75, points[1][1]);
+        assertEquals(-Math.log(0.25), points[1][2], 1e-12);
+    }
+
+    @Test
+    public void testProbabilityFasterThan() {
+        RunTimeDistribution fast = new RunTimeDistribution(List.of(1.0, 2.0), 2);
+        RunTimeDistribution slow = new RunTimeDistribution(List.of(2.0, 5.0), 3); // one failure
+
+        // pairs won by fast: (1,2) (1,5) (1,F) (2,5) (2,F) + tie (2,2) = 5.5 of 6
+        assertEquals(5.5 / 6.0, fast.probabilityFasterThan(slow), 1e-12);
+        assertEquals(1.0, fast.probabilityFasterThan(slow) + slow.probabilityFasterThan(fast), 1e-12);
+        assertEquals(0.5, slow.probabilityFasterThan(slow), 1e-12);
+    }
+
+    @Test
+    public void testShouldErrorOnMoreTimesThanRuns() {
+        assertThrows(IllegalArgumentException.class, () -> new RunTimeDistribution(List.of(1.0, 2.0), 1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.satisfactory_solver.kernels;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link GeneKernels} on the incubating Vector API, with the preferred vector size of the platform.
+ * Every loop runs over whole vectors and finishes the remaining elements one by one; reductions
+ * keep one partial sum per lane and add the lanes up at the end.
+ *
+ * Only instantiated by {@link GeneKernels#createVectorKernels}, as loading it requires the
+ * {@code jdk.incubator.vector} module.
+ */
+public class VectorGeneKernels extends GeneKernels {
+    protected static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * @throws UnsupportedOperationException if the platform has no vectors of two doubles or more,
+     *         where the Vector API falls back to a much slower emulation
+     */
+    public VectorGeneKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("No SIMD support for doubles");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        int i = from;
+        double sum = 0.0;
+        int bound = from + SPECIES.loopBound(to - from);
+        if (i < bound) {
+            DoubleVector acc = DoubleVector.zero(SPECIES);
+            for (; i < bound; i += SPECIES.length()) {
+                acc = acc.add(DoubleVector.fromArray(SPECIES, values, i));
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void add(double[] values, double[] sums) {
+        int j = 0;
+        int bound = SPECIES.loopBound(values.length);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, sums, j).add(DoubleVector.fromArray(SPECIES, values, j)).intoArray(sums, j);
+        }
+        for (; j < values.length; j++) {
+            sums[j] += values[j];
+        }
+    }
+
+    @Override
+    public void addWithSquares(double[] values, double[] sums, double[] squares) {
+        int j = 0;
+        int bound = SPECIES.loopBound(values.length);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, values, j);
+            DoubleVector.fromArray(SPECIES, sums, j).add(v).intoArray(sums, j);
+            v.fma(v, DoubleVector.fromArray(SPECIES, squares, j)).intoArray(squares, j);
+        }
+        for (; j < values.length; j++) {
+            sums[j] += values[j];
+            squares[j] += values[j] * values[j];
+        }
+    }
+
+    @Override
+    public double squaredDeviation(double[] values, double[] means) {
+        int j = 0;
+        int bound = SPECIES.loopBound(values.length);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector diff = DoubleVector.fromArray(SPECIES, values, j).sub(DoubleVector.fromArray(SPECIES, means, j));
+            acc = diff.fma(diff, acc);
+        }
+        double total = acc.reduceLanes(VectorOperators.ADD);
+        for (; j < values.length; j++) {
+            double diff = values[j] - means[j];
+            total += diff * diff;
+        }
+        return total;
+    }
+
+    @Override
+    public double varianceSum(double[] sums, double[] squares, int n) {
+        int j = 0;
+        int bound = SPECIES.loopBound(sums.length);
+        double inverse = 1.0 / n;
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector mean = DoubleVector.fromArray(SPECIES, sums, j).mul(inverse);
+            DoubleVector variance = DoubleVector.fromArray(SPECIES, squares, j).mul(inverse).sub(mean.mul(mean));
+            acc = acc.add(variance.max(0.0));
+        }
+        double total = acc.reduceLanes(VectorOperators.ADD);
+        for (; j < sums.length; j++) {
+            double mean = sums[j] / n;
+            total += Math.max(squares[j] / n - mean * mean, 0.0);
+        }
+        return total;
+    }
+}